@@ -8,6 +8,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -21,6 +22,8 @@ import org.jabref.gui.externalfiletype.ExternalFileTypes;
 import org.jabref.gui.undo.NamedCompound;
 import org.jabref.logic.JabRefException;
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
+import org.jabref.logic.database.DuplicateCheck;
+import org.jabref.logic.database.DuplicateDetectionEngine;
 import org.jabref.logic.exporter.AtomicFileWriter;
 import org.jabref.logic.exporter.BibDatabaseWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
@@ -204,6 +207,10 @@ public class ArgumentProcessor {
             fetch(cli.getFetcherEngine()).ifPresent(loaded::add);
         }
 
+        if (cli.isFindDuplicates()) {
+            findDuplicates(loaded);
+        }
+
         if (cli.isExportMatches()) {
             if (!loaded.isEmpty()) {
                 if (!exportMatches(loaded)) {
@@ -606,12 +613,43 @@ public class ArgumentProcessor {
             LOGGER.info(Localization.lang("Regenerating citation keys according to metadata"));
 
             CitationKeyGenerator keyGenerator = new CitationKeyGenerator(parserResult.getDatabaseContext(), Globals.prefs.getCitationKeyPatternPreferences());
-            for (BibEntry entry : database.getEntries()) {
-                keyGenerator.generateAndSetKey(entry);
+            keyGenerator.generateAndSetKeys(database.getEntries());
+        }
+    }
+
+    /**
+     * Prints all pairs of duplicates of the loaded libraries and removes the second entry of each exact duplicate pair,
+     * so that a subsequent export writes the cleaned library.
+     */
+    private void findDuplicates(List<ParserResult> loaded) {
+        for (ParserResult parserResult : loaded) {
+            BibDatabase database = parserResult.getDatabase();
+
+            System.out.println(Localization.lang("Searching for duplicates..."));
+
+            DuplicateDetectionEngine engine = new DuplicateDetectionEngine(Globals.entryTypesManager);
+            List<List<BibEntry>> duplicates = engine.findDuplicates(database.getEntries(), parserResult.getDatabaseContext().getMode());
+
+            Set<BibEntry> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (List<BibEntry> pair : duplicates) {
+                BibEntry first = pair.get(0);
+                BibEntry second = pair.get(1);
+                System.out.println(describeEntry(first) + " <-> " + describeEntry(second));
+                if (!toRemove.contains(first) && (DuplicateCheck.compareEntriesStrictly(first, second) > 1)) {
+                    toRemove.add(second);
+                }
             }
+
+            database.removeEntries(new ArrayList<>(toRemove));
+            System.out.println(Localization.lang("Duplicates found") + ": " + duplicates.size());
+            System.out.println(Localization.lang("Removed %0 exact duplicates", String.valueOf(toRemove.size())));
         }
     }
 
+    private static String describeEntry(BibEntry entry) {
+        return entry.getCitationKey().orElseGet(() -> entry.getAuthorTitleYear(50));
+    }
+
     /**
      * Run an entry fetcher from the command line.
      *
@@ -143,6 +143,10 @@ public class JabRefCLI {
         return cl.hasOption("generateCitationKeys");
     }
 
+    public boolean isFindDuplicates() {
+        return cl.hasOption("findDuplicates");
+    }
+
     public boolean isAutomaticallySetFileLinks() {
         return cl.hasOption("automaticallySetFileLinks");
     }
@@ -163,6 +167,7 @@ public class JabRefCLI {
         options.addOption("n", "nogui", false, Localization.lang("No GUI. Only process command line options"));
         options.addOption("asfl", "automaticallySetFileLinks", false, Localization.lang("Automatically set file links"));
         options.addOption("g", "generateCitationKeys", false, Localization.lang("Regenerate all keys for the entries in a BibTeX file"));
+        options.addOption("fd", "findDuplicates", false, Localization.lang("Search for duplicates and remove exact duplicates"));
         options.addOption("b", "blank", false, Localization.lang("Do not open any files at startup"));
         options.addOption("v", "version", false, Localization.lang("Display version"));
         options.addOption(null, "debug", false, Localization.lang("Show debug level messages"));
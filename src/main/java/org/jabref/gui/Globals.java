@@ -15,6 +15,7 @@ import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.exporter.ExporterFactory;
 import org.jabref.logic.importer.ImportFormatReader;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
+import org.jabref.logic.pdf.search.indexing.PdfTextCache;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.server.RemoteListenerServerLifecycle;
 import org.jabref.logic.util.BuildInfo;
@@ -144,6 +145,7 @@ public class Globals {
         TASK_EXECUTOR.shutdown();
         fileUpdateMonitor.shutdown();
         JabRefExecutorService.INSTANCE.shutdownEverything();
+        PdfTextCache.closeDefault();
     }
 
     public static void stopBackgroundTasks() {
@@ -21,6 +21,7 @@ import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.net.ProxyAuthenticator;
 import org.jabref.logic.net.ProxyPreferences;
 import org.jabref.logic.net.ProxyRegisterer;
+import org.jabref.logic.pdf.search.indexing.PdfTextCache;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.RemotePreferences;
 import org.jabref.logic.remote.client.RemoteClient;
@@ -67,6 +68,7 @@ public class JabRefMain extends Application {
             applyPreferences(preferences);
 
             clearOldSearchIndices();
+            PdfTextCache.setDefaultFile(BibDatabaseContext.getFulltextIndexBasePath().resolve(PdfTextCache.DEFAULT_FILE_NAME));
 
             try {
                 // Process arguments
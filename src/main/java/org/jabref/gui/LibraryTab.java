@@ -49,6 +49,8 @@ import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.pdf.FileAnnotationCache;
 import org.jabref.logic.pdf.search.indexing.IndexingTaskManager;
 import org.jabref.logic.pdf.search.indexing.PdfIndexer;
+import org.jabref.logic.pdf.search.retrieval.PdfSearcher;
+import org.jabref.logic.search.FieldTokenIndex;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.logic.shared.DatabaseLocation;
 import org.jabref.logic.util.UpdateField;
@@ -125,7 +127,8 @@ public class LibraryTab extends Tab {
         bibDatabaseContext.getMetaData().registerListener(this);
 
         this.sidePaneManager = frame.getSidePaneManager();
-        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager);
+        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager, Globals.TASK_EXECUTOR);
+        FieldTokenIndex.start(getBibDatabaseContext(), JabRefExecutorService.INSTANCE::execute);
 
         citationStyleCache = new CitationStyleCache(bibDatabaseContext);
         annotationCache = new FileAnnotationCache(bibDatabaseContext, preferencesService.getFilePreferences());
@@ -224,7 +227,8 @@ public class LibraryTab extends Tab {
         bibDatabaseContext.getDatabase().registerListener(this);
         bibDatabaseContext.getMetaData().registerListener(this);
 
-        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager);
+        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager, Globals.TASK_EXECUTOR);
+        FieldTokenIndex.start(getBibDatabaseContext(), JabRefExecutorService.INSTANCE::execute);
         citationStyleCache = new CitationStyleCache(bibDatabaseContext);
         annotationCache = new FileAnnotationCache(bibDatabaseContext, preferencesService.getFilePreferences());
 
@@ -529,6 +533,7 @@ public class LibraryTab extends Tab {
      * Set up auto completion for this database
      */
     private void setupAutoCompletion() {
+        shutdownAutoCompletion();
         AutoCompletePreferences autoCompletePreferences = preferencesService.getAutoCompletePreferences();
         if (autoCompletePreferences.shouldAutoComplete()) {
             suggestionProviders = new SuggestionProviders(getDatabase(), Globals.journalAbbreviationRepository, autoCompletePreferences);
@@ -539,6 +544,18 @@ public class LibraryTab extends Tab {
         searchAutoCompleter = new PersonNameSuggestionProvider(FieldFactory.getPersonNameFields(), getDatabase());
     }
 
+    /**
+     * Unregisters the suggestion providers of the previous setup from the database, so that they can be garbage collected
+     */
+    private void shutdownAutoCompletion() {
+        if (suggestionProviders != null) {
+            suggestionProviders.shutdown();
+        }
+        if (searchAutoCompleter != null) {
+            searchAutoCompleter.shutdown();
+        }
+    }
+
     public void updateSearchManager() {
         frame.getGlobalSearchBar().setAutoCompleter(searchAutoCompleter);
     }
@@ -686,6 +703,10 @@ public class LibraryTab extends Tab {
         changeMonitor.ifPresent(DatabaseChangeMonitor::unregister);
         AutosaveManager.shutdown(bibDatabaseContext);
         BackupManager.shutdown(bibDatabaseContext);
+        PdfSearcher.shutdown(bibDatabaseContext);
+        FieldTokenIndex.shutdown(bibDatabaseContext);
+        shutdownAutoCompletion();
+        tableModel.unbind();
     }
 
     /**
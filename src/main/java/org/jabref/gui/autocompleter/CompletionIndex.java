@@ -0,0 +1,228 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+
+import com.google.common.base.Equivalence;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Index of the completion candidates found in some fields of the entries of a library, e.g., the words of the title or
+ * the authors. For each candidate, it counts the number of field values containing the candidate.
+ * <p>
+ * The candidates are kept in a sorted map by the start of each of their words, e.g., "Kostakos, Vassilis" by
+ * "kostakos, vassilis" and "vassilis". Hence, candidates containing the typed text at the start of a word are found
+ * by a range lookup. Only if there are not enough of them, the candidates containing the text somewhere else are
+ * searched as well. The index is built when it is used first and afterwards updated for each change of the fields.
+ *
+ * @param <T> type of the candidates
+ */
+public class CompletionIndex<T> {
+
+    private final BibDatabase database;
+    private final Collection<Field> fields;
+    private final Function<String, Collection<T>> candidatesOfValue;
+    private final Function<T, String> textOfCandidate;
+
+    private final Map<T, Candidate> candidates = new HashMap<>();
+    private final NavigableMap<String, Set<T>> candidatesByWordStart = new TreeMap<>();
+    private boolean built;
+
+    /**
+     * @param candidatesOfValue the distinct candidates contained in a field value
+     * @param textOfCandidate   the text the user types to complete a candidate
+     */
+    public CompletionIndex(BibDatabase database, Collection<Field> fields, Function<String, Collection<T>> candidatesOfValue, Function<T, String> textOfCandidate) {
+        this.database = Objects.requireNonNull(database);
+        this.fields = Objects.requireNonNull(fields);
+        this.candidatesOfValue = candidatesOfValue;
+        this.textOfCandidate = textOfCandidate;
+        database.registerListener(this);
+    }
+
+    /**
+     * Finds the candidates containing the text, ignoring the case. Candidates containing the text at the start of a
+     * word come first, the most frequent ones first.
+     *
+     * @param equivalence candidates equivalent to a more frequent one are left out
+     * @param order       the order of equally frequent candidates
+     */
+    public synchronized List<T> find(String text, int limit, Equivalence<T> equivalence, Comparator<T> order) {
+        build();
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        Comparator<T> ranking = Comparator.<T>comparingInt(candidate -> candidates.get(candidate).frequency)
+                                          .reversed()
+                                          .thenComparing(order);
+
+        Set<T> wordStartMatches = new HashSet<>();
+        candidatesByWordStart.subMap(lowerCaseText, true, lowerCaseText + Character.MAX_VALUE, false)
+                             .values()
+                             .forEach(wordStartMatches::addAll);
+
+        List<T> suggestions = new ArrayList<>(limit);
+        Set<Equivalence.Wrapper<T>> suggested = new HashSet<>();
+        addBest(wordStartMatches.stream(), ranking, equivalence, limit, suggestions, suggested);
+        if (suggestions.size() < limit) {
+            Stream<T> otherMatches = candidates.entrySet().stream()
+                                               .filter(candidate -> candidate.getValue().text.contains(lowerCaseText))
+                                               .map(Map.Entry::getKey)
+                                               .filter(candidate -> !wordStartMatches.contains(candidate));
+            addBest(otherMatches, ranking, equivalence, limit, suggestions, suggested);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns all distinct candidates.
+     */
+    public synchronized Stream<T> getCandidates() {
+        build();
+        return new ArrayList<>(candidates.keySet()).stream();
+    }
+
+    /**
+     * Stops updating the index for changes of the library. Has to be called when the index is no longer used.
+     */
+    public void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        if (built) {
+            event.getBibEntries().forEach(entry -> updateEntry(entry, 1));
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        if (built) {
+            event.getBibEntries().forEach(entry -> updateEntry(entry, -1));
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        if (built && fields.contains(event.getField())) {
+            updateValue(event.getOldValue(), -1);
+            updateValue(event.getNewValue(), 1);
+        }
+    }
+
+    private void addBest(Stream<T> matches, Comparator<T> ranking, Equivalence<T> equivalence, int limit, List<T> suggestions, Set<Equivalence.Wrapper<T>> suggested) {
+        for (T match : matches.sorted(ranking).collect(Collectors.toList())) {
+            if (suggestions.size() >= limit) {
+                return;
+            }
+            if (suggested.add(equivalence.wrap(match))) {
+                suggestions.add(match);
+            }
+        }
+    }
+
+    private void build() {
+        if (!built) {
+            database.getEntries().forEach(entry -> updateEntry(entry, 1));
+            built = true;
+        }
+    }
+
+    private void updateEntry(BibEntry entry, int change) {
+        for (Field field : fields) {
+            entry.getField(field).ifPresent(value -> updateValue(value, change));
+        }
+    }
+
+    private void updateValue(String value, int change) {
+        if (value == null) {
+            return;
+        }
+        for (T candidate : candidatesOfValue.apply(value)) {
+            if (change > 0) {
+                add(candidate);
+            } else {
+                remove(candidate);
+            }
+        }
+    }
+
+    private void add(T candidate) {
+        Candidate indexed = candidates.get(candidate);
+        if (indexed != null) {
+            indexed.frequency++;
+            return;
+        }
+
+        indexed = new Candidate(textOfCandidate.apply(candidate).toLowerCase(Locale.ROOT));
+        candidates.put(candidate, indexed);
+        for (String wordStart : getWordStarts(indexed.text)) {
+            candidatesByWordStart.computeIfAbsent(wordStart, key -> new HashSet<>()).add(candidate);
+        }
+    }
+
+    private void remove(T candidate) {
+        Candidate indexed = candidates.get(candidate);
+        if (indexed == null) {
+            return;
+        }
+        indexed.frequency--;
+        if (indexed.frequency > 0) {
+            return;
+        }
+
+        candidates.remove(candidate);
+        for (String wordStart : getWordStarts(indexed.text)) {
+            Set<T> candidatesWithWordStart = candidatesByWordStart.get(wordStart);
+            if (candidatesWithWordStart != null) {
+                candidatesWithWordStart.remove(candidate);
+                if (candidatesWithWordStart.isEmpty()) {
+                    candidatesByWordStart.remove(wordStart);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the suffixes of the text starting with a word.
+     */
+    private static List<String> getWordStarts(String text) {
+        List<String> wordStarts = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            boolean startsWord = Character.isLetterOrDigit(text.charAt(i))
+                    && ((i == 0) || !Character.isLetterOrDigit(text.charAt(i - 1)));
+            if (startsWord || (i == 0)) {
+                wordStarts.add(text.substring(i));
+            }
+        }
+        return wordStarts;
+    }
+
+    private static class Candidate {
+        private final String text;
+        private int frequency = 1;
+
+        Candidate(String text) {
+            this.text = text;
+        }
+    }
+}
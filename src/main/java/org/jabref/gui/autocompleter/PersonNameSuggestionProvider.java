@@ -3,6 +3,7 @@ package org.jabref.gui.autocompleter;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -23,7 +24,7 @@ import org.controlsfx.control.textfield.AutoCompletionBinding;
 public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
     private final Collection<Field> fields;
-    private final BibDatabase database;
+    private final CompletionIndex<Author> index;
 
     PersonNameSuggestionProvider(Field field, BibDatabase database) {
         this(Collections.singletonList(Objects.requireNonNull(field)), database);
@@ -33,7 +34,7 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
         super();
 
         this.fields = Objects.requireNonNull(fields);
-        this.database = database;
+        this.index = new CompletionIndex<>(database, fields, value -> new HashSet<>(AuthorList.parse(value).getAuthors()), author -> author.getLastFirst(false));
     }
 
     public Stream<Author> getAuthors(BibEntry entry) {
@@ -61,10 +62,18 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
         return StringUtil.containsIgnoreCase(candidate.getLastFirst(false), request.getUserText());
     }
 
+    @Override
+    protected Collection<Author> findSuggestions(AutoCompletionBinding.ISuggestionRequest request) {
+        return index.find(request.getUserText(), MAX_SUGGESTIONS, getEquivalence(), getComparator());
+    }
+
     @Override
     public Stream<Author> getSource() {
-        return database.getEntries()
-                       .parallelStream()
-                       .flatMap(this::getAuthors);
+        return index.getCandidates();
+    }
+
+    @Override
+    public void shutdown() {
+        index.shutdown();
     }
 }
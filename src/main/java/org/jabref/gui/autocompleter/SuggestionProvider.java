@@ -42,22 +42,32 @@ import org.controlsfx.control.textfield.AutoCompletionBinding.ISuggestionRequest
  */
 public abstract class SuggestionProvider<T> {
 
+    protected static final int MAX_SUGGESTIONS = 10;
+
     public final Collection<T> provideSuggestions(ISuggestionRequest request) {
         if (!request.getUserText().isEmpty()) {
-            Comparator<T> comparator = getComparator();
-            Equivalence<T> equivalence = getEquivalence();
-            return getSource().filter(candidate -> isMatch(candidate, request))
-                              .map(equivalence::wrap) // Need to do a bit of acrobatic as there is no distinctBy method
-                              .distinct()
-                              .limit(10)
-                              .map(Equivalence.Wrapper::get)
-                              .sorted(comparator)
-                              .collect(Collectors.toList());
+            return findSuggestions(request);
         } else {
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Finds the suggestions for the (non-empty) text of the request. By default, all candidates of the source are
+     * checked.
+     */
+    protected Collection<T> findSuggestions(ISuggestionRequest request) {
+        Comparator<T> comparator = getComparator();
+        Equivalence<T> equivalence = getEquivalence();
+        return getSource().filter(candidate -> isMatch(candidate, request))
+                          .map(equivalence::wrap) // Need to do a bit of acrobatic as there is no distinctBy method
+                          .distinct()
+                          .limit(MAX_SUGGESTIONS)
+                          .map(Equivalence.Wrapper::get)
+                          .sorted(comparator)
+                          .collect(Collectors.toList());
+    }
+
     protected abstract Equivalence<T> getEquivalence();
 
     public Collection<T> getPossibleSuggestions() {
@@ -81,4 +91,12 @@ public abstract class SuggestionProvider<T> {
     protected abstract boolean isMatch(T candidate, ISuggestionRequest request);
 
     public abstract Stream<T> getSource();
+
+    /**
+     * Releases the resources of this provider, e.g., the listeners keeping its index up to date. Has to be called when
+     * the provider is no longer used.
+     */
+    public void shutdown() {
+        // nothing to release by default
+    }
 }
@@ -1,6 +1,8 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
@@ -14,6 +16,10 @@ public class SuggestionProviders {
     private BibDatabase database;
     private JournalAbbreviationRepository abbreviationRepository;
     private AutoCompletePreferences autoCompletePreferences;
+    /**
+     * The providers by field. They are kept, as some of them maintain an index of the library.
+     */
+    private final Map<Field, SuggestionProvider<?>> providers = new ConcurrentHashMap<>();
 
     public SuggestionProviders(BibDatabase database, JournalAbbreviationRepository abbreviationRepository, AutoCompletePreferences autoCompletePreferences) {
         this.database = database;
@@ -31,6 +37,18 @@ public class SuggestionProviders {
             return new EmptySuggestionProvider();
         }
 
+        return providers.computeIfAbsent(field, this::createProvider);
+    }
+
+    /**
+     * Shuts down the providers created so far. Has to be called when the providers are replaced or no longer used.
+     */
+    public void shutdown() {
+        providers.values().forEach(SuggestionProvider::shutdown);
+        providers.clear();
+    }
+
+    private SuggestionProvider<?> createProvider(Field field) {
         Set<FieldProperty> fieldProperties = field.getProperties();
         if (fieldProperties.contains(FieldProperty.PERSON_NAMES)) {
             return new PersonNameSuggestionProvider(field, database);
@@ -1,28 +1,41 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.field.Field;
+import org.jabref.model.strings.StringUtil;
+
+import org.controlsfx.control.textfield.AutoCompletionBinding;
 
 /**
  * Stores all words in the given field.
  */
 public class WordSuggestionProvider extends StringSuggestionProvider {
 
-    private final Field field;
-    private final BibDatabase database;
+    private final CompletionIndex<String> index;
 
     public WordSuggestionProvider(Field field, BibDatabase database) {
-        this.field = Objects.requireNonNull(field);
-        this.database = database;
+        Objects.requireNonNull(field);
+        this.index = new CompletionIndex<>(database, List.of(field), value -> new HashSet<>(StringUtil.getStringAsWords(value)), word -> word);
+    }
+
+    @Override
+    protected Collection<String> findSuggestions(AutoCompletionBinding.ISuggestionRequest request) {
+        return index.find(request.getUserText(), MAX_SUGGESTIONS, getEquivalence(), getComparator());
     }
 
     @Override
     public Stream<String> getSource() {
-        return database.getEntries()
-                       .parallelStream()
-                       .flatMap(entry -> entry.getFieldAsWords(field).stream());
+        return index.getCandidates();
+    }
+
+    @Override
+    public void shutdown() {
+        index.shutdown();
     }
 }
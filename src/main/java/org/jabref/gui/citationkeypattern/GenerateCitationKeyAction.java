@@ -15,6 +15,7 @@ import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.model.FieldChange;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.preferences.PreferencesService;
 
@@ -113,16 +114,13 @@ public class GenerateCitationKeyAction extends SimpleCommand {
                         compound = new NamedCompound(Localization.lang("Autogenerate citation keys"));
                         CitationKeyGenerator keyGenerator =
                                 new CitationKeyGenerator(databaseContext, preferencesService.getCitationKeyPatternPreferences());
-                        int entriesDone = 0;
-                        for (BibEntry entry : entries) {
-                            keyGenerator.generateAndSetKey(entry)
-                                        .ifPresent(fieldChange -> compound.addEdit(new UndoableKeyChange(fieldChange)));
-                            entriesDone++;
-                            int finalEntriesDone = entriesDone;
-                            DefaultTaskExecutor.runInJavaFXThread(() -> {
-                                updateProgress(finalEntriesDone, entries.size());
-                                messageProperty().set(Localization.lang("%0/%1 entries", finalEntriesDone, entries.size()));
-                            });
+                        List<FieldChange> fieldChanges = keyGenerator.generateAndSetKeys(entries, entriesDone ->
+                                DefaultTaskExecutor.runInJavaFXThread(() -> {
+                                    updateProgress(entriesDone, entries.size());
+                                    messageProperty().set(Localization.lang("%0/%1 entries", entriesDone, entries.size()));
+                                }));
+                        for (FieldChange fieldChange : fieldChanges) {
+                            compound.addEdit(new UndoableKeyChange(fieldChange));
                         }
                         compound.end();
                     });
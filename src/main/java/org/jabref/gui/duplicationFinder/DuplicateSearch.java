@@ -1,7 +1,6 @@
 package org.jabref.gui.duplicationFinder;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,7 +16,6 @@ import javafx.beans.property.SimpleStringProperty;
 
 import org.jabref.gui.DialogService;
 import org.jabref.gui.Globals;
-import org.jabref.gui.JabRefExecutorService;
 import org.jabref.gui.JabRefFrame;
 import org.jabref.gui.LibraryTab;
 import org.jabref.gui.StateManager;
@@ -30,6 +28,7 @@ import org.jabref.gui.undo.UndoableRemoveEntries;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.database.DuplicateCheck;
+import org.jabref.logic.database.DuplicateDetectionEngine;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
@@ -50,6 +49,7 @@ public class DuplicateSearch extends SimpleCommand {
     private final SimpleIntegerProperty duplicateProgress = new SimpleIntegerProperty(0);
     private final DialogService dialogService;
     private final StateManager stateManager;
+    private volatile DuplicateDetectionEngine duplicateDetectionEngine = new DuplicateDetectionEngine(Globals.entryTypesManager);
 
     public DuplicateSearch(JabRefFrame frame, DialogService dialogService, StateManager stateManager) {
         this.frame = frame;
@@ -76,29 +76,35 @@ public class DuplicateSearch extends SimpleCommand {
 
         duplicateCountObservable.addListener((obj, oldValue, newValue) -> DefaultTaskExecutor.runAndWaitInJavaFXThread(() -> duplicateTotal.set(newValue)));
 
-        JabRefExecutorService.INSTANCE.executeInterruptableTask(() -> searchPossibleDuplicates(entries, database.getMode()), "DuplicateSearcher");
+        // a new engine for each search, as cancelling an engine is final
+        duplicateDetectionEngine = new DuplicateDetectionEngine(Globals.entryTypesManager);
+        BackgroundTask<Void> searchTask = searchPossibleDuplicates(entries, database.getMode());
+        searchTask.showToUser(true);
+        searchTask.titleProperty().set(Localization.lang("Searching for duplicates..."));
+        searchTask.executeWith(Globals.TASK_EXECUTOR);
         BackgroundTask.wrap(this::verifyDuplicates)
                       .onSuccess(this::handleDuplicates)
                       .executeWith(Globals.TASK_EXECUTOR);
     }
 
-    private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; (i < (entries.size() - 1)); i++) {
-            for (int j = i + 1; (j < entries.size()); j++) {
-                if (Thread.interrupted()) {
-                    return;
-                }
-
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
-
-                if (new DuplicateCheck(Globals.entryTypesManager).isDuplicate(first, second, databaseMode)) {
-                    duplicates.add(Arrays.asList(first, second));
-                    duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
+    private BackgroundTask<Void> searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
+        return new BackgroundTask<>() {
+            @Override
+            protected Void call() {
+                try {
+                    duplicateDetectionEngine.streamDuplicates(entries, databaseMode, pair -> {
+                        duplicates.add(pair);
+                        duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
+                    }, (checked, total) -> DefaultTaskExecutor.runInJavaFXThread(() -> {
+                        updateProgress(checked, total);
+                        updateMessage(Localization.lang("Checked %0 of %1 candidate pairs", checked, total));
+                    }));
+                } finally {
+                    libraryAnalyzed.set(true);
                 }
+                return null;
             }
-        }
-        libraryAnalyzed.set(true);
+        };
     }
 
     private DuplicateSearchResult verifyDuplicates() {
@@ -158,6 +164,7 @@ public class DuplicateSearch extends SimpleCommand {
         } else if (resolverResult == DuplicateResolverResult.KEEP_RIGHT) {
             result.remove(first);
         } else if (resolverResult == DuplicateResolverResult.BREAK) {
+            duplicateDetectionEngine.cancel();
             libraryAnalyzed.set(true);
             duplicates.clear();
         } else if (resolverResult == DuplicateResolverResult.KEEP_MERGE) {
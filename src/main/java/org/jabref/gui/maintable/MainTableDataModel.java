@@ -1,8 +1,16 @@
 package org.jabref.gui.maintable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
@@ -14,15 +22,20 @@ import javafx.collections.transformation.SortedList;
 
 import org.jabref.gui.StateManager;
 import org.jabref.gui.groups.GroupViewMode;
+import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.BindingsHelper;
+import org.jabref.gui.util.TaskExecutor;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesRemovedEvent;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.groups.GroupTreeNode;
-import org.jabref.model.search.matchers.MatcherSet;
 import org.jabref.model.search.matchers.MatcherSets;
 import org.jabref.preferences.PreferencesService;
 
+import com.google.common.eventbus.Subscribe;
 import com.tobiasdiez.easybind.EasyBind;
 
 public class MainTableDataModel {
@@ -32,58 +45,145 @@ public class MainTableDataModel {
     private final ObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
     private final PreferencesService preferencesService;
     private final BibDatabaseContext bibDatabaseContext;
-
-    public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager) {
+    private final StateManager stateManager;
+    private final TaskExecutor taskExecutor;
+    private final GroupMembershipIndex groupMembership;
+    private final InvalidationListener groupsListener = observable -> {
+        groupSelectionOutdated = true;
+        updateFilter();
+    };
+    private final InvalidationListener searchQueryListener = observable -> updateFilter();
+
+    /**
+     * Incremented for every new filter, running filters stop as soon as they notice that they are outdated
+     */
+    private final AtomicLong filterGeneration = new AtomicLong();
+    /**
+     * The generation of the filter shown in the table
+     */
+    private volatile long publishedGeneration;
+    private boolean groupSelectionOutdated = true;
+    /**
+     * Entries changed while a filter runs in the background, the result computed for them may be outdated
+     */
+    private final Set<BibEntry> changedDuringFilter = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager, TaskExecutor taskExecutor) {
         this.preferencesService = preferencesService;
         this.bibDatabaseContext = context;
+        this.stateManager = stateManager;
+        this.taskExecutor = taskExecutor;
         this.fieldValueFormatter = new SimpleObjectProperty<>(
                 new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
+        this.groupViewMode = preferencesService.getGroupViewMode();
+        this.groupMembership = new GroupMembershipIndex(context.getDatabase());
 
         ObservableList<BibEntry> allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
         ObservableList<BibEntryTableViewModel> entriesViewModel = EasyBind.mapBacked(allEntries, entry ->
                 new BibEntryTableViewModel(entry, bibDatabaseContext, fieldValueFormatter));
 
         entriesFiltered = new FilteredList<>(entriesViewModel);
-        entriesFiltered.predicateProperty().bind(
-                EasyBind.combine(stateManager.activeGroupProperty(), stateManager.activeSearchQueryProperty(), (groups, query) -> entry -> isMatched(groups, query, entry))
-        );
+        context.getDatabase().registerListener(this);
+        stateManager.activeGroupProperty().addListener(groupsListener);
+        stateManager.activeSearchQueryProperty().addListener(searchQueryListener);
+        updateFilter();
 
         IntegerProperty resultSize = new SimpleIntegerProperty();
         resultSize.bind(Bindings.size(entriesFiltered));
         stateManager.setActiveSearchResultSize(context, resultSize);
         // We need to wrap the list since otherwise sorting in the table does not work
         entriesSorted = new SortedList<>(entriesFiltered);
-        groupViewMode = preferencesService.getGroupViewMode();
-
     }
 
-    private boolean isMatched(ObservableList<GroupTreeNode> groups, Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return isMatchedByGroup(groups, entry) && isMatchedBySearch(query, entry);
-    }
+    /**
+     * Evaluates the selected groups and the search query in the background and shows the result in one step. A filter
+     * which is still running when the groups or the query change again is cancelled.
+     */
+    private void updateFilter() {
+        long generation = filterGeneration.incrementAndGet();
+        List<GroupTreeNode> groups = List.copyOf(stateManager.activeGroupProperty());
+        Optional<SearchQuery> query = stateManager.activeSearchQueryProperty().getValue();
+        boolean reselectGroups = groupSelectionOutdated;
+        changedDuringFilter.clear();
+
+        if (groups.isEmpty() && query.isEmpty()) {
+            // Nothing to evaluate, show all entries right away
+            selectGroups(generation, groups, reselectGroups);
+            groupSelectionOutdated = false;
+            publishedGeneration = generation;
+            entriesFiltered.setPredicate(null);
+            return;
+        }
 
-    private boolean isMatchedBySearch(Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return query.map(matcher -> matcher.isMatch(entry.getEntry()))
-                    .orElse(true);
+        BackgroundTask.wrap(() -> filter(generation, groups, reselectGroups, query))
+                      .onSuccess(result -> {
+                          if ((result != null) && (generation == filterGeneration.get())) {
+                              if (reselectGroups) {
+                                  groupSelectionOutdated = false;
+                              }
+                              synchronized (changedDuringFilter) {
+                                  result.invalidate(changedDuringFilter);
+                                  changedDuringFilter.clear();
+                                  publishedGeneration = generation;
+                              }
+                              entriesFiltered.setPredicate(result);
+                          }
+                      })
+                      .executeWith(taskExecutor);
     }
 
-    private boolean isMatchedByGroup(ObservableList<GroupTreeNode> groups, BibEntryTableViewModel entry) {
-        return createGroupMatcher(groups)
-                .map(matcher -> matcher.isMatch(entry.getEntry()))
-                .orElse(true);
+    /**
+     * @return the predicate to be used by the table, null if the filter is outdated
+     */
+    private FilterResult filter(long generation, List<GroupTreeNode> groups, boolean reselectGroups, Optional<SearchQuery> query) {
+        if (!selectGroups(generation, groups, reselectGroups)) {
+            return null;
+        }
+
+        Predicate<BibEntry> matcher = entry -> groupMembership.isMatched(entry) && query.map(searchQuery -> searchQuery.isMatch(entry)).orElse(true);
+        List<BibEntry> entries = new ArrayList<>(bibDatabaseContext.getDatabase().getEntries());
+        List<BibEntry> matchedEntries = entries.parallelStream()
+                                               .filter(entry -> (generation == filterGeneration.get()) && matcher.test(entry))
+                                               .collect(Collectors.toList());
+        if (generation != filterGeneration.get()) {
+            return null;
+        }
+        return new FilterResult(entries, matchedEntries, matcher);
     }
 
-    private Optional<MatcherSet> createGroupMatcher(List<GroupTreeNode> selectedGroups) {
-        if ((selectedGroups == null) || selectedGroups.isEmpty()) {
-            // No selected group, show all entries
-            return Optional.empty();
+    /**
+     * The group selection is only updated by the latest filter, an outdated filter must not overwrite it. The index
+     * evaluates the groups without holding its lock, so that edits are not blocked meanwhile, and discards the selection
+     * as soon as a newer filter has started.
+     *
+     * @return false if the filter is outdated
+     */
+    private boolean selectGroups(long generation, List<GroupTreeNode> groups, boolean reselectGroups) {
+        if (generation != filterGeneration.get()) {
+            return false;
+        }
+        if (reselectGroups) {
+            groupMembership.select(groups,
+                    groupViewMode == GroupViewMode.INTERSECTION ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR,
+                    () -> generation == filterGeneration.get());
         }
+        return generation == filterGeneration.get();
+    }
 
-        final MatcherSet searchRules = MatcherSets.build(groupViewMode == GroupViewMode.INTERSECTION ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        synchronized (changedDuringFilter) {
+            if (publishedGeneration != filterGeneration.get()) {
+                changedDuringFilter.add(event.getBibEntry());
+            }
+        }
+    }
 
-        for (GroupTreeNode node : selectedGroups) {
-            searchRules.addRule(node.getSearchMatcher());
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        synchronized (changedDuringFilter) {
+            event.getBibEntries().forEach(changedDuringFilter::remove);
         }
-        return Optional.of(searchRules);
     }
 
     public SortedList<BibEntryTableViewModel> getEntriesFilteredAndSorted() {
@@ -93,4 +193,44 @@ public class MainTableDataModel {
     public void refresh() {
         this.fieldValueFormatter.setValue(new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
     }
+
+    /**
+     * Stops following the selected groups and the search query, e.g., when the library is replaced.
+     */
+    public void unbind() {
+        filterGeneration.incrementAndGet();
+        bibDatabaseContext.getDatabase().unregisterListener(this);
+        stateManager.activeGroupProperty().removeListener(groupsListener);
+        stateManager.activeSearchQueryProperty().removeListener(searchQueryListener);
+        groupMembership.shutdown();
+    }
+
+    /**
+     * The result of a background filter run. When the predicate is set, the table asks once for every entry, which is
+     * answered by the precomputed result. Later requests are caused by added or changed entries and are evaluated again.
+     */
+    private static class FilterResult implements Predicate<BibEntryTableViewModel> {
+        private final Set<BibEntry> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<BibEntry> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Predicate<BibEntry> matcher;
+
+        FilterResult(List<BibEntry> entries, List<BibEntry> matchedEntries, Predicate<BibEntry> matcher) {
+            this.pending.addAll(entries);
+            this.matched.addAll(matchedEntries);
+            this.matcher = matcher;
+        }
+
+        void invalidate(Set<BibEntry> changedEntries) {
+            changedEntries.forEach(pending::remove);
+        }
+
+        @Override
+        public boolean test(BibEntryTableViewModel viewModel) {
+            BibEntry entry = viewModel.getEntry();
+            if (pending.remove(entry)) {
+                return matched.contains(entry);
+            }
+            return matcher.test(entry);
+        }
+    }
 }
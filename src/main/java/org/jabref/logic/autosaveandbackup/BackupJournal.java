@@ -0,0 +1,252 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.jabref.logic.util.io.FileUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal of the entries changed since the last backup snapshot (the .sav file) of a library has been written.
+ * <p>
+ * The journal starts with a header describing the snapshot it belongs to: the checksum and the encoding of the
+ * snapshot, where its entries end and where each of its entries starts. The header is followed by records, which
+ * either replace the text of an entry (or add a new entry) or remove an entry. Entries are identified by their
+ * position in the snapshot, added entries are numbered after the entries of the snapshot. Replaying the records on the
+ * snapshot yields the library as it was when the last record was appended.
+ * <p>
+ * A journal whose header does not match the snapshot (e.g., because writing a new snapshot was interrupted) is
+ * ignored. An incomplete record at the end of the journal is ignored, too.
+ */
+class BackupJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackupJournal.class);
+
+    private static final String JOURNAL_FILE_EXTENSION = ".journal";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String ENTRY = "entry";
+    private static final String REMOVE = "remove";
+
+    private BackupJournal() {
+    }
+
+    static Path getJournalPath(Path backupPath) {
+        return FileUtil.addExtension(backupPath, JOURNAL_FILE_EXTENSION);
+    }
+
+    /**
+     * Starts a new journal for the given snapshot, replacing the existing journal.
+     *
+     * @param entryStarts the positions (in characters) at which the entries of the snapshot start
+     * @param entriesEnd  the position (in characters) at which the last entry of the snapshot ends
+     */
+    static void start(Path backupPath, Charset encoding, List<Integer> entryStarts, int entriesEnd) throws IOException {
+        StringBuilder header = new StringBuilder();
+        header.append(SNAPSHOT).append(' ')
+              .append(checksum(backupPath)).append(' ')
+              .append(encoding.name()).append(' ')
+              .append(entriesEnd);
+        for (int start : entryStarts) {
+            header.append(' ').append(start);
+        }
+        header.append('\n');
+        Files.writeString(getJournalPath(backupPath), header, StandardCharsets.UTF_8);
+    }
+
+    static String entryRecord(int entryNumber, String serialization) {
+        return ENTRY + ' ' + entryNumber + ' ' + serialization.length() + '\n' + serialization + '\n';
+    }
+
+    static String removalRecord(int entryNumber) {
+        return REMOVE + ' ' + entryNumber + '\n';
+    }
+
+    static void append(Path backupPath, String records) throws IOException {
+        Files.writeString(getJournalPath(backupPath), records, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Applies the journal to the snapshot.
+     *
+     * @return the library, empty if there is no journal belonging to the snapshot or the journal does not contain any
+     * change
+     */
+    static Optional<ReplayedLibrary> replay(Path backupPath) throws IOException {
+        Path journalPath = getJournalPath(backupPath);
+        if (!Files.exists(journalPath) || !Files.exists(backupPath)) {
+            return Optional.empty();
+        }
+
+        String journal = new String(Files.readAllBytes(journalPath), StandardCharsets.UTF_8);
+        int headerEnd = journal.indexOf('\n');
+        if (headerEnd < 0) {
+            return Optional.empty();
+        }
+
+        String[] header = journal.substring(0, headerEnd).split(" ");
+        Charset encoding;
+        int entriesEnd;
+        int[] entryStarts = new int[Math.max(header.length - 4, 0)];
+        try {
+            if ((header.length < 4) || !SNAPSHOT.equals(header[0]) || (Long.parseLong(header[1]) != checksum(backupPath))) {
+                return Optional.empty();
+            }
+            encoding = Charset.forName(header[2]);
+            entriesEnd = Integer.parseInt(header[3]);
+            for (int i = 0; i < entryStarts.length; i++) {
+                entryStarts[i] = Integer.parseInt(header[i + 4]);
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Could not read header of backup journal {}", journalPath, e);
+            return Optional.empty();
+        }
+
+        String snapshot = new String(Files.readAllBytes(backupPath), encoding);
+        if (!isValidLayout(entryStarts, entriesEnd, snapshot.length())) {
+            LOGGER.warn("Backup journal {} does not match the snapshot", journalPath);
+            return Optional.empty();
+        }
+
+        Map<Integer, String> entries = new TreeMap<>();
+        for (int i = 0; i < entryStarts.length; i++) {
+            int end = (i + 1 < entryStarts.length) ? entryStarts[i + 1] : entriesEnd;
+            entries.put(i, snapshot.substring(entryStarts[i], end));
+        }
+
+        boolean hasChanges = false;
+        int position = headerEnd + 1;
+        while (position < journal.length()) {
+            int lineEnd = journal.indexOf('\n', position);
+            if (lineEnd < 0) {
+                break;
+            }
+            String[] record = journal.substring(position, lineEnd).split(" ");
+            try {
+                if (ENTRY.equals(record[0]) && (record.length == 3)) {
+                    int length = Integer.parseInt(record[2]);
+                    int textEnd = lineEnd + 1 + length;
+                    if ((length < 0) || (textEnd >= journal.length()) || (journal.charAt(textEnd) != '\n')) {
+                        // incomplete record
+                        break;
+                    }
+                    entries.put(Integer.parseInt(record[1]), journal.substring(lineEnd + 1, textEnd));
+                    position = textEnd + 1;
+                } else if (REMOVE.equals(record[0]) && (record.length == 2)) {
+                    entries.remove(Integer.parseInt(record[1]));
+                    position = lineEnd + 1;
+                } else {
+                    break;
+                }
+            } catch (NumberFormatException e) {
+                break;
+            }
+            hasChanges = true;
+        }
+
+        if (!hasChanges) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ReplayedLibrary(
+                snapshot.substring(0, (entryStarts.length > 0) ? entryStarts[0] : entriesEnd),
+                new ArrayList<>(entries.values()),
+                snapshot.substring(entriesEnd),
+                encoding));
+    }
+
+    private static boolean isValidLayout(int[] entryStarts, int entriesEnd, int snapshotLength) {
+        int previous = 0;
+        for (int start : entryStarts) {
+            if (start < previous) {
+                return false;
+            }
+            previous = start;
+        }
+        return (previous <= entriesEnd) && (entriesEnd <= snapshotLength);
+    }
+
+    /**
+     * A library obtained by replaying a journal. Entries added after the snapshot are placed after the entries of the
+     * snapshot, whereas saving the library places them according to the save order.
+     */
+    static class ReplayedLibrary {
+
+        private final String prologue;
+        private final List<String> entries;
+        private final String epilogue;
+        private final Charset encoding;
+
+        private ReplayedLibrary(String prologue, List<String> entries, String epilogue, Charset encoding) {
+            this.prologue = prologue;
+            this.entries = entries;
+            this.epilogue = epilogue;
+            this.encoding = encoding;
+        }
+
+        /**
+         * Returns the content of the library, encoded as the snapshot
+         */
+        byte[] getContent() {
+            StringBuilder content = new StringBuilder();
+            content.append(prologue);
+            entries.forEach(content::append);
+            content.append(epilogue);
+            return content.toString().getBytes(encoding);
+        }
+
+        /**
+         * Checks whether the given file content is this library, regardless of the order of the entries.
+         */
+        boolean hasSameContent(byte[] content) {
+            String text = new String(content, encoding);
+            if (!text.startsWith(prologue) || !text.endsWith(epilogue)
+                    || (text.length() < prologue.length() + epilogue.length())) {
+                return false;
+            }
+
+            // Longer texts are tried first, so that an entry whose text starts with the text of another entry is matched
+            List<String> remaining = new ArrayList<>(entries);
+            remaining.sort(Comparator.comparingInt(String::length).reversed());
+            int position = prologue.length();
+            int entriesEnd = text.length() - epilogue.length();
+            while (!remaining.isEmpty()) {
+                int start = position;
+                Optional<String> entry = remaining.stream()
+                                                  .filter(candidate -> text.startsWith(candidate, start))
+                                                  .findFirst();
+                if (entry.isEmpty()) {
+                    return false;
+                }
+                remaining.remove(entry.get());
+                position += entry.get().length();
+            }
+            return position == entriesEnd;
+        }
+    }
+
+    private static long checksum(Path file) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                checksum.update(buffer, 0, read);
+            }
+        }
+        return checksum.getValue();
+    }
+}
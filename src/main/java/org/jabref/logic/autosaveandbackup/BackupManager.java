@@ -1,26 +1,45 @@
 package org.jabref.logic.autosaveandbackup;
 
+import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 
+import org.jabref.logic.bibtex.BibEntryWriter;
+import org.jabref.logic.bibtex.FieldWriter;
 import org.jabref.logic.bibtex.InvalidFieldValueException;
+import org.jabref.logic.citationkeypattern.GlobalCitationKeyPattern;
 import org.jabref.logic.exporter.AtomicFileWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
 import org.jabref.logic.exporter.SavePreferences;
 import org.jabref.logic.util.CoarseChangeFilter;
 import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.logic.util.io.FileUtil;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.database.event.BibDatabaseContextChangedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.event.EntriesEvent;
+import org.jabref.model.metadata.MetaData;
 import org.jabref.preferences.PreferencesService;
 
 import com.google.common.eventbus.Subscribe;
@@ -32,6 +51,12 @@ import org.slf4j.LoggerFactory;
  * An intelligent {@link ExecutorService} with a {@link BlockingQueue} prevents a high load while making backups and
  * rejects all redundant backup tasks. This class does not manage the .bak file which is created when opening a
  * database.
+ * <p>
+ * The complete library is only written as snapshot when the backup is started, when something else than the entries
+ * changed, or when the journal of changed entries became too large. Otherwise, only the entries changed since the last
+ * backup are appended to the {@link BackupJournal}, so that the amount of data written is proportional to the edits.
+ * Changes of the preamble, the strings and the epilog are not posted as events; they are detected by comparing them
+ * with the ones written to the last snapshot.
  */
 public class BackupManager {
 
@@ -48,7 +73,22 @@ public class BackupManager {
     private final CoarseChangeFilter changeFilter;
     private final BibEntryTypesManager entryTypesManager;
 
-    private BackupManager(BibDatabaseContext bibDatabaseContext, BibEntryTypesManager entryTypesManager, PreferencesService preferences) {
+    /**
+     * The numbers identifying the entries in the snapshot and the journal
+     */
+    private final Map<BibEntry, Integer> entryNumbers = new IdentityHashMap<>();
+    /**
+     * The entries changed since the last backup, mapped to whether they are still part of the library
+     */
+    private final Map<BibEntry, Boolean> changedEntries = new IdentityHashMap<>();
+    private int nextEntryNumber;
+    private boolean snapshotRequired = true;
+    private Path snapshotPath;
+    private NonEntryContent snapshotContent;
+    private long snapshotSize;
+    private long journalSize;
+
+    BackupManager(BibDatabaseContext bibDatabaseContext, BibEntryTypesManager entryTypesManager, PreferencesService preferences) {
         this.bibDatabaseContext = bibDatabaseContext;
         this.entryTypesManager = entryTypesManager;
         this.preferences = preferences;
@@ -102,6 +142,11 @@ public class BackupManager {
         }
 
         try {
+            Optional<BackupJournal.ReplayedLibrary> journaledLibrary = BackupJournal.replay(backupPath);
+            if (journaledLibrary.isPresent()) {
+                // Saving places added entries according to the save order, the journal places them at the end
+                return !journaledLibrary.get().hasSameContent(Files.readAllBytes(originalPath));
+            }
             return Files.mismatch(originalPath, backupPath) != -1L;
         } catch (IOException e) {
             LOGGER.debug("Could not compare original file and backup file.", e);
@@ -111,14 +156,19 @@ public class BackupManager {
     }
 
     /**
-     * Restores the backup file by copying and overwriting the original one.
+     * Restores the backup file (with the changes of its journal applied) by overwriting the original one.
      *
      * @param originalPath Path to the file which should be equalized to the backup file.
      */
     public static void restoreBackup(Path originalPath) {
         Path backupPath = getBackupPath(originalPath);
         try {
-            Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            Optional<BackupJournal.ReplayedLibrary> journaledLibrary = BackupJournal.replay(backupPath);
+            if (journaledLibrary.isPresent()) {
+                Files.write(originalPath, journaledLibrary.get().getContent());
+            } else {
+                Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             LOGGER.error("Error while restoring the backup file.", e);
         }
@@ -128,19 +178,92 @@ public class BackupManager {
         return bibDatabaseContext.getDatabasePath().map(BackupManager::getBackupPath);
     }
 
-    private void performBackup(Path backupPath) {
+    void performBackup(Path backupPath) {
         try {
             Charset charset = bibDatabaseContext.getMetaData().getEncoding().orElse(preferences.getDefaultEncoding());
             SavePreferences savePreferences = preferences.getSavePreferences()
                                                          .withEncoding(charset)
                                                          .withMakeBackup(false);
-            new BibtexDatabaseWriter(new AtomicFileWriter(backupPath, savePreferences.getEncoding()), savePreferences, entryTypesManager)
-                    .saveDatabase(bibDatabaseContext);
+            // read before locking this manager, since the database posts its events while holding its own lock
+            NonEntryContent content = new NonEntryContent(bibDatabaseContext.getDatabase());
+            if (isSnapshotRequired(backupPath, content)) {
+                writeSnapshot(backupPath, savePreferences, content);
+            } else {
+                appendToJournal(backupPath, savePreferences);
+            }
         } catch (IOException e) {
+            synchronized (this) {
+                // the changes not written are contained in the next snapshot
+                snapshotRequired = true;
+            }
             logIfCritical(backupPath, e);
         }
     }
 
+    private synchronized boolean isSnapshotRequired(Path backupPath, NonEntryContent content) {
+        // replaying a journal larger than half of the snapshot takes longer than reading a new snapshot
+        return snapshotRequired || !backupPath.equals(snapshotPath) || !content.equals(snapshotContent) || (journalSize > (snapshotSize / 2));
+    }
+
+    private void writeSnapshot(Path backupPath, SavePreferences savePreferences, NonEntryContent content) throws IOException {
+        synchronized (this) {
+            // changes made while writing are either part of the snapshot or recorded again
+            changedEntries.clear();
+            snapshotRequired = false;
+            // read before writing, so that changes made while writing lead to the next snapshot
+            snapshotContent = content;
+        }
+
+        SnapshotWriter snapshotWriter = new SnapshotWriter(new AtomicFileWriter(backupPath, savePreferences.getEncoding()), savePreferences, entryTypesManager);
+        snapshotWriter.saveDatabase(bibDatabaseContext);
+        BackupJournal.start(backupPath, savePreferences.getEncoding(), snapshotWriter.entryStarts, snapshotWriter.getEntriesEnd());
+
+        synchronized (this) {
+            entryNumbers.clear();
+            for (int i = 0; i < snapshotWriter.entries.size(); i++) {
+                entryNumbers.put(snapshotWriter.entries.get(i), i);
+            }
+            nextEntryNumber = snapshotWriter.entries.size();
+            snapshotPath = backupPath;
+            snapshotSize = Files.size(backupPath);
+            journalSize = Files.size(BackupJournal.getJournalPath(backupPath));
+        }
+    }
+
+    private void appendToJournal(Path backupPath, SavePreferences savePreferences) throws IOException {
+        String records = getJournalRecords(savePreferences);
+        if (records.isEmpty()) {
+            return;
+        }
+
+        BackupJournal.append(backupPath, records);
+        synchronized (this) {
+            journalSize = Files.size(BackupJournal.getJournalPath(backupPath));
+        }
+    }
+
+    private synchronized String getJournalRecords(SavePreferences savePreferences) throws IOException {
+        BibEntryWriter entryWriter = new BibEntryWriter(new FieldWriter(savePreferences.getFieldWriterPreferences()), entryTypesManager);
+        BibDatabaseMode mode = bibDatabaseContext.getMode();
+        StringBuilder records = new StringBuilder();
+        for (Map.Entry<BibEntry, Boolean> change : changedEntries.entrySet()) {
+            BibEntry entry = change.getKey();
+            if (change.getValue()) {
+                int entryNumber = entryNumbers.computeIfAbsent(entry, key -> nextEntryNumber++);
+                StringWriter serialization = new StringWriter();
+                entryWriter.write(entry, serialization, mode);
+                records.append(BackupJournal.entryRecord(entryNumber, serialization.toString()));
+            } else {
+                Integer entryNumber = entryNumbers.remove(entry);
+                if (entryNumber != null) {
+                    records.append(BackupJournal.removalRecord(entryNumber));
+                }
+            }
+        }
+        changedEntries.clear();
+        return records.toString();
+    }
+
     private void logIfCritical(Path backupPath, IOException e) {
         Throwable innermostCause = e;
         while (innermostCause.getCause() != null) {
@@ -155,7 +278,17 @@ public class BackupManager {
     }
 
     @Subscribe
-    public synchronized void listen(@SuppressWarnings("unused") BibDatabaseContextChangedEvent event) {
+    public synchronized void listen(BibDatabaseContextChangedEvent event) {
+        if (event instanceof EntriesEvent) {
+            boolean isPartOfLibrary = !(event instanceof EntriesRemovedEvent);
+            for (BibEntry entry : ((EntriesEvent) event).getBibEntries()) {
+                changedEntries.put(entry, isPartOfLibrary);
+            }
+        } else {
+            // changes of the meta data or the groups are not journaled
+            snapshotRequired = true;
+        }
+
         if (!event.isFilteredOut()) {
             startBackupTask();
         }
@@ -181,8 +314,120 @@ public class BackupManager {
             if (Files.exists(backupPath) && !Files.isDirectory(backupPath)) {
                 Files.delete(backupPath);
             }
+            Files.deleteIfExists(BackupJournal.getJournalPath(backupPath));
         } catch (IOException e) {
             LOGGER.error("Error while deleting the backup file.", e);
         }
     }
+
+    /**
+     * The parts of the library which are not journaled and whose changes are not posted as events
+     */
+    private static class NonEntryContent {
+
+        private final Optional<String> preamble;
+        private final Map<String, String> strings = new HashMap<>();
+        private final String epilog;
+
+        NonEntryContent(BibDatabase database) {
+            preamble = database.getPreamble();
+            for (BibtexString string : database.getStringValues()) {
+                strings.put(string.getName(), string.getContent());
+            }
+            epilog = database.getEpilog();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            NonEntryContent that = (NonEntryContent) o;
+            return preamble.equals(that.preamble) && strings.equals(that.strings) && Objects.equals(epilog, that.epilog);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(preamble, strings, epilog);
+        }
+    }
+
+    /**
+     * Writes the snapshot and remembers where each entry starts, so that the journal can refer to the entries.
+     */
+    private static class SnapshotWriter extends BibtexDatabaseWriter {
+
+        private final CountingWriter countingWriter;
+        private final List<BibEntry> entries = new ArrayList<>();
+        private final List<Integer> entryStarts = new ArrayList<>();
+        private int entriesEnd = -1;
+
+        SnapshotWriter(Writer writer, SavePreferences preferences, BibEntryTypesManager entryTypesManager) {
+            this(new CountingWriter(writer), preferences, entryTypesManager);
+        }
+
+        private SnapshotWriter(CountingWriter writer, SavePreferences preferences, BibEntryTypesManager entryTypesManager) {
+            super(writer, preferences, entryTypesManager);
+            this.countingWriter = writer;
+        }
+
+        @Override
+        protected void writeEntry(BibEntry entry, BibDatabaseMode mode) throws IOException {
+            entries.add(entry);
+            entryStarts.add(countingWriter.count);
+            super.writeEntry(entry, mode);
+        }
+
+        @Override
+        protected void writeMetaData(MetaData metaData, GlobalCitationKeyPattern globalCiteKeyPattern) throws IOException {
+            markEndOfEntries();
+            super.writeMetaData(metaData, globalCiteKeyPattern);
+        }
+
+        @Override
+        protected void writeEpilogue(String epilogue) throws IOException {
+            markEndOfEntries();
+            super.writeEpilogue(epilogue);
+        }
+
+        private void markEndOfEntries() {
+            if (entriesEnd < 0) {
+                entriesEnd = countingWriter.count;
+            }
+        }
+
+        int getEntriesEnd() {
+            return (entriesEnd < 0) ? countingWriter.count : entriesEnd;
+        }
+    }
+
+    private static class CountingWriter extends FilterWriter {
+
+        private int count;
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            super.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            super.write(buffer, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void write(String str, int offset, int length) throws IOException {
+            super.write(str, offset, length);
+            count += length;
+        }
+    }
 }
@@ -1,15 +1,20 @@
 package org.jabref.logic.bibtex.comparator;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import org.jabref.logic.database.DuplicateCheck;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.StandardField;
 
 public class BibDatabaseDiff {
@@ -43,68 +48,58 @@ public class BibDatabaseDiff {
     private static List<BibEntryDiff> compareEntries(List<BibEntry> originalEntries, List<BibEntry> newEntries) {
         List<BibEntryDiff> differences = new ArrayList<>();
 
-        // Create pointers that are incremented as the entries of each base are used in
-        // successive order from the beginning. Entries "further down" in the new database
-        // can also be matched.
-        int positionNew = 0;
+        // Keep track of the entries in the new database that we have matched. This is to avoid matching them twice.
+        boolean[] used = new boolean[newEntries.size()];
 
-        // Create a HashSet where we can put references to entries in the new
-        // database that we have matched. This is to avoid matching them twice.
-        Set<Integer> used = new HashSet<>(newEntries.size());
-        Set<BibEntry> notMatched = new HashSet<>(originalEntries.size());
-
-        // Loop through the entries of the original database, looking for exact matches in the new one.
-        // We must finish scanning for exact matches before looking for near matches, to avoid an exact
-        // match being "stolen" from another entry.
-        mainLoop:
+        // Look for exact matches first, to avoid an exact match being "stolen" from another entry. The new entries are
+        // indexed by their fields, so that the exact match of an entry is found without comparing it to all entries.
+        Map<Map<Field, String>, Deque<Integer>> newEntriesByFields = new HashMap<>();
+        for (int i = 0; i < newEntries.size(); i++) {
+            newEntriesByFields.computeIfAbsent(new HashMap<>(newEntries.get(i).getFieldMap()), fields -> new ArrayDeque<>())
+                              .add(i);
+        }
+        List<BibEntry> notMatched = new ArrayList<>();
         for (BibEntry originalEntry : originalEntries) {
-            // First check if the similarly placed entry in the other base matches exactly.
-            if (!used.contains(positionNew) && (positionNew < newEntries.size())) {
-                double score = DuplicateCheck.compareEntriesStrictly(originalEntry, newEntries.get(positionNew));
-                if (score > 1) {
-                    used.add(positionNew);
-                    positionNew++;
-                    continue;
-                }
-            }
-            // No? Then check if another entry matches exactly.
-            for (int i = positionNew + 1; i < newEntries.size(); i++) {
-                if (!used.contains(i)) {
-                    double score = DuplicateCheck.compareEntriesStrictly(originalEntry, newEntries.get(i));
-                    if (score > 1) {
-                        used.add(i);
-                        continue mainLoop;
-                    }
-                }
+            Deque<Integer> exactMatches = newEntriesByFields.get(originalEntry.getFieldMap());
+            if ((exactMatches != null) && !exactMatches.isEmpty()) {
+                used[exactMatches.poll()] = true;
+            } else {
+                notMatched.add(originalEntry);
             }
-
-            // No? Add this entry to the list of non-matched entries.
-            notMatched.add(originalEntry);
         }
 
-        // Now we've found all exact matches, look through the remaining entries, looking for close matches.
-        for (Iterator<BibEntry> iteratorNotMatched = notMatched.iterator(); iteratorNotMatched.hasNext(); ) {
-            BibEntry originalEntry = iteratorNotMatched.next();
+        // Then, match the remaining entries by their citation keys, if the keys are unique among these entries.
+        Map<BibEntry, Integer> matchedByCitationKey = matchByCitationKey(notMatched, newEntries, used);
+
+        // Only the entries left are compared to each other, looking for close matches.
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < newEntries.size(); i++) {
+            if (!used[i]) {
+                candidates.add(i);
+            }
+        }
+        for (BibEntry originalEntry : notMatched) {
+            Integer keyMatchIndex = matchedByCitationKey.get(originalEntry);
+            if (keyMatchIndex != null) {
+                differences.add(new BibEntryDiff(originalEntry, newEntries.get(keyMatchIndex)));
+                continue;
+            }
 
             // These two variables will keep track of which entry most closely matches the one we're looking at.
             double bestMatch = 0;
             int bestMatchIndex = -1;
-            if (positionNew < (newEntries.size() - 1)) {
-                for (int i = positionNew; i < newEntries.size(); i++) {
-                    if (!used.contains(i)) {
-                        double score = DuplicateCheck.compareEntriesStrictly(originalEntry, newEntries.get(i));
-                        if (score > bestMatch) {
-                            bestMatch = score;
-                            bestMatchIndex = i;
-                        }
+            for (int i : candidates) {
+                if (!used[i]) {
+                    double score = DuplicateCheck.compareEntriesStrictly(originalEntry, newEntries.get(i));
+                    if (score > bestMatch) {
+                        bestMatch = score;
+                        bestMatchIndex = i;
                     }
                 }
             }
 
             if (bestMatch > MATCH_THRESHOLD) {
-                used.add(bestMatchIndex);
-                iteratorNotMatched.remove();
-
+                used[bestMatchIndex] = true;
                 differences.add(new BibEntryDiff(originalEntry, newEntries.get(bestMatchIndex)));
             } else {
                 differences.add(new BibEntryDiff(originalEntry, null));
@@ -113,7 +108,7 @@ public class BibDatabaseDiff {
 
         // Finally, look if there are still untouched entries in the new database. These may have been added.
         for (int i = 0; i < newEntries.size(); i++) {
-            if (!used.contains(i)) {
+            if (!used[i]) {
                 differences.add(new BibEntryDiff(null, newEntries.get(i)));
             }
         }
@@ -121,6 +116,45 @@ public class BibDatabaseDiff {
         return differences;
     }
 
+    /**
+     * Matches the original entries to the new entries not used yet having the same citation key. Keys occurring more
+     * than once on either side are ignored.
+     *
+     * @return the index of the matching new entry by original entry
+     */
+    private static Map<BibEntry, Integer> matchByCitationKey(List<BibEntry> originalEntries, List<BibEntry> newEntries, boolean[] used) {
+        Map<String, Integer> newEntryByKey = new HashMap<>();
+        Set<String> duplicateKeys = new HashSet<>();
+        for (int i = 0; i < newEntries.size(); i++) {
+            if (!used[i]) {
+                int index = i;
+                newEntries.get(i).getCitationKey().ifPresent(key -> {
+                    if (newEntryByKey.put(key, index) != null) {
+                        duplicateKeys.add(key);
+                    }
+                });
+            }
+        }
+        Map<String, BibEntry> originalEntryByKey = new HashMap<>();
+        for (BibEntry originalEntry : originalEntries) {
+            originalEntry.getCitationKey().ifPresent(key -> {
+                if (originalEntryByKey.put(key, originalEntry) != null) {
+                    duplicateKeys.add(key);
+                }
+            });
+        }
+
+        Map<BibEntry, Integer> matches = new IdentityHashMap<>();
+        originalEntryByKey.forEach((key, originalEntry) -> {
+            Integer index = newEntryByKey.get(key);
+            if ((index != null) && !duplicateKeys.contains(key)) {
+                used[index] = true;
+                matches.put(originalEntry, index);
+            }
+        });
+        return matches;
+    }
+
     public static BibDatabaseDiff compare(BibDatabaseContext base, BibDatabaseContext changed) {
         return new BibDatabaseDiff(base, changed);
     }
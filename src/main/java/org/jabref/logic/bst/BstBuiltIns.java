@@ -0,0 +1,413 @@
+package org.jabref.logic.bst;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jabref.logic.bst.BibtexCaseChanger.FORMAT_MODE;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The built-in functions that only work on the literal stack and the current entry. Both the {@link VM} and the
+ * {@link BstProgram} execute them from here; see the {@link VM} for the documentation of each function. The functions
+ * controlling the execution, e.g., <code>if$</code> or <code>call.type$</code>, depend on how the interpreter
+ * represents functions and are implemented by each of them.
+ */
+final class BstBuiltIns {
+
+    private static final Pattern ADD_PERIOD_PATTERN = Pattern.compile("([^\\.\\?\\!\\}\\s])(\\}|\\s)*$");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BstBuiltIns.class);
+
+    private BstBuiltIns() {
+    }
+
+    static void requireOperands(BstOperands stack, int count, String function) {
+        if (stack.size() < count) {
+            throw new VMException("Not enough operands on stack for operation " + function);
+        }
+    }
+
+    static int popInteger(BstOperands stack, String message) {
+        if ((stack.size() == 0) || !stack.isInteger(0)) {
+            throw new VMException(message);
+        }
+        return stack.popInteger();
+    }
+
+    /**
+     * Pops a string, which is null for a missing field
+     */
+    static String popString(BstOperands stack, String message) {
+        if (!stack.isString(0)) {
+            throw new VMException(message);
+        }
+        return stack.popString();
+    }
+
+    private static String popNonNullString(BstOperands stack, String message) {
+        String value = popString(stack, message);
+        if (value == null) {
+            throw new VMException(message);
+        }
+        return value;
+    }
+
+    private static boolean isNonNullStringAt(BstOperands stack, int depth) {
+        return stack.isString(depth) && (stack.peekString(depth) != null);
+    }
+
+    private static void pushBoolean(BstOperands stack, boolean value) {
+        stack.pushInteger(value ? VM.TRUE : VM.FALSE);
+    }
+
+    static void greater(BstOperands stack) {
+        requireOperands(stack, 2, ">");
+        int second = popInteger(stack, "Can only compare two integers with >");
+        int first = popInteger(stack, "Can only compare two integers with >");
+        pushBoolean(stack, first > second);
+    }
+
+    static void less(BstOperands stack) {
+        requireOperands(stack, 2, "<");
+        int second = popInteger(stack, "Can only compare two integers with <");
+        int first = popInteger(stack, "Can only compare two integers with <");
+        pushBoolean(stack, first < second);
+    }
+
+    static void equals(BstOperands stack) {
+        requireOperands(stack, 2, "=");
+        boolean equal = stack.topTwoAreEqual();
+        stack.drop();
+        stack.drop();
+        pushBoolean(stack, equal);
+    }
+
+    static void plus(BstOperands stack) {
+        requireOperands(stack, 2, "+");
+        int second = popInteger(stack, "Can only compare two integers with +");
+        int first = popInteger(stack, "Can only compare two integers with +");
+        stack.pushInteger(first + second);
+    }
+
+    static void minus(BstOperands stack) {
+        requireOperands(stack, 2, "-");
+        int second = popInteger(stack, "Can only subtract two integers with -");
+        int first = popInteger(stack, "Can only subtract two integers with -");
+        stack.pushInteger(first - second);
+    }
+
+    static void concatenate(BstOperands stack) {
+        requireOperands(stack, 2, "*");
+        String second = popString(stack, "Can only concatenate two String with *");
+        String first = popString(stack, "Can only concatenate two String with *");
+        stack.pushString(((first == null) ? "" : first) + ((second == null) ? "" : second));
+    }
+
+    static void addPeriod(BstOperands stack) {
+        requireOperands(stack, 1, "add.period$");
+        stack.pushString(addPeriod(popNonNullString(stack, "Can only add a period to a string for add.period$")));
+    }
+
+    static void changeCase(BstOperands stack) {
+        requireOperands(stack, 2, "change.case$");
+        String format = popNonNullString(stack, "A format string of length 1 is needed for change.case$");
+        if (format.length() != 1) {
+            throw new VMException("A format string of length 1 is needed for change.case$");
+        }
+        String s = popNonNullString(stack, "A string is needed as second parameter for change.case$");
+        stack.pushString(BibtexCaseChanger.changeCase(s, FORMAT_MODE.getFormatModeForBSTFormat(format.toLowerCase(Locale.ROOT).charAt(0))));
+    }
+
+    static void chrToInt(BstOperands stack) {
+        requireOperands(stack, 1, "chr.to.int$");
+        String s = popNonNullString(stack, "Can only perform chr.to.int$ on string with length 1");
+        if (s.length() != 1) {
+            throw new VMException("Can only perform chr.to.int$ on string with length 1");
+        }
+        stack.pushInteger(s.charAt(0));
+    }
+
+    static void cite(BstOperands stack, BibEntry entry) {
+        if (entry == null) {
+            throw new VMException("Must have an entry to cite$");
+        }
+        stack.pushString(entry.getCitationKey().orElse(null));
+    }
+
+    static void duplicate(BstOperands stack) {
+        requireOperands(stack, 1, "duplicate$");
+        stack.duplicate();
+    }
+
+    static void empty(BstOperands stack) {
+        requireOperands(stack, 1, "empty$");
+        String s = popString(stack, "Operand does not match function empty$");
+        pushBoolean(stack, (s == null) || s.trim().isEmpty());
+    }
+
+    static void formatName(BstOperands stack, Warn warn) {
+        requireOperands(stack, 3, "format.name$");
+        if (!stack.isString(0) || !stack.isInteger(1) || !stack.isString(2)) {
+            stack.drop();
+            stack.drop();
+            stack.drop();
+            stack.pushString("");
+            return;
+        }
+        String format = stack.popString();
+        int index = stack.popInteger();
+        String names = stack.popString();
+        if (names == null) {
+            stack.pushString("");
+            return;
+        }
+        AuthorList authors = AuthorList.parse(names);
+        if (index > authors.getNumberOfAuthors()) {
+            throw new VMException("Author Out of Bounds. Number " + index + " invalid for " + names);
+        }
+        stack.pushString(BibtexNameFormatter.formatName(authors.getAuthor(index - 1), format, warn));
+    }
+
+    static void intToChr(BstOperands stack) {
+        requireOperands(stack, 1, "int.to.chr$");
+        stack.pushString(String.valueOf((char) popInteger(stack, "Can only perform operation int.to.chr$ on an Integer")));
+    }
+
+    static void intToStr(BstOperands stack) {
+        requireOperands(stack, 1, "int.to.str$");
+        stack.pushString(String.valueOf(popInteger(stack, "Can only transform an integer to an string using int.to.str$")));
+    }
+
+    static void missing(BstOperands stack, Warn warn) {
+        requireOperands(stack, 1, "missing$");
+        if (!stack.isString(0)) {
+            stack.drop();
+            warn.warn("Not a string or missing field in operation missing$");
+            pushBoolean(stack, true);
+            return;
+        }
+        pushBoolean(stack, stack.popString() == null);
+    }
+
+    static void numNames(BstOperands stack) {
+        requireOperands(stack, 1, "num.names$");
+        String s = popNonNullString(stack, "Need a string at the top of the stack for num.names$");
+        stack.pushInteger(AuthorList.parse(s).getNumberOfAuthors());
+    }
+
+    static void pop(BstOperands stack) {
+        requireOperands(stack, 1, "pop$");
+        stack.drop();
+    }
+
+    static void purify(BstOperands stack, Warn warn) {
+        requireOperands(stack, 1, "purify$");
+        if (!isNonNullStringAt(stack, 0)) {
+            stack.drop();
+            warn.warn("A string is needed for purify$");
+            stack.pushString("");
+            return;
+        }
+        stack.pushString(BibtexPurify.purify(stack.popString(), warn));
+    }
+
+    static void quote(BstOperands stack) {
+        stack.pushString("\"");
+    }
+
+    static void stack(BstOperands stack) {
+        while (stack.size() > 0) {
+            LOGGER.debug("Stack entry {}", stack.pop());
+        }
+    }
+
+    static void substring(BstOperands stack) {
+        requireOperands(stack, 3, "substring$");
+        if (!stack.isInteger(0) || !stack.isInteger(1) || !isNonNullStringAt(stack, 2)) {
+            throw new VMException("Expecting two integers and a string for substring$");
+        }
+        int length = stack.popInteger();
+        int start = stack.popInteger();
+        stack.pushString(substring(stack.popString(), start, length));
+    }
+
+    static void swap(BstOperands stack) {
+        requireOperands(stack, 2, "swap$");
+        stack.swap();
+    }
+
+    static void textLength(BstOperands stack) {
+        requireOperands(stack, 1, "text.length$");
+        stack.pushInteger(textLength(popNonNullString(stack, "Can only perform operation on a string text.length$")));
+    }
+
+    static void textPrefix(BstOperands stack, Warn warn) {
+        requireOperands(stack, 2, "text.prefix$");
+        if (!stack.isInteger(0)) {
+            stack.drop();
+            warn.warn("An integer is needed as first parameter to text.prefix$");
+            stack.pushString("");
+            return;
+        }
+        int numberOfCharacters = stack.popInteger();
+        if (!isNonNullStringAt(stack, 0)) {
+            stack.drop();
+            warn.warn("A string is needed as second parameter to text.prefix$");
+            stack.pushString("");
+            return;
+        }
+        stack.pushString(BibtexTextPrefix.textPrefix(numberOfCharacters, stack.popString(), warn));
+    }
+
+    static void top(BstOperands stack) {
+        requireOperands(stack, 1, "top$");
+        LOGGER.debug("Stack entry {}", stack.pop());
+    }
+
+    static void type(BstOperands stack, BibEntry entry) {
+        if (entry == null) {
+            throw new VMException("type$ need a context.");
+        }
+        stack.pushString(entry.getType().getName());
+    }
+
+    static void width(BstOperands stack, Warn warn) {
+        requireOperands(stack, 1, "width$");
+        if (!isNonNullStringAt(stack, 0)) {
+            stack.drop();
+            warn.warn("A string is needed for width$");
+            stack.pushInteger(0);
+            return;
+        }
+        stack.pushInteger(BibtexWidth.width(stack.popString()));
+    }
+
+    static void write(BstOperands stack, StringBuilder bbl) {
+        requireOperands(stack, 1, "write$");
+        bbl.append(popString(stack, "Can only write a string with write$"));
+    }
+
+    /**
+     * Counts the text characters of the string, see text.length$
+     */
+    private static int textLength(String s) {
+        char[] c = s.toCharArray();
+        int result = 0;
+
+        // Comments from bibtex.web:
+
+        // sp_ptr := str_start[pop_lit1];
+        int i = 0;
+
+        // sp_end := str_start[pop_lit1+1];
+        int n = s.length();
+
+        // sp_brace_level := 0;
+        int braceLevel = 0;
+
+        // while (sp_ptr < sp_end) do begin
+        while (i < n) {
+            // incr(sp_ptr);
+            i++;
+            // if (str_pool[sp_ptr-1] = left_brace) then
+            // begin
+            if (c[i - 1] == '{') {
+                // incr(sp_brace_level);
+                braceLevel++;
+                // if ((sp_brace_level = 1) and (sp_ptr < sp_end)) then
+                if ((braceLevel == 1) && (i < n)) {
+                    // if (str_pool[sp_ptr] = backslash) then
+                    // begin
+                    if (c[i] == '\\') {
+                        // incr(sp_ptr); {skip over the |backslash|}
+                        i++; // skip over backslash
+                        // while ((sp_ptr < sp_end) and (sp_brace_level
+                        // > 0)) do begin
+                        while ((i < n) && (braceLevel > 0)) {
+                            // if (str_pool[sp_ptr] = right_brace) then
+                            if (c[i] == '}') {
+                                // decr(sp_brace_level)
+                                braceLevel--;
+                            } else if (c[i] == '{') {
+                                // incr(sp_brace_level);
+                                braceLevel++;
+                            }
+                            // incr(sp_ptr);
+                            i++;
+                            // end;
+                        }
+                        // incr(num_text_chars);
+                        result++;
+                        // end;
+                    }
+                    // end
+                }
+
+                // else if (str_pool[sp_ptr-1] = right_brace) then
+                // begin
+            } else if (c[i - 1] == '}') {
+                // if (sp_brace_level > 0) then
+                if (braceLevel > 0) {
+                    // decr(sp_brace_level);
+                    braceLevel--;
+                    // end
+                }
+            } else { // else
+                // incr(num_text_chars);
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the substring of at most len characters starting at the 1-based position start, see substring$
+     */
+    private static String substring(String s, int start, int len) {
+        int lenI = len;
+        int startI = start;
+
+        if (lenI > (Integer.MAX_VALUE / 2)) {
+            lenI = Integer.MAX_VALUE / 2;
+        }
+
+        if (startI > (Integer.MAX_VALUE / 2)) {
+            startI = Integer.MAX_VALUE / 2;
+        }
+
+        if (startI < (Integer.MIN_VALUE / 2)) {
+            startI = -Integer.MIN_VALUE / 2;
+        }
+
+        if (startI < 0) {
+            startI += s.length() + 1;
+            startI = Math.max(1, (startI + 1) - lenI);
+        }
+        return s.substring(startI - 1, Math.min((startI - 1) + lenI, s.length()));
+    }
+
+    /**
+     * Adds a period unless the last non '}' character is a period, question mark or exclamation mark, see add.period$
+     */
+    private static String addPeriod(String s) {
+        Matcher m = ADD_PERIOD_PATTERN.matcher(s);
+
+        if (m.find()) {
+            StringBuilder sb = new StringBuilder();
+            m.appendReplacement(sb, m.group(1));
+            sb.append('.');
+            String group2 = m.group(2);
+            if (group2 != null) {
+                sb.append(m.group(2));
+            }
+            return sb.toString();
+        } else {
+            return s;
+        }
+    }
+}
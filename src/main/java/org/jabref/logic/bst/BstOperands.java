@@ -0,0 +1,52 @@
+package org.jabref.logic.bst;
+
+/**
+ * The literal stack as seen by the built-in functions in {@link BstBuiltIns}. The {@link VM} and the
+ * {@link BstProgram} keep their literals differently and adapt their stacks to this interface, so that both execute
+ * the same implementation of the built-in functions.
+ * <p>
+ * A depth of 0 denotes the top literal. A string literal is null for a missing field.
+ */
+interface BstOperands {
+
+    int size();
+
+    boolean isInteger(int depth);
+
+    /**
+     * Checks whether the literal is a string or a missing field
+     */
+    boolean isString(int depth);
+
+    String peekString(int depth);
+
+    int popInteger();
+
+    String popString();
+
+    /**
+     * Pops the top literal of any type without returning it
+     */
+    void drop();
+
+    /**
+     * Pops the top literal of any type, e.g., for debugging output
+     */
+    Object pop();
+
+    void pushInteger(int value);
+
+    void pushString(String value);
+
+    /**
+     * Pushes a copy of the top literal
+     */
+    void duplicate();
+
+    void swap();
+
+    /**
+     * Checks whether the top two literals are of the same type and have equal values. The literals are not popped.
+     */
+    boolean topTwoAreEqual();
+}
@@ -0,0 +1,628 @@
+package org.jabref.logic.bst;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jabref.logic.bibtex.FieldWriter;
+import org.jabref.logic.bibtex.FieldWriterPreferences;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+import org.antlr.runtime.ANTLRFileStream;
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.CommonTree;
+import org.antlr.runtime.tree.Tree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A .bst file compiled for repeated execution, e.g., for rendering the previews of many entries.
+ * <p>
+ * In contrast to the {@link VM}, which walks the syntax tree and looks up every identifier by its name whenever it is
+ * executed, the identifiers are resolved once when compiling: entry and global variables to slots in arrays, functions
+ * to their compiled code and built-in functions to their opcode. The body of each function is a flat array of
+ * instructions, each consisting of an opcode and one argument. Literals are kept on a {@link BstStack}.
+ * <p>
+ * The program itself is immutable, the state of a run is kept separately. Hence, a program can be run any number of
+ * times, also concurrently.
+ */
+public class BstProgram {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BstProgram.class);
+
+    // The opcodes of the instructions with the meaning of their argument
+    /** value of the integer */
+    private static final int PUSH_INTEGER = 0;
+    /** index of the string constant */
+    private static final int PUSH_STRING = 1;
+    /** index of the symbol */
+    private static final int PUSH_REFERENCE = 2;
+    /** index of the (inline) function */
+    private static final int PUSH_FUNCTION = 3;
+    /** slot of the field */
+    private static final int PUSH_FIELD = 4;
+    /** slot of the entry variable */
+    private static final int PUSH_ENTRY_INTEGER = 5;
+    /** slot of the entry variable */
+    private static final int PUSH_ENTRY_STRING = 6;
+    /** slot of the global variable */
+    private static final int PUSH_GLOBAL_INTEGER = 7;
+    /** slot of the global variable */
+    private static final int PUSH_GLOBAL_STRING = 8;
+    /** index of the function */
+    private static final int CALL = 9;
+    /** ordinal of the {@link BuiltIn} */
+    private static final int CALL_BUILT_IN = 10;
+    /** index of the string constant holding the name of the identifier */
+    private static final int UNKNOWN_IDENTIFIER = 11;
+
+    // The commands executed when running the program, each followed by the symbol of its function
+    private static final int READ = 0;
+    private static final int EXECUTE = 1;
+    private static final int ITERATE = 2;
+    private static final int REVERSE = 3;
+    private static final int SORT = 4;
+
+    private static final BuiltIn[] BUILT_INS = BuiltIn.values();
+
+    private static final String SORT_KEY = "sort.key$";
+
+    private final Path file;
+
+    private final String[] constants;
+
+    private final Field[] fields;
+    /**
+     * The number of fields declared in the ENTRY command. Only these are read from the entries, the additional crossref
+     * field is missing in the same way as in the {@link VM}.
+     */
+    private final int declaredFields;
+    private final int entryIntegers;
+    private final int entryStrings;
+    private final int sortKeySlot;
+    private final int globalIntegers;
+    private final int globalStrings;
+
+    /**
+     * The instructions of each function, i.e., opcode and argument alternately
+     */
+    private final int[][] code;
+    /**
+     * The line of each instruction in the .bst file
+     */
+    private final int[][] lines;
+
+    /**
+     * The instruction executing an identifier, referenced by quoted identifiers and the commands
+     */
+    private final int[] symbolOpcodes;
+    private final int[] symbolArguments;
+    private final Map<String, Integer> symbols;
+
+    private final int[] commands;
+
+    private BstProgram(Compiler compiler, Path file) {
+        this.file = file;
+        this.constants = compiler.constants.keySet().toArray(new String[0]);
+        this.fields = compiler.fields.keySet().stream().map(FieldFactory::parseField).toArray(Field[]::new);
+        this.declaredFields = compiler.declaredFields;
+        this.entryIntegers = compiler.entryIntegers.size();
+        this.entryStrings = compiler.entryStrings.size();
+        this.sortKeySlot = compiler.entryStrings.get(SORT_KEY);
+        this.globalIntegers = compiler.globalIntegers.size();
+        this.globalStrings = compiler.globalStrings.size();
+        this.code = compiler.code.toArray(new int[0][]);
+        this.lines = compiler.lines.toArray(new int[0][]);
+        this.symbolOpcodes = compiler.symbolOpcodes.stream().mapToInt(Integer::intValue).toArray();
+        this.symbolArguments = compiler.symbolArguments.stream().mapToInt(Integer::intValue).toArray();
+        this.symbols = Map.copyOf(compiler.symbols);
+        this.commands = compiler.commands.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static BstProgram compile(Path file) throws RecognitionException, IOException {
+        CommonTree tree = VM.charStream2CommonTree(new ANTLRFileStream(file.toString()));
+        return new BstProgram(new Compiler(tree), file);
+    }
+
+    public static BstProgram compile(String bst) throws RecognitionException {
+        CommonTree tree = VM.charStream2CommonTree(new ANTLRStringStream(bst));
+        return new BstProgram(new Compiler(tree), null);
+    }
+
+    public String run(Collection<BibEntry> bibEntries) {
+        return run(bibEntries, null);
+    }
+
+    /**
+     * Transforms the given list of BibEntries to a rendered list of references using the underlying bst file
+     *
+     * @param bibEntries  list of entries to convert
+     * @param bibDatabase (may be null) the bibDatabase used for resolving strings / crossref
+     * @return list of references in plain text form
+     */
+    public String run(Collection<BibEntry> bibEntries, BibDatabase bibDatabase) {
+        Objects.requireNonNull(bibEntries);
+        return new Execution(bibEntries, bibDatabase).run();
+    }
+
+    /**
+     * Translates the syntax tree into instructions. The declarations are collected first, so that each identifier is
+     * resolved in the same order as by the {@link VM}: fields, entry variables, global variables and functions.
+     */
+    private static class Compiler {
+        private final Map<String, Integer> constants = new LinkedHashMap<>();
+        private final Map<String, Integer> fields = new LinkedHashMap<>();
+        private int declaredFields;
+        private final Map<String, Integer> entryIntegers = new HashMap<>();
+        private final Map<String, Integer> entryStrings = new HashMap<>();
+        private final Map<String, Integer> globalIntegers = new HashMap<>();
+        private final Map<String, Integer> globalStrings = new HashMap<>();
+        /**
+         * The instruction calling each function, built-in function and macro. Later definitions replace earlier ones.
+         */
+        private final Map<String, int[]> functions = new HashMap<>();
+
+        private final List<int[]> code = new ArrayList<>();
+        private final List<int[]> lines = new ArrayList<>();
+        private final List<Integer> symbolOpcodes = new ArrayList<>();
+        private final List<Integer> symbolArguments = new ArrayList<>();
+        private final Map<String, Integer> symbols = new HashMap<>();
+        private final List<Integer> commands = new ArrayList<>();
+
+        Compiler(CommonTree tree) {
+            globalIntegers.put("entry.max$", 0);
+            globalIntegers.put("global.max$", 1);
+            for (BuiltIn builtIn : BUILT_INS) {
+                functions.put(builtIn.name, new int[] {CALL_BUILT_IN, builtIn.ordinal()});
+            }
+
+            List<Tree> functionBodies = new ArrayList<>();
+            for (int i = 0; i < tree.getChildCount(); i++) {
+                Tree child = tree.getChild(i);
+                switch (child.getType()) {
+                    case BstParser.STRINGS -> declare(globalStrings, child.getChild(0));
+                    case BstParser.INTEGERS -> declare(globalIntegers, child.getChild(0));
+                    case BstParser.ENTRY -> {
+                        declare(fields, child.getChild(0));
+                        declare(entryIntegers, child.getChild(1));
+                        declare(entryStrings, child.getChild(2));
+                    }
+                    case BstParser.FUNCTION -> {
+                        functions.put(child.getChild(0).getText(), new int[] {CALL, functionBodies.size()});
+                        functionBodies.add(child.getChild(1));
+                        code.add(null);
+                        lines.add(null);
+                    }
+                    case BstParser.MACRO -> functions.put(child.getChild(0).getText(), new int[] {PUSH_STRING, constant(child.getChild(1).getText())});
+                    default -> {
+                        // commands are translated below
+                    }
+                }
+            }
+            declaredFields = fields.size();
+            fields.putIfAbsent(StandardField.CROSSREF.getName(), fields.size());
+            entryStrings.putIfAbsent(SORT_KEY, entryStrings.size());
+
+            for (int i = 0; i < functionBodies.size(); i++) {
+                compileFunction(i, functionBodies.get(i));
+            }
+            // call.type$ looks up the functions by name
+            functions.keySet().forEach(this::symbol);
+
+            for (int i = 0; i < tree.getChildCount(); i++) {
+                Tree child = tree.getChild(i);
+                switch (child.getType()) {
+                    case BstParser.READ -> addCommand(READ, -1);
+                    case BstParser.EXECUTE -> addCommand(EXECUTE, symbol(child.getChild(0).getText()));
+                    case BstParser.ITERATE -> addCommand(ITERATE, symbol(child.getChild(0).getText()));
+                    case BstParser.REVERSE -> addCommand(REVERSE, symbol(child.getChild(0).getText()));
+                    case BstParser.SORT -> addCommand(SORT, -1);
+                    default -> {
+                        // declarations are handled above
+                    }
+                }
+            }
+        }
+
+        private void declare(Map<String, Integer> slots, Tree idList) {
+            for (int i = 0; i < idList.getChildCount(); i++) {
+                slots.putIfAbsent(idList.getChild(i).getText(), slots.size());
+            }
+        }
+
+        private int constant(String value) {
+            return constants.computeIfAbsent(value, key -> constants.size());
+        }
+
+        private int symbol(String name) {
+            Integer symbol = symbols.get(name);
+            if (symbol == null) {
+                int[] instruction = resolve(name);
+                symbol = symbolOpcodes.size();
+                symbolOpcodes.add(instruction[0]);
+                symbolArguments.add(instruction[1]);
+                symbols.put(name, symbol);
+            }
+            return symbol;
+        }
+
+        private int[] resolve(String name) {
+            if (fields.containsKey(name)) {
+                return new int[] {PUSH_FIELD, fields.get(name)};
+            }
+            if (entryStrings.containsKey(name)) {
+                return new int[] {PUSH_ENTRY_STRING, entryStrings.get(name)};
+            }
+            if (entryIntegers.containsKey(name)) {
+                return new int[] {PUSH_ENTRY_INTEGER, entryIntegers.get(name)};
+            }
+            if (globalStrings.containsKey(name)) {
+                return new int[] {PUSH_GLOBAL_STRING, globalStrings.get(name)};
+            }
+            if (globalIntegers.containsKey(name)) {
+                return new int[] {PUSH_GLOBAL_INTEGER, globalIntegers.get(name)};
+            }
+            if (functions.containsKey(name)) {
+                return functions.get(name);
+            }
+            // The VM fails only when the identifier is executed
+            return new int[] {UNKNOWN_IDENTIFIER, constant(name)};
+        }
+
+        private int compileInlineFunction(Tree body) {
+            int function = code.size();
+            code.add(null);
+            lines.add(null);
+            compileFunction(function, body);
+            return function;
+        }
+
+        private void compileFunction(int function, Tree body) {
+            int[] instructions = new int[2 * body.getChildCount()];
+            int[] instructionLines = new int[body.getChildCount()];
+            for (int i = 0; i < body.getChildCount(); i++) {
+                Tree item = body.getChild(i);
+                String text = item.getText();
+                int[] instruction = switch (item.getType()) {
+                    case BstParser.STRING -> new int[] {PUSH_STRING, constant(text.substring(1, text.length() - 1))};
+                    case BstParser.INTEGER -> new int[] {PUSH_INTEGER, Integer.parseInt(text.substring(1))};
+                    case BstParser.QUOTED -> new int[] {PUSH_REFERENCE, symbol(text.substring(1))};
+                    case BstParser.STACK -> new int[] {PUSH_FUNCTION, compileInlineFunction(item)};
+                    default -> resolve(text);
+                };
+                instructions[2 * i] = instruction[0];
+                instructions[(2 * i) + 1] = instruction[1];
+                instructionLines[i] = item.getLine();
+            }
+            code.set(function, instructions);
+            lines.set(function, instructionLines);
+        }
+
+        private void addCommand(int command, int symbol) {
+            commands.add(command);
+            commands.add(symbol);
+        }
+    }
+
+    private static class BstEntry {
+        private final BibEntry entry;
+        private final String[] fields;
+        private final int[] integers;
+        private final String[] strings;
+
+        BstEntry(BibEntry entry, int fields, int integers, int strings) {
+            this.entry = entry;
+            this.fields = new String[fields];
+            this.integers = new int[integers];
+            this.strings = new String[strings];
+        }
+    }
+
+    /**
+     * The state of one run of the program
+     */
+    private class Execution implements Warn {
+        private final BstStack stack = new BstStack();
+        private final StringBuilder bbl = new StringBuilder();
+        private final int[] integers = new int[globalIntegers];
+        private final String[] strings = new String[globalStrings];
+        private final List<BstEntry> entries;
+        private final BibDatabase bibDatabase;
+        private final String preamble;
+        private int warnings = 1;
+
+        Execution(Collection<BibEntry> bibEntries, BibDatabase bibDatabase) {
+            this.bibDatabase = bibDatabase;
+            this.preamble = (bibDatabase == null) ? "" : bibDatabase.getPreamble().orElse("");
+            // entry.max$ and global.max$
+            integers[0] = Integer.MAX_VALUE;
+            integers[1] = Integer.MAX_VALUE;
+            entries = new ArrayList<>(bibEntries.size());
+            for (BibEntry entry : bibEntries) {
+                entries.add(new BstEntry(entry, fields.length, entryIntegers, entryStrings));
+            }
+        }
+
+        String run() {
+            for (int i = 0; i < commands.length; i += 2) {
+                int symbol = commands[i + 1];
+                switch (commands[i]) {
+                    case READ -> read();
+                    case EXECUTE -> executeSymbol(symbol, null);
+                    case ITERATE -> {
+                        for (BstEntry entry : entries) {
+                            executeSymbol(symbol, entry);
+                        }
+                    }
+                    case REVERSE -> {
+                        for (int j = entries.size() - 1; j >= 0; j--) {
+                            executeSymbol(symbol, entries.get(j));
+                        }
+                    }
+                    case SORT -> entries.sort(Comparator.comparing(entry -> entry.strings[sortKeySlot]));
+                    default -> throw new IllegalStateException("Unknown command " + commands[i]);
+                }
+            }
+            return bbl.toString();
+        }
+
+        private void read() {
+            FieldWriter fieldWriter = new FieldWriter(new FieldWriterPreferences());
+            for (BstEntry entry : entries) {
+                for (int i = 0; i < declaredFields; i++) {
+                    entry.fields[i] = VM.readField(entry.entry, fields[i], bibDatabase, fieldWriter);
+                }
+            }
+        }
+
+        private void executeSymbol(int symbol, BstEntry context) {
+            execute(symbolOpcodes[symbol], symbolArguments[symbol], context);
+        }
+
+        private void call(int function, BstEntry context) {
+            int[] instructions = code[function];
+            for (int i = 0; i < instructions.length; i += 2) {
+                try {
+                    execute(instructions[i], instructions[i + 1], context);
+                } catch (VMException e) {
+                    if (file == null) {
+                        LOGGER.error("ERROR " + e.getMessage() + " (" + lines[function][i / 2] + ")");
+                    } else {
+                        LOGGER.error("ERROR " + e.getMessage() + " (" + file + ":" + lines[function][i / 2] + ")");
+                    }
+                    throw e;
+                }
+            }
+        }
+
+        private void execute(int opcode, int argument, BstEntry context) {
+            switch (opcode) {
+                case PUSH_INTEGER -> stack.pushInteger(argument);
+                case PUSH_STRING -> stack.pushString(constants[argument]);
+                case PUSH_REFERENCE -> stack.pushReference(argument);
+                case PUSH_FUNCTION -> stack.pushFunction(argument);
+                case PUSH_FIELD -> stack.pushString(requireEntry(context).fields[argument]);
+                case PUSH_ENTRY_INTEGER -> stack.pushInteger(requireEntry(context).integers[argument]);
+                case PUSH_ENTRY_STRING -> stack.pushString(requireEntry(context).strings[argument]);
+                case PUSH_GLOBAL_INTEGER -> stack.pushInteger(integers[argument]);
+                case PUSH_GLOBAL_STRING -> stack.pushString(strings[argument]);
+                case CALL -> call(argument, context);
+                case CALL_BUILT_IN -> executeBuiltIn(BUILT_INS[argument], context);
+                case UNKNOWN_IDENTIFIER -> throw new VMException("No matching identifier found: " + constants[argument]);
+                default -> throw new IllegalStateException("Unknown opcode " + opcode);
+            }
+        }
+
+        /**
+         * Executes a function literal, i.e., a quoted identifier or an inline function
+         */
+        private void executeFunction(byte type, int function, BstEntry context) {
+            if (type == BstStack.REFERENCE) {
+                executeSymbol(function, context);
+            } else {
+                call(function, context);
+            }
+        }
+
+        private BstEntry requireEntry(BstEntry context) {
+            if (context == null) {
+                throw new VMException("Entry variables can only be used within a context (ITERATE or REVERSE).");
+            }
+            return context;
+        }
+
+        private void assign(BstEntry context) {
+            if ((stack.size() < 2) || (stack.peekType(0) != BstStack.REFERENCE)) {
+                throw new VMException("Invalid call to operation :=");
+            }
+            int symbol = stack.popInteger();
+            int opcode = symbolOpcodes[symbol];
+            int slot = symbolArguments[symbol];
+            switch (stack.peekType(0)) {
+                case BstStack.INTEGER -> {
+                    int value = stack.popInteger();
+                    if ((opcode == PUSH_ENTRY_INTEGER) && (context != null)) {
+                        context.integers[slot] = value;
+                    } else if (opcode == PUSH_GLOBAL_INTEGER) {
+                        integers[slot] = value;
+                    }
+                }
+                case BstStack.STRING -> {
+                    String value = stack.popString();
+                    if (value == null) {
+                        throw new VMException("Invalid parameters");
+                    }
+                    if ((opcode == PUSH_ENTRY_STRING) && (context != null)) {
+                        context.strings[slot] = value;
+                    } else if (opcode == PUSH_GLOBAL_STRING) {
+                        strings[slot] = value;
+                    }
+                }
+                default -> throw new VMException("Invalid parameters");
+            }
+        }
+
+        private boolean isFunctionAt(int depth) {
+            byte type = stack.peekType(depth);
+            return (type == BstStack.REFERENCE) || (type == BstStack.FUNCTION);
+        }
+
+        /**
+         * Executes the built-in function, see {@link BstBuiltIns} for the ones shared with the {@link VM}
+         */
+        private void executeBuiltIn(BuiltIn builtIn, BstEntry context) {
+            BibEntry entry = (context == null) ? null : context.entry;
+            switch (builtIn) {
+                case GREATER -> BstBuiltIns.greater(stack);
+                case LESS -> BstBuiltIns.less(stack);
+                case EQUALS -> BstBuiltIns.equals(stack);
+                case PLUS -> BstBuiltIns.plus(stack);
+                case MINUS -> BstBuiltIns.minus(stack);
+                case CONCATENATE -> BstBuiltIns.concatenate(stack);
+                case ASSIGN -> assign(context);
+                case ADD_PERIOD -> BstBuiltIns.addPeriod(stack);
+                case CALL_TYPE -> {
+                    if (context == null) {
+                        throw new VMException("Call.type$ can only be called from within a context (ITERATE or REVERSE).");
+                    }
+                    String type = context.entry.getType().getName();
+                    Integer symbol = symbols.get(type);
+                    if (symbol == null) {
+                        throw new VMException("No matching identifier found: " + type);
+                    }
+                    executeSymbol(symbol, context);
+                }
+                case CHANGE_CASE -> BstBuiltIns.changeCase(stack);
+                case CHR_TO_INT -> BstBuiltIns.chrToInt(stack);
+                case CITE -> BstBuiltIns.cite(stack, entry);
+                case DUPLICATE -> BstBuiltIns.duplicate(stack);
+                case EMPTY -> BstBuiltIns.empty(stack);
+                case FORMAT_NAME -> BstBuiltIns.formatName(stack, this);
+                case IF -> {
+                    BstBuiltIns.requireOperands(stack, 3, builtIn.name);
+                    if (!isFunctionAt(0) || !isFunctionAt(1) || !stack.isInteger(2)) {
+                        throw new VMException("Expecting two functions and an integer for if$.");
+                    }
+                    byte elseType = stack.peekType(0);
+                    int elseFunction = stack.popInteger();
+                    byte thenType = stack.peekType(0);
+                    int thenFunction = stack.popInteger();
+                    if (stack.popInteger() > 0) {
+                        executeFunction(thenType, thenFunction, context);
+                    } else {
+                        executeFunction(elseType, elseFunction, context);
+                    }
+                }
+                case INT_TO_CHR -> BstBuiltIns.intToChr(stack);
+                case INT_TO_STR -> BstBuiltIns.intToStr(stack);
+                case MISSING -> BstBuiltIns.missing(stack, this);
+                case NEWLINE -> bbl.append('\n');
+                case NUM_NAMES -> BstBuiltIns.numNames(stack);
+                case POP -> BstBuiltIns.pop(stack);
+                case PREAMBLE -> stack.pushString(preamble);
+                case PURIFY -> BstBuiltIns.purify(stack, this);
+                case QUOTE -> BstBuiltIns.quote(stack);
+                case SKIP -> {
+                    // Nothing to do
+                }
+                case STACK -> BstBuiltIns.stack(stack);
+                case SUBSTRING -> BstBuiltIns.substring(stack);
+                case SWAP -> BstBuiltIns.swap(stack);
+                case TEXT_LENGTH -> BstBuiltIns.textLength(stack);
+                case TEXT_PREFIX -> BstBuiltIns.textPrefix(stack, this);
+                case TOP -> BstBuiltIns.top(stack);
+                case TYPE -> BstBuiltIns.type(stack, entry);
+                case WARNING -> {
+                    BstBuiltIns.requireOperands(stack, 1, builtIn.name);
+                    LOGGER.warn("Warning (#" + (warnings++) + "): " + stack.pop());
+                }
+                case WHILE -> {
+                    BstBuiltIns.requireOperands(stack, 2, builtIn.name);
+                    if (!isFunctionAt(0) || !isFunctionAt(1)) {
+                        throw new VMException("Expecting two functions for while$.");
+                    }
+                    byte bodyType = stack.peekType(0);
+                    int body = stack.popInteger();
+                    byte conditionType = stack.peekType(0);
+                    int condition = stack.popInteger();
+                    while (true) {
+                        executeFunction(conditionType, condition, context);
+                        if (BstBuiltIns.popInteger(stack, "First parameter to while has to return an integer") <= 0) {
+                            break;
+                        }
+                        executeFunction(bodyType, body, context);
+                    }
+                }
+                case WIDTH -> BstBuiltIns.width(stack, this);
+                case WRITE -> BstBuiltIns.write(stack, bbl);
+                default -> throw new IllegalStateException("Unknown built-in function " + builtIn.name);
+            }
+        }
+
+        @Override
+        public void warn(String string) {
+            LOGGER.warn(string);
+        }
+    }
+
+    /**
+     * The built-in functions, see the {@link VM} for their documentation
+     */
+    private enum BuiltIn {
+        GREATER(">"),
+        LESS("<"),
+        EQUALS("="),
+        PLUS("+"),
+        MINUS("-"),
+        CONCATENATE("*"),
+        ASSIGN(":="),
+        ADD_PERIOD("add.period$"),
+        CALL_TYPE("call.type$"),
+        CHANGE_CASE("change.case$"),
+        CHR_TO_INT("chr.to.int$"),
+        CITE("cite$"),
+        DUPLICATE("duplicate$"),
+        EMPTY("empty$"),
+        FORMAT_NAME("format.name$"),
+        IF("if$"),
+        INT_TO_CHR("int.to.chr$"),
+        INT_TO_STR("int.to.str$"),
+        MISSING("missing$"),
+        NEWLINE("newline$"),
+        NUM_NAMES("num.names$"),
+        POP("pop$"),
+        PREAMBLE("preamble$"),
+        PURIFY("purify$"),
+        QUOTE("quote$"),
+        SKIP("skip$"),
+        STACK("stack$"),
+        SUBSTRING("substring$"),
+        SWAP("swap$"),
+        TEXT_LENGTH("text.length$"),
+        TEXT_PREFIX("text.prefix$"),
+        TOP("top$"),
+        TYPE("type$"),
+        WARNING("warning$"),
+        WHILE("while$"),
+        WIDTH("width$"),
+        WRITE("write$");
+
+        private final String name;
+
+        BuiltIn(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.jabref.logic.bst;
+
+import java.util.Arrays;
+
+/**
+ * The literal stack of a {@link BstProgram}. In contrast to the {@link java.util.Stack} of the {@link VM}, it is not
+ * synchronized and stores integers without boxing them.
+ * <p>
+ * Each literal is an integer, a string (null for a missing field), a reference to an identifier (a quoted identifier,
+ * e.g., <code>'skip$</code>) or an inline function (e.g., <code>{ pop$ #0 }</code>).
+ */
+class BstStack implements BstOperands {
+
+    static final byte INTEGER = 0;
+    static final byte STRING = 1;
+    static final byte REFERENCE = 2;
+    static final byte FUNCTION = 3;
+
+    private byte[] types = new byte[32];
+    private int[] integers = new int[32];
+    private String[] strings = new String[32];
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isInteger(int depth) {
+        return peekType(depth) == INTEGER;
+    }
+
+    @Override
+    public boolean isString(int depth) {
+        return peekType(depth) == STRING;
+    }
+
+    /**
+     * Returns the type of the literal below the given number of literals from the top
+     */
+    byte peekType(int depth) {
+        requireOperands(depth + 1);
+        return types[size - 1 - depth];
+    }
+
+    @Override
+    public String peekString(int depth) {
+        requireOperands(depth + 1);
+        return strings[size - 1 - depth];
+    }
+
+    @Override
+    public void pushInteger(int value) {
+        push(INTEGER, value, null);
+    }
+
+    @Override
+    public void pushString(String value) {
+        push(STRING, 0, value);
+    }
+
+    void pushReference(int symbol) {
+        push(REFERENCE, symbol, null);
+    }
+
+    void pushFunction(int function) {
+        push(FUNCTION, function, null);
+    }
+
+    /**
+     * Pops the top literal and returns its integer value, i.e., the value of an integer or the index of a reference or
+     * function
+     */
+    @Override
+    public int popInteger() {
+        requireOperands(1);
+        size--;
+        return integers[size];
+    }
+
+    @Override
+    public String popString() {
+        requireOperands(1);
+        size--;
+        String value = strings[size];
+        strings[size] = null;
+        return value;
+    }
+
+    @Override
+    public void drop() {
+        popString();
+    }
+
+    @Override
+    public void duplicate() {
+        requireOperands(1);
+        push(types[size - 1], integers[size - 1], strings[size - 1]);
+    }
+
+    @Override
+    public void swap() {
+        requireOperands(2);
+        byte type = types[size - 1];
+        int integer = integers[size - 1];
+        String string = strings[size - 1];
+        types[size - 1] = types[size - 2];
+        integers[size - 1] = integers[size - 2];
+        strings[size - 1] = strings[size - 2];
+        types[size - 2] = type;
+        integers[size - 2] = integer;
+        strings[size - 2] = string;
+    }
+
+    /**
+     * Pops the top literal and returns it in the form the {@link VM} keeps it on its stack, e.g., for debugging output
+     */
+    @Override
+    public Object pop() {
+        return switch (peekType(0)) {
+            case INTEGER -> popInteger();
+            case STRING -> popString();
+            default -> "<function " + popInteger() + ">";
+        };
+    }
+
+    @Override
+    public boolean topTwoAreEqual() {
+        requireOperands(2);
+        int first = size - 1;
+        int second = size - 2;
+        if (types[first] != types[second]) {
+            return false;
+        }
+        if (types[first] == STRING) {
+            return (strings[first] == null) ? (strings[second] == null) : strings[first].equals(strings[second]);
+        }
+        return integers[first] == integers[second];
+    }
+
+    private void requireOperands(int count) {
+        if (size < count) {
+            throw new VMException("Not enough operands on stack");
+        }
+    }
+
+    private void push(byte type, int integer, String string) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            integers = Arrays.copyOf(integers, capacity);
+            strings = Arrays.copyOf(strings, capacity);
+        }
+        types[size] = type;
+        integers[size] = integer;
+        strings[size] = string;
+        size++;
+    }
+}
@@ -1,9 +1,5 @@
 package org.jabref.logic.bst;
 
-import java.util.Locale;
-import java.util.Stack;
-
-import org.jabref.logic.bst.BibtexCaseChanger.FORMAT_MODE;
 import org.jabref.logic.bst.VM.BstEntry;
 import org.jabref.logic.bst.VM.BstFunction;
 
@@ -41,25 +37,6 @@ public class ChangeCaseFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
-
-        if (stack.size() < 2) {
-            throw new VMException("Not enough operands on stack for operation change.case$");
-        }
-
-        Object o1 = stack.pop();
-        if (!((o1 instanceof String) && (((String) o1).length() == 1))) {
-            throw new VMException("A format string of length 1 is needed for change.case$");
-        }
-
-        Object o2 = stack.pop();
-        if (!(o2 instanceof String)) {
-            throw new VMException("A string is needed as second parameter for change.case$");
-        }
-
-        char format = ((String) o1).toLowerCase(Locale.ROOT).charAt(0);
-        String s = (String) o2;
-
-        stack.push(BibtexCaseChanger.changeCase(s, FORMAT_MODE.getFormatModeForBSTFormat(format)));
+        BstBuiltIns.changeCase(vm.getOperands());
     }
 }
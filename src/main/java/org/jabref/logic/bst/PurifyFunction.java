@@ -1,7 +1,5 @@
 package org.jabref.logic.bst;
 
-import java.util.Stack;
-
 import org.jabref.logic.bst.VM.BstEntry;
 import org.jabref.logic.bst.VM.BstFunction;
 
@@ -25,19 +23,6 @@ public class PurifyFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
-
-        if (stack.isEmpty()) {
-            throw new VMException("Not enough operands on stack for operation purify$");
-        }
-        Object o1 = stack.pop();
-
-        if (!(o1 instanceof String)) {
-            vm.warn("A string is needed for purify$");
-            stack.push("");
-            return;
-        }
-
-        stack.push(BibtexPurify.purify((String) o1, vm));
+        BstBuiltIns.purify(vm.getOperands(), vm);
     }
 }
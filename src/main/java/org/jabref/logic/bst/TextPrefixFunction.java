@@ -1,7 +1,5 @@
 package org.jabref.logic.bst;
 
-import java.util.Stack;
-
 import org.jabref.logic.bst.VM.BstEntry;
 import org.jabref.logic.bst.VM.BstFunction;
 
@@ -30,26 +28,6 @@ public class TextPrefixFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
-
-        if (stack.size() < 2) {
-            throw new VMException("Not enough operands on stack for operation text.prefix$");
-        }
-
-        Object o1 = stack.pop();
-        if (!(o1 instanceof Integer)) {
-            vm.warn("An integer is needed as first parameter to text.prefix$");
-            stack.push("");
-            return;
-        }
-
-        Object o2 = stack.pop();
-        if (!(o2 instanceof String)) {
-            vm.warn("A string is needed as second parameter to text.prefix$");
-            stack.push("");
-            return;
-        }
-
-        stack.push(BibtexTextPrefix.textPrefix((Integer) o1, (String) o2, vm));
+        BstBuiltIns.textPrefix(vm.getOperands(), vm);
     }
 }
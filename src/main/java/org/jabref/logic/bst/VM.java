@@ -11,14 +11,11 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.jabref.logic.bibtex.FieldWriter;
 import org.jabref.logic.bibtex.FieldWriterPreferences;
 import org.jabref.logic.bibtex.InvalidFieldValueException;
 import org.jabref.model.database.BibDatabase;
-import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.Month;
 import org.jabref.model.entry.field.Field;
@@ -48,8 +45,6 @@ public class VM implements Warn {
 
     public static final Integer TRUE = 1;
 
-    private static final Pattern ADD_PERIOD_PATTERN = Pattern.compile("([^\\.\\?\\!\\}\\s])(\\}|\\s)*$");
-
     private static final Logger LOGGER = LoggerFactory.getLogger(VM.class);
 
     private List<BstEntry> entries;
@@ -62,6 +57,8 @@ public class VM implements Warn {
 
     private Stack<Object> stack = new Stack<>();
 
+    private final BstOperands operands = new StackOperands();
+
     private final Map<String, BstFunction> buildInFunctions;
 
     private File file;
@@ -103,6 +100,85 @@ public class VM implements Warn {
         void execute(BstEntry context);
     }
 
+    /**
+     * Adapts the stack of the VM for the {@link BstBuiltIns}
+     */
+    private class StackOperands implements BstOperands {
+
+        @Override
+        public int size() {
+            return stack.size();
+        }
+
+        @Override
+        public boolean isInteger(int depth) {
+            return peek(depth) instanceof Integer;
+        }
+
+        @Override
+        public boolean isString(int depth) {
+            Object o = peek(depth);
+            return (o == null) || (o instanceof String);
+        }
+
+        @Override
+        public String peekString(int depth) {
+            return (String) peek(depth);
+        }
+
+        @Override
+        public int popInteger() {
+            return (Integer) stack.pop();
+        }
+
+        @Override
+        public String popString() {
+            return (String) stack.pop();
+        }
+
+        @Override
+        public void drop() {
+            stack.pop();
+        }
+
+        @Override
+        public Object pop() {
+            return stack.pop();
+        }
+
+        @Override
+        public void pushInteger(int value) {
+            stack.push(value);
+        }
+
+        @Override
+        public void pushString(String value) {
+            stack.push(value);
+        }
+
+        @Override
+        public void duplicate() {
+            stack.push(stack.peek());
+        }
+
+        @Override
+        public void swap() {
+            Object top = stack.pop();
+            Object second = stack.pop();
+            stack.push(top);
+            stack.push(second);
+        }
+
+        @Override
+        public boolean topTwoAreEqual() {
+            return Objects.equals(peek(0), peek(1));
+        }
+
+        private Object peek(int depth) {
+            return stack.get(stack.size() - 1 - depth);
+        }
+    }
+
     public VM(File f) throws RecognitionException, IOException {
         this(new ANTLRFileStream(f.getPath()));
         this.file = f;
@@ -126,119 +202,32 @@ public class VM implements Warn {
          * the integer 1 if the second is greater than the first, 0
          * otherwise.
          */
-        buildInFunctions.put(">", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation >");
-            }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
-                throw new VMException("Can only compare two integers with >");
-            }
-
-            stack.push(((Integer) o1).compareTo((Integer) o2) > 0 ? VM.TRUE : VM.FALSE);
-        });
+        buildInFunctions.put(">", context -> BstBuiltIns.greater(operands));
 
         /* Analogous to >. */
-        buildInFunctions.put("<", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation <");
-            }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
-                throw new VMException("Can only compare two integers with <");
-            }
-
-            stack.push(((Integer) o1).compareTo((Integer) o2) < 0 ? VM.TRUE : VM.FALSE);
-        });
+        buildInFunctions.put("<", context -> BstBuiltIns.less(operands));
 
         /*
          * Pops the top two (both integer or both string) literals, compares
          * them, and pushes the integer 1 if they're equal, 0 otherwise.
          */
-        buildInFunctions.put("=", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation =");
-            }
-            Object o1 = stack.pop();
-            Object o2 = stack.pop();
-
-            if ((o1 == null) ^ (o2 == null)) {
-                stack.push(VM.FALSE);
-                return;
-            }
-
-            if ((o1 == null) && (o2 == null)) {
-                stack.push(VM.TRUE);
-                return;
-            }
-
-            stack.push(o1.equals(o2) ? VM.TRUE : VM.FALSE);
-        });
+        buildInFunctions.put("=", context -> BstBuiltIns.equals(operands));
 
         /* Pops the top two (integer) literals and pushes their sum. */
-        buildInFunctions.put("+", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation +");
-            }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
-                throw new VMException("Can only compare two integers with +");
-            }
-
-            stack.push((Integer) o1 + (Integer) o2);
-        });
+        buildInFunctions.put("+", context -> BstBuiltIns.plus(operands));
 
         /*
          * Pops the top two (integer) literals and pushes their difference
          * (the first subtracted from the second).
          */
-        buildInFunctions.put("-", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation -");
-            }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
-                throw new VMException("Can only subtract two integers with -");
-            }
-
-            stack.push((Integer) o1 - (Integer) o2);
-        });
+        buildInFunctions.put("-", context -> BstBuiltIns.minus(operands));
 
         /*
          * Pops the top two (string) literals, concatenates them (in reverse
          * order, that is, the order in which pushed), and pushes the
          * resulting string.
          */
-        buildInFunctions.put("*", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation *");
-            }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (o1 == null) {
-                o1 = "";
-            }
-            if (o2 == null) {
-                o2 = "";
-            }
-
-            if (!((o1 instanceof String) && (o2 instanceof String))) {
-                LOGGER.error("o1: {} ({})", o1, o1.getClass());
-                LOGGER.error("o2: {} ({})", o2, o2.getClass());
-                throw new VMException("Can only concatenate two String with *");
-            }
-
-            stack.push(o1.toString() + o2);
-        });
+        buildInFunctions.put("*", context -> BstBuiltIns.concatenate(operands));
 
         /*
          * Pops the top two literals and assigns to the first (which must be
@@ -258,7 +247,7 @@ public class VM implements Warn {
          * '}' character isn't a `.', `?', or `!', and pushes this resulting
          * string.
          */
-        buildInFunctions.put("add.period$", context -> addPeriodFunction());
+        buildInFunctions.put("add.period$", context -> BstBuiltIns.addPeriod(operands));
 
         /*
          * Executes the function whose name is the entry type of an entry.
@@ -284,69 +273,25 @@ public class VM implements Warn {
          * character, converts it to the corresponding ASCII integer, and
          * pushes this integer.
          */
-        buildInFunctions.put("chr.to.int$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation chr.to.int$");
-            }
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof String) && (((String) o1).length() == 1))) {
-                throw new VMException("Can only perform chr.to.int$ on string with length 1");
-            }
-
-            String s = (String) o1;
-
-            stack.push((int) s.charAt(0));
-        });
+        buildInFunctions.put("chr.to.int$", context -> BstBuiltIns.chrToInt(operands));
 
         /*
          * Pushes the string that was the \cite-command argument for this
          * entry.
          */
-        buildInFunctions.put("cite$", context -> {
-            if (context == null) {
-                throw new VMException("Must have an entry to cite$");
-            }
-            stack.push(context.entry.getCitationKey().orElse(null));
-        });
+        buildInFunctions.put("cite$", context -> BstBuiltIns.cite(operands, (context == null) ? null : context.entry));
 
         /*
          * Pops the top literal from the stack and pushes two copies of it.
          */
-        buildInFunctions.put("duplicate$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation duplicate$");
-            }
-            Object o1 = stack.pop();
-
-            stack.push(o1);
-            stack.push(o1);
-        });
+        buildInFunctions.put("duplicate$", context -> BstBuiltIns.duplicate(operands));
 
         /*
          * Pops the top literal and pushes the integer 1 if it's a missing
          * field or a string having no non-white-space characters, 0
          * otherwise.
          */
-        buildInFunctions.put("empty$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation empty$");
-            }
-            Object o1 = stack.pop();
-
-            if (o1 == null) {
-                stack.push(VM.TRUE);
-                return;
-            }
-
-            if (!(o1 instanceof String)) {
-                throw new VMException("Operand does not match function empty$");
-            }
-
-            String s = (String) o1;
-
-            stack.push("".equals(s.trim()) ? VM.TRUE : VM.FALSE);
-        });
+        buildInFunctions.put("empty$", context -> BstBuiltIns.empty(operands));
 
         buildInFunctions.put("format.name$", new FormatNameFunction(this));
 
@@ -381,61 +326,19 @@ public class VM implements Warn {
          * value of a single character, converts it to the corresponding
          * single-character string, and pushes this string.
          */
-        buildInFunctions.put("int.to.chr$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation int.to.chr$");
-            }
-            Object o1 = stack.pop();
-
-            if (!(o1 instanceof Integer)) {
-                throw new VMException("Can only perform operation int.to.chr$ on an Integer");
-            }
-
-            Integer i = (Integer) o1;
-
-            stack.push(String.valueOf((char) i.intValue()));
-        });
+        buildInFunctions.put("int.to.chr$", context -> BstBuiltIns.intToChr(operands));
 
         /*
          * Pops the top (integer) literal, converts it to its (unique)
          * string equivalent, and pushes this string.
          */
-        buildInFunctions.put("int.to.str$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation int.to.str$");
-            }
-            Object o1 = stack.pop();
-
-            if (!(o1 instanceof Integer)) {
-                throw new VMException("Can only transform an integer to an string using int.to.str$");
-            }
-
-            stack.push(o1.toString());
-        });
+        buildInFunctions.put("int.to.str$", context -> BstBuiltIns.intToStr(operands));
 
         /*
          * Pops the top literal and pushes the integer 1 if it's a missing
          * field, 0 otherwise.
          */
-        buildInFunctions.put("missing$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation missing$");
-            }
-            Object o1 = stack.pop();
-
-            if (o1 == null) {
-                stack.push(VM.TRUE);
-                return;
-            }
-
-            if (!(o1 instanceof String)) {
-                warn("Not a string or missing field in operation missing$");
-                stack.push(VM.TRUE);
-                return;
-            }
-
-            stack.push(VM.FALSE);
-        });
+        buildInFunctions.put("missing$", context -> BstBuiltIns.missing(operands, this));
 
         /*
          * Writes onto the bbl file what is accumulated in the output buffer.
@@ -452,25 +355,13 @@ public class VM implements Warn {
          * substring "and" (ignoring case differences) surrounded by
          * non-null white-space at the top brace level.
          */
-        buildInFunctions.put("num.names$", context -> {
-            if (stack.isEmpty()) {
-                throw new VMException("Not enough operands on stack for operation num.names$");
-            }
-            Object o1 = stack.pop();
-
-            if (!(o1 instanceof String)) {
-                throw new VMException("Need a string at the top of the stack for num.names$");
-            }
-            String s = (String) o1;
-
-            stack.push(AuthorList.parse(s).getNumberOfAuthors());
-        });
+        buildInFunctions.put("num.names$", context -> BstBuiltIns.numNames(operands));
 
         /*
          * Pops the top of the stack but doesn't print it; this gets rid of
          * an unwanted stack literal.
          */
-        buildInFunctions.put("pop$", context -> stack.pop());
+        buildInFunctions.put("pop$", context -> BstBuiltIns.pop(operands));
 
         /*
          * The |built_in| function {\.{preamble\$}} pushes onto the stack
@@ -495,7 +386,7 @@ public class VM implements Warn {
         /*
          * Pushes the string consisting of the double-quote character.
          */
-        buildInFunctions.put("quote$", context -> stack.push("\""));
+        buildInFunctions.put("quote$", context -> BstBuiltIns.quote(operands));
 
         /*
          * Is a no-op.
@@ -508,11 +399,7 @@ public class VM implements Warn {
          * Pops and prints the whole stack; it's meant to be used for style
          * designers while debugging.
          */
-        buildInFunctions.put("stack$", context -> {
-            while (!stack.empty()) {
-                LOGGER.debug("Stack entry {}", stack.pop());
-            }
-        });
+        buildInFunctions.put("stack$", context -> BstBuiltIns.stack(operands));
 
         /*
          * Pops the top three literals (they are the two integers literals
@@ -523,7 +410,7 @@ public class VM implements Warn {
          * (including) from the end if start is negative (where the first
          * character from the end is the last character).
          */
-        buildInFunctions.put("substring$", context -> substringFunction());
+        buildInFunctions.put("substring$", context -> BstBuiltIns.substring(operands));
 
         /*
          * Swaps the top two literals on the stack. text.length$ Pops the
@@ -533,16 +420,7 @@ public class VM implements Warn {
          * text character, even if it's missing its matching right brace,
          * and where braces don't count as text characters.
          */
-        buildInFunctions.put("swap$", context -> {
-            if (stack.size() < 2) {
-                throw new VMException("Not enough operands on stack for operation swap$");
-            }
-            Object f1 = stack.pop();
-            Object f2 = stack.pop();
-
-            stack.push(f1);
-            stack.push(f2);
-        });
+        buildInFunctions.put("swap$", context -> BstBuiltIns.swap(operands));
 
         /*
          * text.length$ Pops the top (string) literal, and pushes the number
@@ -555,7 +433,7 @@ public class VM implements Warn {
          * BibTEX considers everything contained inside the braces as a
          * single letter.
          */
-        buildInFunctions.put("text.length$", context -> textLengthFunction());
+        buildInFunctions.put("text.length$", context -> BstBuiltIns.textLength(operands));
 
         /*
          * Pops the top two literals (the integer literal len and a string
@@ -573,19 +451,13 @@ public class VM implements Warn {
         /*
          * Pops and prints the top of the stack to the log file. It's useful for debugging.
          */
-        buildInFunctions.put("top$", context -> LOGGER.debug("Stack entry {}", stack.pop()));
+        buildInFunctions.put("top$", context -> BstBuiltIns.top(operands));
 
         /*
          * Pushes the current entry's type (book, article, etc.), but pushes
          * the null string if the type is either unknown or undefined.
          */
-        buildInFunctions.put("type$", context -> {
-            if (context == null) {
-                throw new VMException("type$ need a context.");
-            }
-
-            stack.push(context.entry.getType().getName());
-        });
+        buildInFunctions.put("type$", context -> BstBuiltIns.type(operands, (context == null) ? null : context.entry));
 
         /*
          * Pops the top (string) literal and prints it following a warning
@@ -616,90 +488,7 @@ public class VM implements Warn {
          * (which will result in stuff being written onto the bbl file when
          * the buffer fills up).
          */
-        buildInFunctions.put("write$", context -> {
-            String s = (String) stack.pop();
-            VM.this.bbl.append(s);
-        });
-    }
-
-    private void textLengthFunction() {
-        if (stack.isEmpty()) {
-            throw new VMException("Not enough operands on stack for operation text.length$");
-        }
-        Object o1 = stack.pop();
-
-        if (!(o1 instanceof String)) {
-            throw new VMException("Can only perform operation on a string text.length$");
-        }
-
-        String s = (String) o1;
-        char[] c = s.toCharArray();
-        int result = 0;
-
-        // Comments from bibtex.web:
-
-        // sp_ptr := str_start[pop_lit1];
-        int i = 0;
-
-        // sp_end := str_start[pop_lit1+1];
-        int n = s.length();
-
-        // sp_brace_level := 0;
-        int braceLevel = 0;
-
-        // while (sp_ptr < sp_end) do begin
-        while (i < n) {
-            // incr(sp_ptr);
-            i++;
-            // if (str_pool[sp_ptr-1] = left_brace) then
-            // begin
-            if (c[i - 1] == '{') {
-                // incr(sp_brace_level);
-                braceLevel++;
-                // if ((sp_brace_level = 1) and (sp_ptr < sp_end)) then
-                if ((braceLevel == 1) && (i < n)) {
-                    // if (str_pool[sp_ptr] = backslash) then
-                    // begin
-                    if (c[i] == '\\') {
-                        // incr(sp_ptr); {skip over the |backslash|}
-                        i++; // skip over backslash
-                        // while ((sp_ptr < sp_end) and (sp_brace_level
-                        // > 0)) do begin
-                        while ((i < n) && (braceLevel > 0)) {
-                            // if (str_pool[sp_ptr] = right_brace) then
-                            if (c[i] == '}') {
-                                // decr(sp_brace_level)
-                                braceLevel--;
-                            } else if (c[i] == '{') {
-                                // incr(sp_brace_level);
-                                braceLevel++;
-                            }
-                            // incr(sp_ptr);
-                            i++;
-                            // end;
-                        }
-                        // incr(num_text_chars);
-                        result++;
-                        // end;
-                    }
-                    // end
-                }
-
-                // else if (str_pool[sp_ptr-1] = right_brace) then
-                // begin
-            } else if (c[i - 1] == '}') {
-                // if (sp_brace_level > 0) then
-                if (braceLevel > 0) {
-                    // decr(sp_brace_level);
-                    braceLevel--;
-                    // end
-                }
-            } else { // else
-                // incr(num_text_chars);
-                result++;
-            }
-        }
-        stack.push(result);
+        buildInFunctions.put("write$", context -> BstBuiltIns.write(operands, VM.this.bbl));
     }
 
     private void whileFunction(BstEntry context) {
@@ -728,73 +517,7 @@ public class VM implements Warn {
         } while (true);
     }
 
-    private void substringFunction() {
-        if (stack.size() < 3) {
-            throw new VMException("Not enough operands on stack for operation substring$");
-        }
-        Object o1 = stack.pop();
-        Object o2 = stack.pop();
-        Object o3 = stack.pop();
-
-        if (!((o1 instanceof Integer) && (o2 instanceof Integer) && (o3 instanceof String))) {
-            throw new VMException("Expecting two integers and a string for substring$");
-        }
-
-        Integer len = (Integer) o1;
-        Integer start = (Integer) o2;
-
-        int lenI = len;
-        int startI = start;
-
-        if (lenI > (Integer.MAX_VALUE / 2)) {
-            lenI = Integer.MAX_VALUE / 2;
-        }
-
-        if (startI > (Integer.MAX_VALUE / 2)) {
-            startI = Integer.MAX_VALUE / 2;
-        }
-
-        if (startI < (Integer.MIN_VALUE / 2)) {
-            startI = -Integer.MIN_VALUE / 2;
-        }
-
-        String s = (String) o3;
-
-        if (startI < 0) {
-            startI += s.length() + 1;
-            startI = Math.max(1, (startI + 1) - lenI);
-        }
-        stack.push(s.substring(startI - 1, Math.min((startI - 1) + lenI, s.length())));
-    }
-
-    private void addPeriodFunction() {
-        if (stack.isEmpty()) {
-            throw new VMException("Not enough operands on stack for operation add.period$");
-        }
-        Object o1 = stack.pop();
-
-        if (!(o1 instanceof String)) {
-            throw new VMException("Can only add a period to a string for add.period$");
-        }
-
-        String s = (String) o1;
-        Matcher m = ADD_PERIOD_PATTERN.matcher(s);
-
-        if (m.find()) {
-            StringBuilder sb = new StringBuilder();
-            m.appendReplacement(sb, m.group(1));
-            sb.append('.');
-            String group2 = m.group(2);
-            if (group2 != null) {
-                sb.append(m.group(2));
-            }
-            stack.push(sb.toString());
-        } else {
-            stack.push(s);
-        }
-    }
-
-    private static CommonTree charStream2CommonTree(CharStream bst) throws RecognitionException {
+    static CommonTree charStream2CommonTree(CharStream bst) throws RecognitionException {
         BstLexer lex = new BstLexer(bst);
         CommonTokenStream tokens = new CommonTokenStream(lex);
         BstParser parser = new BstParser(tokens);
@@ -931,30 +654,7 @@ public class VM implements Warn {
         for (BstEntry e : entries) {
             for (Map.Entry<String, String> mEntry : e.fields.entrySet()) {
                 Field field = FieldFactory.parseField(mEntry.getKey());
-                String fieldValue = e.entry.getResolvedFieldOrAlias(field, bibDatabase)
-                                           .map(content -> {
-                                               try {
-                                                   String result = fieldWriter.write(field, content);
-                                                   if (result.startsWith("{")) {
-                                                       // Strip enclosing {} from the output
-                                                       return result.substring(1, result.length() - 1);
-                                                   }
-                                                   if (field == StandardField.MONTH) {
-                                                       // We don't have the internal BibTeX strings at hand.
-                                                       // We nevertheless want to have the full month name.
-                                                       // Thus, we lookup the full month name here.
-                                                       return Month.parse(result)
-                                                                   .map(month -> month.getFullName())
-                                                                   .orElse(result);
-                                                   }
-                                                   return result;
-                                               } catch (InvalidFieldValueException invalidFieldValueException) {
-                                                   // in case there is something wrong with the content, just return the content itself
-                                                   return content;
-                                               }
-                                           })
-                                           .orElse(null);
-                mEntry.setValue(fieldValue);
+                mEntry.setValue(readField(e.entry, field, bibDatabase, fieldWriter));
             }
         }
 
@@ -965,6 +665,37 @@ public class VM implements Warn {
         }
     }
 
+    /**
+     * Returns the value of the field in the form BibTeX reads it, i.e., with strings resolved and without enclosing braces.
+     *
+     * @return the value or null if the field is missing
+     */
+    static String readField(BibEntry entry, Field field, BibDatabase bibDatabase, FieldWriter fieldWriter) {
+        return entry.getResolvedFieldOrAlias(field, bibDatabase)
+                    .map(content -> {
+                        try {
+                            String result = fieldWriter.write(field, content);
+                            if (result.startsWith("{")) {
+                                // Strip enclosing {} from the output
+                                return result.substring(1, result.length() - 1);
+                            }
+                            if (field == StandardField.MONTH) {
+                                // We don't have the internal BibTeX strings at hand.
+                                // We nevertheless want to have the full month name.
+                                // Thus, we lookup the full month name here.
+                                return Month.parse(result)
+                                            .map(month -> month.getFullName())
+                                            .orElse(result);
+                            }
+                            return result;
+                        } catch (InvalidFieldValueException invalidFieldValueException) {
+                            // in case there is something wrong with the content, just return the content itself
+                            return content;
+                        }
+                    })
+                    .orElse(null);
+    }
+
     /**
      * Defines a string macro. It has two arguments; the first is the macro's name, which is treated like any other
      * variable or function name, and the second is its definition, which must be double-quote-delimited. You must have
@@ -1242,6 +973,10 @@ public class VM implements Warn {
         return functions;
     }
 
+    BstOperands getOperands() {
+        return operands;
+    }
+
     public Stack<Object> getStack() {
         return stack;
     }
@@ -1,7 +1,5 @@
 package org.jabref.logic.bst;
 
-import java.util.Stack;
-
 import org.jabref.logic.bst.VM.BstEntry;
 import org.jabref.logic.bst.VM.BstFunction;
 
@@ -25,19 +23,6 @@ public class WidthFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
-
-        if (stack.isEmpty()) {
-            throw new VMException("Not enough operands on stack for operation width$");
-        }
-        Object o1 = stack.pop();
-
-        if (!(o1 instanceof String)) {
-            vm.warn("A string is needed for change.case$");
-            stack.push(0);
-            return;
-        }
-
-        stack.push(BibtexWidth.width((String) o1));
+        BstBuiltIns.width(vm.getOperands(), vm);
     }
 }
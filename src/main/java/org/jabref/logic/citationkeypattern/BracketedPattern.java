@@ -216,30 +216,77 @@ public class BracketedPattern {
      * @return The expanded pattern. Not null.
      */
     public static String expandBrackets(String pattern, Function<String, String> bracketContentHandler) {
+        return parse(pattern).expand(bracketContentHandler);
+    }
+
+    /**
+     * Parses a pattern into its literal text and its bracketed expressions. The parsed pattern can be expanded for many
+     * entries without parsing the pattern again.
+     *
+     * @param pattern The pattern to parse
+     * @return The parsed pattern. Not null.
+     */
+    public static ParsedPattern parse(String pattern) {
         Objects.requireNonNull(pattern);
-        StringBuilder expandedPattern = new StringBuilder();
+        List<String> literals = new ArrayList<>();
+        List<String> brackets = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
         StringTokenizer parsedPattern = new StringTokenizer(pattern, "\\[]\"", true);
 
         while (parsedPattern.hasMoreTokens()) {
             String token = parsedPattern.nextToken();
             switch (token) {
-                case "\"" -> appendQuote(expandedPattern, parsedPattern);
+                case "\"" -> appendQuote(literal, parsedPattern);
                 case "[" -> {
-                    String fieldMarker = contentBetweenBrackets(parsedPattern, pattern);
-                    expandedPattern.append(bracketContentHandler.apply(fieldMarker));
+                    literals.add(literal.toString());
+                    literal = new StringBuilder();
+                    brackets.add(contentBetweenBrackets(parsedPattern, pattern));
                 }
                 case "\\" -> {
                     if (parsedPattern.hasMoreTokens()) {
-                        expandedPattern.append(parsedPattern.nextToken());
+                        literal.append(parsedPattern.nextToken());
                     } else {
                         LOGGER.warn("Found a \"\\\" that is not part of an escape sequence");
                     }
                 }
-                default -> expandedPattern.append(token);
+                default -> literal.append(token);
             }
         }
+        literals.add(literal.toString());
 
-        return expandedPattern.toString();
+        return new ParsedPattern(literals, brackets);
+    }
+
+    /**
+     * A pattern split into its literal text and the content of its bracketed expressions, see {@link #parse(String)}.
+     */
+    public static class ParsedPattern {
+        /**
+         * The text before each bracketed expression and the text after the last one
+         */
+        private final List<String> literals;
+        private final List<String> brackets;
+
+        private ParsedPattern(List<String> literals, List<String> brackets) {
+            this.literals = literals;
+            this.brackets = brackets;
+        }
+
+        /**
+         * Expands the pattern.
+         *
+         * @param bracketContentHandler A function taking the string representation of the content of a bracketed
+         *                              pattern and expanding it
+         * @return The expanded pattern. Not null.
+         */
+        public String expand(Function<String, String> bracketContentHandler) {
+            StringBuilder expandedPattern = new StringBuilder(literals.get(0));
+            for (int i = 0; i < brackets.size(); i++) {
+                expandedPattern.append(bracketContentHandler.apply(brackets.get(i)))
+                               .append(literals.get(i + 1));
+            }
+            return expandedPattern.toString();
+        }
     }
 
     /**
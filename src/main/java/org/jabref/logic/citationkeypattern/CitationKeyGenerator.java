@@ -1,12 +1,19 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
@@ -30,10 +37,21 @@ public class CitationKeyGenerator extends BracketedPattern {
     private static final Logger LOGGER = LoggerFactory.getLogger(CitationKeyGenerator.class);
     // Source of disallowed characters : https://tex.stackexchange.com/a/408548/9075
     private static final List<Character> DISALLOWED_CHARACTERS = Arrays.asList('{', '}', '(', ')', ',', '=', '\\', '"', '#', '%', '~', '\'');
+    /**
+     * Longest appendix considered when a key is freed, longer ones would overflow the appendix number
+     */
+    private static final int MAX_APPENDIX_LENGTH = 6;
     private final AbstractCitationKeyPattern citeKeyPattern;
     private final BibDatabase database;
     private final CitationKeyPatternPreferences citationKeyPatternPreferences;
     private final String unwantedCharacters;
+    /**
+     * The regex to replace in generated keys, null if there is none
+     */
+    private final Pattern keyPatternRegex;
+    // The patterns and their bracketed expressions are parsed only once, even when generating keys in parallel
+    private final Map<String, ParsedPattern> parsedPatterns = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> parsedBrackets = new ConcurrentHashMap<>();
 
     public CitationKeyGenerator(BibDatabaseContext bibDatabaseContext, CitationKeyPatternPreferences citationKeyPatternPreferences) {
         this(bibDatabaseContext.getMetaData().getCiteKeyPattern(citationKeyPatternPreferences.getKeyPattern()),
@@ -46,6 +64,19 @@ public class CitationKeyGenerator extends BracketedPattern {
         this.database = Objects.requireNonNull(database);
         this.citationKeyPatternPreferences = Objects.requireNonNull(citationKeyPatternPreferences);
         this.unwantedCharacters = citationKeyPatternPreferences.getUnwantedCharacters();
+        this.keyPatternRegex = compileKeyPatternRegex(citationKeyPatternPreferences.getKeyPatternRegex());
+    }
+
+    private static Pattern compileKeyPatternRegex(String regex) {
+        if ((regex == null) || regex.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            LOGGER.warn("There is a syntax error in the regular expression \"{}\" used to generate a citation key", regex, e);
+            return null;
+        }
     }
 
     @Deprecated
@@ -107,6 +138,20 @@ public class CitationKeyGenerator extends BracketedPattern {
         return removeUnwantedCharacters(key, unwantedCharacters).replaceAll("\\s", "");
     }
 
+    /**
+     * Computes the number of an appendix, i.e., the inverse of {@link #getAppendix(int)}.
+     *
+     * @param appendix an appendix consisting of the {@link #APPENDIX_CHARACTERS}
+     * @return the appendix number
+     */
+    private static int getAppendixNumber(String appendix) {
+        int number = -1;
+        for (int i = 0; i < appendix.length(); i++) {
+            number = ((number + 1) * APPENDIX_CHARACTERS.length()) + APPENDIX_CHARACTERS.indexOf(appendix.charAt(i));
+        }
+        return number;
+    }
+
     /**
      * Generate a citation key for the given {@link BibEntry}.
      *
@@ -117,20 +162,25 @@ public class CitationKeyGenerator extends BracketedPattern {
         Objects.requireNonNull(entry);
         String currentKey = entry.getCitationKey().orElse(null);
 
-        String newKey = createCitationKeyFromPattern(entry);
-        newKey = replaceWithRegex(newKey);
-        newKey = appendLettersToKey(newKey, currentKey);
+        String newKey = generateKeyWithoutLetters(entry);
+        newKey = appendLettersToKey(newKey, currentKey, new HashMap<>());
         return cleanKey(newKey, unwantedCharacters);
     }
 
+    private String generateKeyWithoutLetters(BibEntry entry) {
+        return replaceWithRegex(createCitationKeyFromPattern(entry));
+    }
+
     /**
      * A letter will be appended to the key based on the user's preferences, either always or to prevent duplicated keys.
      *
-     * @param key    the new key
-     * @param oldKey the old key
+     * @param key                 the new key
+     * @param oldKey              the old key
+     * @param firstFreeAppendices for each key, the appendix number up to which all appendices are known to be in use.
+     *                            Updated with the appendix appended to the key.
      * @return a key, if needed, with an appended letter
      */
-    private String appendLettersToKey(String key, String oldKey) {
+    private String appendLettersToKey(String key, String oldKey, Map<String, Integer> firstFreeAppendices) {
         long occurrences = database.getNumberOfCitationKeyOccurrences(key);
 
         if (Objects.equals(oldKey, key)) {
@@ -145,7 +195,7 @@ public class CitationKeyGenerator extends BracketedPattern {
             boolean firstLetterA = citationKeyPatternPreferences.getKeySuffix()
                     == CitationKeyPatternPreferences.KeySuffix.SECOND_WITH_A;
 
-            int number = !alwaysAddLetter && !firstLetterA ? 1 : 0;
+            int number = Math.max(!alwaysAddLetter && !firstLetterA ? 1 : 0, firstFreeAppendices.getOrDefault(key, 0));
             String moddedKey;
 
             do {
@@ -159,6 +209,7 @@ public class CitationKeyGenerator extends BracketedPattern {
                 }
             } while (occurrences > 0);
 
+            firstFreeAppendices.put(key, number - 1);
             key = moddedKey;
         }
         return key;
@@ -172,14 +223,8 @@ public class CitationKeyGenerator extends BracketedPattern {
      */
     private String replaceWithRegex(String key) {
         // Remove Regular Expressions while generating Keys
-        String regex = citationKeyPatternPreferences.getKeyPatternRegex();
-        if ((regex != null) && !regex.trim().isEmpty()) {
-            String replacement = citationKeyPatternPreferences.getKeyPatternReplacement();
-            try {
-                key = key.replaceAll(regex, replacement);
-            } catch (PatternSyntaxException e) {
-                LOGGER.warn("There is a syntax error in the regular expression \"{}\" used to generate a citation key", regex, e);
-            }
+        if (keyPatternRegex != null) {
+            key = keyPatternRegex.matcher(key).replaceAll(citationKeyPatternPreferences.getKeyPatternReplacement());
         }
         return key;
     }
@@ -192,7 +237,8 @@ public class CitationKeyGenerator extends BracketedPattern {
         if (citationKeyPattern.isEmpty()) {
             return "";
         }
-        return expandBrackets(citationKeyPattern.get(0), expandBracketContent(entry));
+        return parsedPatterns.computeIfAbsent(citationKeyPattern.get(0), BracketedPattern::parse)
+                             .expand(expandBracketContent(entry));
     }
 
     /**
@@ -206,7 +252,7 @@ public class CitationKeyGenerator extends BracketedPattern {
 
         return (String bracket) -> {
             String expandedPattern;
-            List<String> fieldParts = parseFieldAndModifiers(bracket);
+            List<String> fieldParts = parsedBrackets.computeIfAbsent(bracket, BracketedPattern::parseFieldAndModifiers);
 
             expandedPattern = removeUnwantedCharacters(getFieldValue(entry, fieldParts.get(0), keywordDelimiter, database), unwantedCharacters);
             // check whether there is a modifier on the end such as
@@ -229,4 +275,64 @@ public class CitationKeyGenerator extends BracketedPattern {
         String newKey = generateKey(entry);
         return entry.setCitationKey(newKey);
     }
+
+    /**
+     * Generates citation keys for the given entries, and sets the keys. The keys are the same as the ones set by
+     * {@link #generateAndSetKey(BibEntry)} for one entry after the other. However, the keys are expanded from the
+     * pattern in parallel, before any key is set. Afterwards, the letters making the keys unique are appended in the
+     * order of the entries, starting at the first appendix not known to be in use for the key.
+     *
+     * @param entries the entries to generate the keys for
+     * @return the changes to the keys, in the order of the entries
+     */
+    public List<FieldChange> generateAndSetKeys(List<BibEntry> entries) {
+        return generateAndSetKeys(entries, entriesDone -> {
+        });
+    }
+
+    /**
+     * Generates citation keys for the given entries, and sets the keys, see {@link #generateAndSetKeys(List)}.
+     *
+     * @param entries        the entries to generate the keys for
+     * @param progressReport informed about the number of entries done after the key of each entry has been set
+     * @return the changes to the keys, in the order of the entries
+     */
+    public List<FieldChange> generateAndSetKeys(List<BibEntry> entries, IntConsumer progressReport) {
+        List<String> keysWithoutLetters = entries.parallelStream()
+                                                 .map(this::generateKeyWithoutLetters)
+                                                 .collect(Collectors.toList());
+
+        List<FieldChange> changes = new ArrayList<>();
+        Map<String, Integer> firstFreeAppendices = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            String oldKey = entry.getCitationKey().orElse(null);
+            // The entry may keep its old key, or the old key becomes free for the following entries
+            freeAppendix(oldKey, firstFreeAppendices);
+
+            String newKey = appendLettersToKey(keysWithoutLetters.get(i), oldKey, firstFreeAppendices);
+            entry.setCitationKey(cleanKey(newKey, unwantedCharacters)).ifPresent(changes::add);
+            progressReport.accept(i + 1);
+        }
+        return changes;
+    }
+
+    /**
+     * Makes sure that the appendix of the key is not skipped any more when appending letters to the key without it.
+     * As it is not known which part of the key is the appendix, all possible appendices are considered.
+     */
+    private static void freeAppendix(String key, Map<String, Integer> firstFreeAppendices) {
+        if (key == null) {
+            return;
+        }
+        int minStart = Math.max(1, key.length() - MAX_APPENDIX_LENGTH);
+        for (int start = key.length() - 1; (start >= minStart) && (APPENDIX_CHARACTERS.indexOf(key.charAt(start)) >= 0); start--) {
+            String keyWithoutAppendix = key.substring(0, start);
+            Integer firstFreeAppendix = firstFreeAppendices.get(keyWithoutAppendix);
+            int appendixNumber = getAppendixNumber(key.substring(start));
+            if ((firstFreeAppendix != null) && (appendixNumber < firstFreeAppendix)) {
+                firstFreeAppendices.put(keyWithoutAppendix, appendixNumber);
+            }
+        }
+    }
 }
@@ -0,0 +1,280 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.Author;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+/**
+ * Candidate generation for duplicate detection.
+ * <p>
+ * Comparing every pair of entries with {@link DuplicateCheck} is quadratic in the size of the library. This class
+ * groups the entries into blocks by cheap blocking keys and only pairs sharing at least one block are reported as
+ * candidates. The blocking keys are
+ * <ul>
+ *     <li>the normalized DOI, the ISBN and the other identifier fields (see {@link FieldFactory#getIdentifierFieldNames()}),</li>
+ *     <li>the surname of the first author (or editor) together with the year,</li>
+ *     <li>MinHash band signatures of the character trigrams of the normalized title, so that titles differing by a
+ *     few characters still end up in a common block with high probability.</li>
+ * </ul>
+ * Entries without any blocking key are put in a common block, so that they are still compared with each other.
+ * <p>
+ * Blocks larger than the maximal block size (e.g., all entries of a prolific author without a year) are skipped, as
+ * they would make the candidate generation quadratic again. The entries of such a block are still paired through the
+ * title bands, which are never skipped.
+ */
+public class DuplicateCandidateFinder {
+
+    private static final int DEFAULT_BANDS = 8;
+    private static final int DEFAULT_ROWS_PER_BAND = 2;
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int DEFAULT_MAX_BLOCK_SIZE = 200;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String NO_KEY_BLOCK = "none";
+    private static final String TITLE_KEY_PREFIX = "title:";
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final int maxBlockSize;
+    private final int[] seeds;
+
+    public DuplicateCandidateFinder() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS_PER_BAND);
+    }
+
+    /**
+     * More bands increase the recall of the title blocking, more rows per band increase its precision.
+     *
+     * @param bands       the number of MinHash bands used for the title blocking key
+     * @param rowsPerBand the number of MinHash values combined into one band
+     */
+    public DuplicateCandidateFinder(int bands, int rowsPerBand) {
+        this(bands, rowsPerBand, DEFAULT_MAX_BLOCK_SIZE);
+    }
+
+    /**
+     * @param maxBlockSize the maximal number of entries of a block which is not a title band
+     */
+    DuplicateCandidateFinder(int bands, int rowsPerBand, int maxBlockSize) {
+        if ((bands < 1) || (rowsPerBand < 1) || (maxBlockSize < 2)) {
+            throw new IllegalArgumentException("bands and rows per band have to be positive and blocks have to hold at least two entries");
+        }
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.maxBlockSize = maxBlockSize;
+
+        // fixed seed so that the blocking is deterministic across runs
+        Random random = new Random(0x5EED);
+        this.seeds = new int[bands * rowsPerBand];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextInt();
+        }
+    }
+
+    public DuplicateCandidates findCandidates(List<BibEntry> entries) {
+        Map<String, List<Integer>> blocks = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Set<String> keys = getBlockingKeys(entries.get(i));
+            if (keys.isEmpty()) {
+                keys = Set.of(NO_KEY_BLOCK);
+            }
+            for (String key : keys) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        LongHashSet pairs = new LongHashSet();
+        int blockCount = 0;
+        for (Map.Entry<String, List<Integer>> keyAndBlock : blocks.entrySet()) {
+            List<Integer> block = keyAndBlock.getValue();
+            if ((block.size() < 2) || ((block.size() > maxBlockSize) && !keyAndBlock.getKey().startsWith(TITLE_KEY_PREFIX))) {
+                continue;
+            }
+            blockCount++;
+            for (int i = 0; i < (block.size() - 1); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    pairs.add(DuplicateCandidates.encode(block.get(i), block.get(j)));
+                }
+            }
+        }
+
+        return new DuplicateCandidates(entries, pairs.toArray(), blockCount);
+    }
+
+    /**
+     * Estimates the recall of the blocking, i.e., the fraction of the pairs detected by a full comparison which are
+     * also contained in the candidates. To keep this affordable, only a random sample of the entries is compared against
+     * all other entries.
+     *
+     * @param sampleSize the number of entries which are compared against the whole library
+     * @return the estimated recall, empty if the sample did not contain any duplicates
+     */
+    public OptionalDouble estimateRecall(DuplicateCandidates candidates, DuplicateCheck duplicateCheck,
+                                         BibDatabaseMode databaseMode, int sampleSize, Random random) {
+        List<BibEntry> entries = candidates.getEntries();
+        List<Integer> indices = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            indices.add(i);
+        }
+        Collections.shuffle(indices, random);
+
+        int duplicates = 0;
+        int found = 0;
+        for (int sampled : indices.subList(0, Math.min(sampleSize, indices.size()))) {
+            for (int other = 0; other < entries.size(); other++) {
+                if ((other != sampled) && duplicateCheck.isDuplicate(entries.get(sampled), entries.get(other), databaseMode)) {
+                    duplicates++;
+                    if (candidates.contains(sampled, other)) {
+                        found++;
+                    }
+                }
+            }
+        }
+
+        if (duplicates == 0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of((double) found / duplicates);
+    }
+
+    Set<String> getBlockingKeys(BibEntry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+
+        entry.getDOI().ifPresent(doi -> keys.add("doi:" + doi.getDOI().toLowerCase(Locale.ROOT)));
+        entry.getISBN().ifPresent(isbn -> keys.add("isbn:" + isbn.getNormalized().toLowerCase(Locale.ROOT)));
+        for (Field field : FieldFactory.getIdentifierFieldNames()) {
+            entry.getField(field).ifPresent(value -> keys.add(field.getName() + ":" + value));
+        }
+
+        getFirstAuthorSurname(entry).ifPresent(surname ->
+                keys.add("author:" + surname + ":" + entry.getFieldOrAlias(StandardField.YEAR).map(String::trim).orElse("")));
+
+        entry.getLatexFreeField(StandardField.TITLE)
+             .map(DuplicateCandidateFinder::normalize)
+             .filter(title -> !title.isEmpty())
+             .ifPresent(title -> addTitleKeys(title, keys));
+
+        return keys;
+    }
+
+    private Optional<String> getFirstAuthorSurname(BibEntry entry) {
+        Optional<String> persons = entry.getField(StandardField.AUTHOR).or(() -> entry.getField(StandardField.EDITOR));
+        return persons.map(AuthorList::parse)
+                      .filter(authors -> !authors.isEmpty())
+                      .map(authors -> authors.getAuthor(0).latexFree())
+                      .flatMap(Author::getLast)
+                      .map(DuplicateCandidateFinder::normalize)
+                      .filter(surname -> !surname.isEmpty());
+    }
+
+    private void addTitleKeys(String title, Set<String> keys) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int shingles = Math.max(1, (title.length() - SHINGLE_LENGTH) + 1);
+        for (int start = 0; start < shingles; start++) {
+            int shingleHash = title.substring(start, Math.min(title.length(), start + SHINGLE_LENGTH)).hashCode();
+            for (int i = 0; i < seeds.length; i++) {
+                signature[i] = Math.min(signature[i], mix(shingleHash ^ seeds[i]));
+            }
+        }
+
+        for (int band = 0; band < bands; band++) {
+            int bandHash = band;
+            for (int row = 0; row < rowsPerBand; row++) {
+                bandHash = (31 * bandHash) + signature[(band * rowsPerBand) + row];
+            }
+            keys.add(TITLE_KEY_PREFIX + band + ":" + bandHash);
+        }
+    }
+
+    /**
+     * Finalization step of MurmurHash3, used to derive independent hash functions from the seeds.
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static String normalize(String value) {
+        return NON_ALPHANUMERIC.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * A set of pairs using open addressing, which avoids boxing every pair as a {@link Long}. Pairs are never negative,
+     * hence -1 marks a free slot.
+     */
+    private static class LongHashSet {
+        private static final long FREE = -1;
+
+        private long[] slots = newSlots(64);
+        private int size;
+
+        void add(long value) {
+            if ((2 * (size + 1)) > slots.length) {
+                long[] oldSlots = slots;
+                slots = newSlots(2 * oldSlots.length);
+                size = 0;
+                for (long oldValue : oldSlots) {
+                    if (oldValue != FREE) {
+                        insert(oldValue);
+                    }
+                }
+            }
+            insert(value);
+        }
+
+        long[] toArray() {
+            long[] values = new long[size];
+            int i = 0;
+            for (long value : slots) {
+                if (value != FREE) {
+                    values[i++] = value;
+                }
+            }
+            return values;
+        }
+
+        private void insert(long value) {
+            int mask = slots.length - 1;
+            int slot = mix(Long.hashCode(value)) & mask;
+            while (slots[slot] != FREE) {
+                if (slots[slot] == value) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = value;
+            size++;
+        }
+
+        private static long[] newSlots(int capacity) {
+            long[] slots = new long[capacity];
+            Arrays.fill(slots, FREE);
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.jabref.logic.database;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import org.jabref.model.entry.BibEntry;
+
+/**
+ * The pairs of entries that share at least one blocking key, as computed by {@link DuplicateCandidateFinder}.
+ * Only these pairs need to be passed to {@link DuplicateCheck#isDuplicate}.
+ * <p>
+ * Pairs are stored as indices into the list of entries the candidates were computed for. Each pair is encoded as a
+ * single <code>long</code> (lower index in the upper 32 bits), so the pairs are sorted in the same order a nested loop
+ * over the entries would visit them.
+ */
+public class DuplicateCandidates {
+
+    private final List<BibEntry> entries;
+    private final long[] pairs;
+    private final int blockCount;
+
+    DuplicateCandidates(List<BibEntry> entries, long[] pairs, int blockCount) {
+        this.entries = Objects.requireNonNull(entries);
+        this.pairs = Objects.requireNonNull(pairs);
+        this.blockCount = blockCount;
+        Arrays.sort(this.pairs);
+    }
+
+    static long encode(int first, int second) {
+        int lower = Math.min(first, second);
+        int higher = Math.max(first, second);
+        return ((long) lower << 32) | higher;
+    }
+
+    static int decodeFirst(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    static int decodeSecond(long pair) {
+        return (int) pair;
+    }
+
+    public List<BibEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the number of candidate pairs
+     */
+    public int size() {
+        return pairs.length;
+    }
+
+    public BibEntry getFirst(int pairIndex) {
+        return entries.get(decodeFirst(pairs[pairIndex]));
+    }
+
+    public BibEntry getSecond(int pairIndex) {
+        return entries.get(decodeSecond(pairs[pairIndex]));
+    }
+
+    /**
+     * Checks whether the entries at the given positions of {@link #getEntries()} form a candidate pair.
+     */
+    public boolean contains(int first, int second) {
+        return (first != second) && (Arrays.binarySearch(pairs, encode(first, second)) >= 0);
+    }
+
+    public void forEach(BiConsumer<BibEntry, BibEntry> consumer) {
+        for (long pair : pairs) {
+            consumer.accept(entries.get(decodeFirst(pair)), entries.get(decodeSecond(pair)));
+        }
+    }
+
+    /**
+     * @return the number of blocks which contained more than one entry
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * @return the number of pairs a full pairwise comparison of all entries would need
+     */
+    public long getTotalPairCount() {
+        long n = entries.size();
+        return (n * (n - 1)) / 2;
+    }
+
+    /**
+     * @return the fraction of all pairs which are not compared, a value in the interval [0, 1]
+     */
+    public double getReductionRatio() {
+        long total = getTotalPairCount();
+        if (total == 0) {
+            return 0;
+        }
+        return 1 - ((double) pairs.length / total);
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateCandidates{" +
+                "entries=" + entries.size() +
+                ", candidatePairs=" + pairs.length +
+                ", totalPairs=" + getTotalPairCount() +
+                ", blocks=" + blockCount +
+                ", reductionRatio=" + getReductionRatio() +
+                '}';
+    }
+}
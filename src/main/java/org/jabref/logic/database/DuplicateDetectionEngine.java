@@ -0,0 +1,177 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds duplicate entries of a library without any dependency on the GUI.
+ * <p>
+ * The candidate pairs computed by {@link DuplicateCandidateFinder} are split into chunks which are checked in parallel
+ * on a {@link ForkJoinPool}. {@link DuplicateCheck} does not keep any state besides the entry types, so all workers share
+ * one instance. A running search can be cancelled with {@link #cancel()} or by interrupting the calling thread.
+ * <p>
+ * Cancelling is final: a search started after {@link #cancel()}, e.g., because the background task started late, does
+ * not check any pair. Hence, an engine should be created for each search.
+ */
+public class DuplicateDetectionEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DuplicateDetectionEngine.class);
+
+    /**
+     * Number of candidate pairs checked by one task without splitting it further
+     */
+    private static final int CHUNK_SIZE = 512;
+
+    private final DuplicateCheck duplicateCheck;
+    private final DuplicateCandidateFinder candidateFinder;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    public DuplicateDetectionEngine(BibEntryTypesManager entryTypesManager) {
+        this(new DuplicateCheck(entryTypesManager), new DuplicateCandidateFinder(), ForkJoinPool.commonPool());
+    }
+
+    public DuplicateDetectionEngine(DuplicateCheck duplicateCheck, DuplicateCandidateFinder candidateFinder, ForkJoinPool pool) {
+        this.duplicateCheck = Objects.requireNonNull(duplicateCheck);
+        this.candidateFinder = Objects.requireNonNull(candidateFinder);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Searches for duplicates and passes every confirmed pair to the given consumer as soon as it is found. The
+     * consumer is called from the worker threads, so it has to be thread-safe (e.g., {@link java.util.concurrent.BlockingQueue#add}).
+     * The order in which the pairs are reported is not deterministic.
+     *
+     * @param onDuplicate receives the duplicate pairs as two-element lists
+     * @param onProgress  receives the number of checked candidate pairs and the total number of candidate pairs
+     * @return the number of duplicate pairs found
+     */
+    public int streamDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode,
+                                Consumer<List<BibEntry>> onDuplicate, BiConsumer<Long, Long> onProgress) {
+        DuplicateCandidates candidates = candidateFinder.findCandidates(entries);
+        LOGGER.debug("Duplicate detection candidates: {}", candidates);
+
+        AtomicLong found = new AtomicLong();
+        run(candidates, databaseMode, pairIndex -> {
+            found.incrementAndGet();
+            onDuplicate.accept(Arrays.asList(candidates.getFirst(pairIndex), candidates.getSecond(pairIndex)));
+        }, onProgress);
+        return (int) found.get();
+    }
+
+    /**
+     * Searches for duplicates and returns all pairs found. In contrast to {@link #streamDuplicates}, the result is
+     * deterministic: pairs are ordered by the position of their entries in the given list.
+     */
+    public List<List<BibEntry>> findDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
+        DuplicateCandidates candidates = candidateFinder.findCandidates(entries);
+        LOGGER.debug("Duplicate detection candidates: {}", candidates);
+
+        BitSet duplicatePairs = new BitSet(candidates.size());
+        run(candidates, databaseMode, pairIndex -> {
+            synchronized (duplicatePairs) {
+                duplicatePairs.set(pairIndex);
+            }
+        }, (done, total) -> {
+        });
+
+        List<List<BibEntry>> result = new ArrayList<>(duplicatePairs.cardinality());
+        duplicatePairs.stream().forEach(pairIndex -> result.add(Arrays.asList(candidates.getFirst(pairIndex), candidates.getSecond(pairIndex))));
+        return result;
+    }
+
+    /**
+     * Stops a running search and all searches started later. Pairs which are currently checked are still reported.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private void run(DuplicateCandidates candidates, BibDatabaseMode databaseMode, IntConsumer onDuplicate, BiConsumer<Long, Long> onProgress) {
+        if (cancelled.get()) {
+            return;
+        }
+        if (candidates.size() == 0) {
+            onProgress.accept(0L, 0L);
+            return;
+        }
+
+        ComparisonTask task = new ComparisonTask(candidates, 0, candidates.size(), databaseMode, onDuplicate, onProgress, new AtomicLong());
+        try {
+            pool.submit(task).get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Duplicate detection failed", e.getCause());
+        }
+    }
+
+    private class ComparisonTask extends RecursiveAction {
+
+        private final DuplicateCandidates candidates;
+        private final int from;
+        private final int to;
+        private final BibDatabaseMode databaseMode;
+        private final IntConsumer onDuplicate;
+        private final BiConsumer<Long, Long> onProgress;
+        private final AtomicLong checked;
+
+        ComparisonTask(DuplicateCandidates candidates, int from, int to, BibDatabaseMode databaseMode,
+                       IntConsumer onDuplicate, BiConsumer<Long, Long> onProgress, AtomicLong checked) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.databaseMode = databaseMode;
+            this.onDuplicate = onDuplicate;
+            this.onProgress = onProgress;
+            this.checked = checked;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+
+            if ((to - from) > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ComparisonTask(candidates, from, middle, databaseMode, onDuplicate, onProgress, checked),
+                        new ComparisonTask(candidates, middle, to, databaseMode, onDuplicate, onProgress, checked));
+                return;
+            }
+
+            for (int pairIndex = from; pairIndex < to; pairIndex++) {
+                if (cancelled.get()) {
+                    return;
+                }
+                if (duplicateCheck.isDuplicate(candidates.getFirst(pairIndex), candidates.getSecond(pairIndex), databaseMode)) {
+                    onDuplicate.accept(pairIndex);
+                }
+            }
+            onProgress.accept(checked.addAndGet(to - from), (long) candidates.size());
+        }
+    }
+}
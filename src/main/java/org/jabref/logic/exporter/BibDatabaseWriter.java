@@ -319,15 +319,10 @@ public abstract class BibDatabaseWriter {
      * Generate keys for all entries that are lacking keys.
      */
     protected List<FieldChange> generateCitationKeys(BibDatabaseContext databaseContext, List<BibEntry> entries) {
-        List<FieldChange> changes = new ArrayList<>();
         CitationKeyGenerator keyGenerator = new CitationKeyGenerator(databaseContext, preferences.getCitationKeyPatternPreferences());
-        for (BibEntry bes : entries) {
-            Optional<String> oldKey = bes.getCitationKey();
-            if (StringUtil.isBlank(oldKey)) {
-                Optional<FieldChange> change = keyGenerator.generateAndSetKey(bes);
-                change.ifPresent(changes::add);
-            }
-        }
-        return changes;
+        List<BibEntry> entriesWithoutKey = entries.stream()
+                                                  .filter(entry -> StringUtil.isBlank(entry.getCitationKey()))
+                                                  .collect(Collectors.toList());
+        return keyGenerator.generateAndSetKeys(entriesWithoutKey);
     }
 }
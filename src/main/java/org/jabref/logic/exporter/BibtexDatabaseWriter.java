@@ -1,6 +1,7 @@
 package org.jabref.logic.exporter;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Map;
@@ -26,8 +27,21 @@ public class BibtexDatabaseWriter extends BibDatabaseWriter {
     private static final String COMMENT_PREFIX = "@Comment";
     private static final String PREAMBLE_PREFIX = "@Preamble";
 
+    private final boolean storeSerializations;
+    private BibEntryWriter entryWriter;
+
     public BibtexDatabaseWriter(Writer writer, SavePreferences preferences, BibEntryTypesManager entryTypesManager) {
+        this(writer, preferences, entryTypesManager, false);
+    }
+
+    /**
+     * @param storeSerializations whether the serialization of a written entry is stored in the entry. Only the writer
+     *                            saving the library to its own file should do this, since the stored serialization is
+     *                            written back on the next save instead of serializing the entry again.
+     */
+    public BibtexDatabaseWriter(Writer writer, SavePreferences preferences, BibEntryTypesManager entryTypesManager, boolean storeSerializations) {
         super(writer, preferences, entryTypesManager);
+        this.storeSerializations = storeSerializations;
     }
 
     @Override
@@ -127,9 +141,32 @@ public class BibtexDatabaseWriter extends BibDatabaseWriter {
                 OS.NEWLINE);
     }
 
+    /**
+     * Writes the entry. Only entries which changed since they were read or last saved are serialized; for all others,
+     * the serialization stored in the entry is written as it is. If this writer stores serializations, the
+     * serialization of a written entry is stored in the entry, so that the next save of the library only needs to
+     * serialize the entries edited in the meantime.
+     */
     @Override
     protected void writeEntry(BibEntry entry, BibDatabaseMode mode) throws IOException {
-        BibEntryWriter bibtexEntryWriter = new BibEntryWriter(new FieldWriter(preferences.getFieldWriterPreferences()), entryTypesManager);
-        bibtexEntryWriter.write(entry, writer, mode, preferences.shouldReformatFile());
+        if (!preferences.shouldReformatFile() && !entry.hasChanged()) {
+            writer.write(entry.getParsedSerialization());
+            return;
+        }
+
+        if (entryWriter == null) {
+            entryWriter = new BibEntryWriter(new FieldWriter(preferences.getFieldWriterPreferences()), entryTypesManager);
+        }
+
+        // The entry may be edited while it is saved. In that case, the serialization is outdated and is not stored.
+        long modificationCount = entry.getModificationCount();
+
+        StringWriter serialization = new StringWriter();
+        entryWriter.write(entry, serialization, mode, true);
+        writer.write(serialization.toString());
+
+        if (storeSerializations) {
+            entry.setParsedSerialization(serialization.toString(), modificationCount);
+        }
     }
 }
@@ -0,0 +1,168 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.groups.AbstractGroup;
+import org.jabref.model.groups.AutomaticGroup;
+import org.jabref.model.groups.GroupTreeNode;
+
+/**
+ * The subgroups of an {@link AutomaticGroup} derived from the entries of a library, e.g., one group per keyword.
+ * <p>
+ * Each subgroup is identified by its path of groups from the automatic group, e.g., "A" and "A &gt; B" for the
+ * hierarchical keyword "A &gt; B". For each path, the index counts how often the entries refer to it. A subgroup node is
+ * created when its path is referred to for the first time and removed when the last reference is gone. Hence, when an
+ * entry changes, only its own subgroups are updated and all other subgroup nodes stay as they are.
+ * <p>
+ * The automatic group is passed to each update instead of being kept, since {@link GroupMatchIndex} keeps the index as
+ * value of a map with weak keys. The list of subgroups and the nodes are shown in the user interface, hence they are
+ * only modified by the given executor, e.g., on the JavaFX thread.
+ */
+public class AutomaticSubgroupIndex {
+
+    private final Subgroup root = new Subgroup(null);
+    private final ObservableList<GroupTreeNode> subgroups = FXCollections.observableArrayList();
+    private final Map<BibEntry, Set<List<AbstractGroup>>> pathsOfEntries = new IdentityHashMap<>();
+    private final Executor nodeUpdater;
+
+    /**
+     * @param nodeUpdater runs the modifications of the subgroup list and nodes in the order they are passed
+     */
+    public AutomaticSubgroupIndex(AutomaticGroup group, Collection<BibEntry> entries, Executor nodeUpdater) {
+        this.nodeUpdater = Objects.requireNonNull(nodeUpdater);
+        addEntries(group, entries);
+    }
+
+    /**
+     * Returns the subgroups of the automatic group. The list and the children of its nodes are updated whenever the
+     * entries change.
+     */
+    public ObservableList<GroupTreeNode> getSubgroups() {
+        return subgroups;
+    }
+
+    public synchronized void addEntries(AutomaticGroup group, Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            Set<List<AbstractGroup>> paths = getPaths(group, entry);
+            pathsOfEntries.put(entry, paths);
+            paths.forEach(this::addReference);
+        }
+    }
+
+    public synchronized void removeEntries(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            Optional.ofNullable(pathsOfEntries.remove(entry))
+                    .ifPresent(paths -> paths.forEach(this::removeReference));
+        }
+    }
+
+    public synchronized void updateEntry(AutomaticGroup group, BibEntry entry) {
+        Set<List<AbstractGroup>> oldPaths = pathsOfEntries.get(entry);
+        if (oldPaths == null) {
+            // not part of the library
+            return;
+        }
+        Set<List<AbstractGroup>> newPaths = getPaths(group, entry);
+        if (newPaths.equals(oldPaths)) {
+            return;
+        }
+
+        pathsOfEntries.put(entry, newPaths);
+        // Adding first keeps the nodes of subgroups which are still referenced by the new paths, e.g., "A" when "A > B" becomes "A"
+        for (List<AbstractGroup> path : newPaths) {
+            if (!oldPaths.contains(path)) {
+                addReference(path);
+            }
+        }
+        for (List<AbstractGroup> path : oldPaths) {
+            if (!newPaths.contains(path)) {
+                removeReference(path);
+            }
+        }
+    }
+
+    /**
+     * Returns the paths of the subgroups the entry belongs to. Each subgroup created by the automatic group is a chain
+     * of nodes, e.g., "A" with the child "A &gt; B".
+     */
+    private Set<List<AbstractGroup>> getPaths(AutomaticGroup group, BibEntry entry) {
+        Set<List<AbstractGroup>> paths = new HashSet<>();
+        for (GroupTreeNode subgroup : group.createSubgroups(entry)) {
+            List<AbstractGroup> path = new ArrayList<>();
+            Optional<GroupTreeNode> node = Optional.of(subgroup);
+            while (node.isPresent()) {
+                path.add(node.get().getGroup());
+                node = node.get().getFirstChild();
+            }
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private void addReference(List<AbstractGroup> path) {
+        Subgroup parent = root;
+        for (AbstractGroup subgroupOnPath : path) {
+            Subgroup subgroup = parent.children.get(subgroupOnPath);
+            if (subgroup == null) {
+                subgroup = new Subgroup(new GroupTreeNode(subgroupOnPath));
+                parent.children.put(subgroupOnPath, subgroup);
+                GroupTreeNode node = subgroup.node;
+                if (parent == root) {
+                    nodeUpdater.execute(() -> subgroups.add(node));
+                } else {
+                    GroupTreeNode parentNode = parent.node;
+                    nodeUpdater.execute(() -> parentNode.addChild(node));
+                }
+            }
+            subgroup.references++;
+            parent = subgroup;
+        }
+    }
+
+    private void removeReference(List<AbstractGroup> path) {
+        Subgroup parent = root;
+        for (AbstractGroup subgroupOnPath : path) {
+            Subgroup subgroup = parent.children.get(subgroupOnPath);
+            if (subgroup == null) {
+                return;
+            }
+            subgroup.references--;
+            if (subgroup.references == 0) {
+                // the descendants are not referenced any more either
+                parent.children.remove(subgroupOnPath);
+                GroupTreeNode node = subgroup.node;
+                if (parent == root) {
+                    nodeUpdater.execute(() -> subgroups.remove(node));
+                } else {
+                    nodeUpdater.execute(node::removeFromParent);
+                }
+                return;
+            }
+            parent = subgroup;
+        }
+    }
+
+    private static class Subgroup {
+        private final GroupTreeNode node;
+        private final Map<AbstractGroup, Subgroup> children = new HashMap<>();
+        private int references;
+
+        Subgroup(GroupTreeNode node) {
+            this.node = node;
+        }
+    }
+}
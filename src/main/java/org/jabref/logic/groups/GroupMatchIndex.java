@@ -0,0 +1,289 @@
+package org.jabref.logic.groups;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.groups.AutomaticGroup;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.search.SearchMatcher;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps track of the entries matched by each group of a group tree, e.g., to show the number of hits of every group.
+ * In contrast to {@link GroupMembershipIndex}, which combines the selected groups, each group is tracked on its own.
+ * <p>
+ * The matches of a group are determined for all entries when the group is tracked. This evaluation does not hold the
+ * lock of the index, so that changes of the library are not blocked meanwhile; entries changed during the evaluation
+ * are evaluated again afterwards. Afterwards, only the entries which are added, removed or changed are evaluated again,
+ * and the matches and the number of hits of the groups are updated accordingly. The matches are kept as long as the group node is in use and its matcher does not change, so that
+ * rebuilding the view of the group tree does not evaluate all groups again.
+ * <p>
+ * The index also keeps the subgroups of {@link AutomaticGroup}s up to date, see {@link AutomaticSubgroupIndex}.
+ */
+public class GroupMatchIndex {
+
+    private final BibDatabase database;
+    private final Executor nodeUpdater;
+    /**
+     * Weak keys are compared by identity, hence group nodes with equal groups are tracked separately
+     */
+    private final Map<GroupTreeNode, TrackedGroup> trackedGroups = new MapMaker().weakKeys().makeMap();
+    private final Map<AutomaticGroup, AutomaticSubgroupIndex> automaticSubgroups = new MapMaker().weakKeys().makeMap();
+    /**
+     * The evaluations of groups for all entries which are currently running
+     */
+    private final List<Evaluation> evaluations = new ArrayList<>();
+
+    public GroupMatchIndex(BibDatabase database) {
+        this(database, Runnable::run);
+    }
+
+    /**
+     * @param nodeUpdater runs the modifications of the subgroups of automatic groups, e.g., on the JavaFX thread if they
+     *                    are shown in the user interface
+     */
+    public GroupMatchIndex(BibDatabase database, Executor nodeUpdater) {
+        this.database = Objects.requireNonNull(database);
+        this.nodeUpdater = Objects.requireNonNull(nodeUpdater);
+        database.registerListener(this);
+    }
+
+    /**
+     * Starts tracking the matches of the group. The group is evaluated for all entries, unless it is tracked already and
+     * its matcher did not change since.
+     *
+     * @param hitsListener informed about the new number of hits whenever it changes, possibly from another thread. The
+     *                     listener is only referenced weakly, hence the caller has to keep a reference to it.
+     */
+    public void track(GroupTreeNode group, IntConsumer hitsListener) {
+        SearchMatcher matcher = group.getSearchMatcher();
+        synchronized (this) {
+            TrackedGroup trackedGroup = trackedGroups.get(group);
+            if ((trackedGroup != null) && trackedGroup.matcher.equals(matcher)) {
+                trackedGroup.hitsListeners.add(new WeakReference<>(hitsListener));
+                return;
+            }
+        }
+
+        Evaluation evaluation = evaluate(matcher);
+        synchronized (this) {
+            Set<BibEntry> matches = evaluation.complete();
+            TrackedGroup trackedGroup = trackedGroups.get(group);
+            // the group may have been tracked by another thread meanwhile
+            if ((trackedGroup == null) || !trackedGroup.matcher.equals(matcher)) {
+                trackedGroup = new TrackedGroup(matcher, matches);
+                trackedGroups.put(group, trackedGroup);
+            }
+            trackedGroup.hitsListeners.add(new WeakReference<>(hitsListener));
+        }
+    }
+
+    /**
+     * Evaluates the group for all entries again, e.g., because the entries referenced by a {@link
+     * org.jabref.model.groups.TexGroup} changed.
+     */
+    public void refresh(GroupTreeNode group) {
+        synchronized (this) {
+            if (!trackedGroups.containsKey(group)) {
+                return;
+            }
+        }
+
+        SearchMatcher matcher = group.getSearchMatcher();
+        Evaluation evaluation = evaluate(matcher);
+        synchronized (this) {
+            Set<BibEntry> matches = evaluation.complete();
+            TrackedGroup trackedGroup = trackedGroups.get(group);
+            if (trackedGroup != null) {
+                int oldHits = trackedGroup.getHits();
+                trackedGroup.matcher = matcher;
+                trackedGroup.matches = matches;
+                trackedGroup.notifyIfChanged(oldHits);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries matched by the group, 0 if the group is not tracked.
+     */
+    public synchronized int getHits(GroupTreeNode group) {
+        TrackedGroup trackedGroup = trackedGroups.get(group);
+        return (trackedGroup == null) ? 0 : trackedGroup.getHits();
+    }
+
+    /**
+     * Returns the subgroups of the automatic group, which are derived from the entries when they are requested first.
+     */
+    public synchronized AutomaticSubgroupIndex getAutomaticSubgroups(AutomaticGroup group) {
+        return automaticSubgroups.computeIfAbsent(group, key -> new AutomaticSubgroupIndex(key, copyEntries(), nodeUpdater));
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        automaticSubgroups.forEach((group, subgroups) -> subgroups.addEntries(group, event.getBibEntries()));
+        updateEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        automaticSubgroups.values().forEach(subgroups -> subgroups.removeEntries(event.getBibEntries()));
+        evaluations.forEach(evaluation -> evaluation.removed(event.getBibEntries()));
+        for (TrackedGroup trackedGroup : trackedGroups.values()) {
+            int oldHits = trackedGroup.getHits();
+            event.getBibEntries().forEach(trackedGroup.matches::remove);
+            trackedGroup.notifyIfChanged(oldHits);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        automaticSubgroups.forEach((group, subgroups) -> subgroups.updateEntry(group, event.getBibEntry()));
+        updateEntries(List.of(event.getBibEntry()));
+    }
+
+    public void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    /**
+     * Evaluates the matcher for all entries. Must be called without holding the lock of the index; the result has to be
+     * completed while holding it.
+     */
+    private Evaluation evaluate(SearchMatcher matcher) {
+        Evaluation evaluation = new Evaluation(matcher);
+        synchronized (this) {
+            // registered before copying the entries, so that no change is missed
+            evaluations.add(evaluation);
+        }
+
+        try {
+            for (BibEntry entry : copyEntries()) {
+                if (matcher.isMatch(entry)) {
+                    evaluation.matches.add(entry);
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                evaluations.remove(evaluation);
+            }
+            throw e;
+        }
+        return evaluation;
+    }
+
+    private List<BibEntry> copyEntries() {
+        List<BibEntry> entries = database.getEntries();
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    private void updateEntries(Collection<BibEntry> entries) {
+        evaluations.forEach(evaluation -> evaluation.changed(entries));
+        for (TrackedGroup trackedGroup : trackedGroups.values()) {
+            int oldHits = trackedGroup.getHits();
+            for (BibEntry entry : entries) {
+                trackedGroup.update(entry);
+            }
+            trackedGroup.notifyIfChanged(oldHits);
+        }
+    }
+
+    private static class TrackedGroup {
+        private SearchMatcher matcher;
+        private Set<BibEntry> matches;
+        private final List<WeakReference<IntConsumer>> hitsListeners = new ArrayList<>();
+
+        TrackedGroup(SearchMatcher matcher, Set<BibEntry> matches) {
+            this.matcher = matcher;
+            this.matches = matches;
+        }
+
+        int getHits() {
+            return matches.size();
+        }
+
+        void update(BibEntry entry) {
+            if (matcher.isMatch(entry)) {
+                matches.add(entry);
+            } else {
+                matches.remove(entry);
+            }
+        }
+
+        void notifyIfChanged(int oldHits) {
+            int hits = getHits();
+            if (hits == oldHits) {
+                return;
+            }
+            hitsListeners.removeIf(reference -> reference.get() == null);
+            for (WeakReference<IntConsumer> reference : hitsListeners) {
+                IntConsumer hitsListener = reference.get();
+                if (hitsListener != null) {
+                    hitsListener.accept(hits);
+                }
+            }
+        }
+    }
+
+    /**
+     * The evaluation of a group for all entries, which records the entries added, changed or removed meanwhile
+     */
+    private class Evaluation {
+        private final SearchMatcher matcher;
+        private final Set<BibEntry> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<BibEntry> changedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<BibEntry> removedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Evaluation(SearchMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        void changed(Collection<BibEntry> entries) {
+            for (BibEntry entry : entries) {
+                changedEntries.add(entry);
+                removedEntries.remove(entry);
+            }
+        }
+
+        void removed(Collection<BibEntry> entries) {
+            for (BibEntry entry : entries) {
+                removedEntries.add(entry);
+                changedEntries.remove(entry);
+            }
+        }
+
+        /**
+         * Applies the changes made during the evaluation and returns the matches. Has to be called while holding the
+         * lock of the index.
+         */
+        Set<BibEntry> complete() {
+            evaluations.remove(this);
+            removedEntries.forEach(matches::remove);
+            for (BibEntry entry : changedEntries) {
+                if (matcher.isMatch(entry)) {
+                    matches.add(entry);
+                } else {
+                    matches.remove(entry);
+                }
+            }
+            return matches;
+        }
+    }
+}
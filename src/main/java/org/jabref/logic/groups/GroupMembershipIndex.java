@@ -0,0 +1,275 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.search.SearchMatcher;
+import org.jabref.model.search.matchers.MatcherSets.MatcherType;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps track of which entries of a library belong to the currently selected groups.
+ * <p>
+ * When the selection changes, the matcher of every selected group is built once and evaluated for all entries. The
+ * result is stored as one bitset per group together with their combination (intersection or union). Afterwards, only
+ * entries which are added or changed are evaluated again, so checking whether an entry is shown is a single bit lookup.
+ */
+public class GroupMembershipIndex {
+
+    private final BibDatabase database;
+    private final Map<BibEntry, Integer> docIds = new IdentityHashMap<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private int nextDocId;
+
+    private List<SelectedGroup> selectedGroups = List.of();
+    private MatcherType matcherType = MatcherType.OR;
+    /**
+     * The entries matched by the combination of the selected groups, null if no group is selected
+     */
+    private BitSet matched;
+
+    /**
+     * Counts the calls of {@link #select}, so that the result of an outdated selection is discarded
+     */
+    private int selectionCount;
+    /**
+     * The entries added, changed or removed while a selection is evaluated, null if no selection is evaluated
+     */
+    private Set<BibEntry> changedDuringSelection;
+    private Set<BibEntry> removedDuringSelection;
+
+    public GroupMembershipIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+        database.registerListener(this);
+    }
+
+    /**
+     * Selects the groups whose members are tracked and evaluates them for all entries of the library.
+     * <p>
+     * The groups are evaluated for a copy of the entries without holding the lock of the index, so that edits and
+     * {@link #isMatched(BibEntry)} are not blocked meanwhile. Entries added, changed or removed during the evaluation are
+     * applied again when the result is published. If another selection is started meanwhile, the result is discarded.
+     *
+     * @param groups      the selected groups, null or empty if no group is selected
+     * @param matcherType whether an entry has to belong to all ({@link MatcherType#AND}) or to any ({@link MatcherType#OR}) of the groups
+     * @return a predicate telling whether an entry belongs to the selection. It always reflects the latest selection.
+     */
+    public Predicate<BibEntry> select(List<GroupTreeNode> groups, MatcherType matcherType) {
+        return select(groups, matcherType, () -> true);
+    }
+
+    /**
+     * Selects the groups like {@link #select(List, MatcherType)}, unless the caller no longer wants this selection.
+     * Callers evaluating several selections concurrently use this to keep the latest one, as the order in which the
+     * selections are started is not necessarily the order in which they were requested.
+     *
+     * @param isCurrent checked when the selection starts and before its result is published, the selection is discarded if it returns false
+     */
+    public Predicate<BibEntry> select(List<GroupTreeNode> groups, MatcherType matcherType, BooleanSupplier isCurrent) {
+        Objects.requireNonNull(matcherType);
+        int selection;
+        synchronized (this) {
+            if (!isCurrent.getAsBoolean()) {
+                return this::isMatched;
+            }
+            selection = ++selectionCount;
+            if ((groups == null) || groups.isEmpty()) {
+                this.matcherType = matcherType;
+                selectedGroups = List.of();
+                matched = null;
+                changedDuringSelection = null;
+                removedDuringSelection = null;
+                return this::isMatched;
+            }
+            changedDuringSelection = Collections.newSetFromMap(new IdentityHashMap<>());
+            removedDuringSelection = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+
+        List<BibEntry> entries;
+        List<BibEntry> databaseEntries = database.getEntries();
+        synchronized (databaseEntries) {
+            entries = new ArrayList<>(databaseEntries);
+        }
+        List<SearchMatcher> matchers = new ArrayList<>(groups.size());
+        List<BitSet> positions = new ArrayList<>(groups.size());
+        for (GroupTreeNode group : groups) {
+            SearchMatcher matcher = group.getSearchMatcher();
+            BitSet matchingPositions = new BitSet(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                if (matcher.isMatch(entries.get(i))) {
+                    matchingPositions.set(i);
+                }
+            }
+            matchers.add(matcher);
+            positions.add(matchingPositions);
+        }
+
+        synchronized (this) {
+            if (selection != selectionCount) {
+                // a newer selection replaces this one
+                return this::isMatched;
+            }
+            if (!isCurrent.getAsBoolean()) {
+                // keep the previous selection
+                changedDuringSelection = null;
+                removedDuringSelection = null;
+                return this::isMatched;
+            }
+            publish(entries, matchers, positions, matcherType);
+        }
+        return this::isMatched;
+    }
+
+    /**
+     * Converts the positions in the copy of the entries to ids and applies the changes made during the evaluation
+     */
+    private void publish(List<BibEntry> entries, List<SearchMatcher> matchers, List<BitSet> positions, MatcherType newMatcherType) {
+        int[] entryDocIds = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            entryDocIds[i] = removedDuringSelection.contains(entry) ? -1 : docIds.computeIfAbsent(entry, key -> assignDocId());
+        }
+
+        List<SelectedGroup> newSelection = new ArrayList<>(matchers.size());
+        for (int group = 0; group < matchers.size(); group++) {
+            BitSet members = new BitSet(nextDocId);
+            BitSet matchingPositions = positions.get(group);
+            for (int i = matchingPositions.nextSetBit(0); i >= 0; i = matchingPositions.nextSetBit(i + 1)) {
+                if (entryDocIds[i] >= 0) {
+                    members.set(entryDocIds[i]);
+                }
+            }
+            newSelection.add(new SelectedGroup(matchers.get(group), members));
+        }
+        matcherType = newMatcherType;
+        selectedGroups = newSelection;
+
+        matched = (BitSet) selectedGroups.get(0).members.clone();
+        for (SelectedGroup selectedGroup : selectedGroups.subList(1, selectedGroups.size())) {
+            if (matcherType == MatcherType.AND) {
+                matched.and(selectedGroup.members);
+            } else {
+                matched.or(selectedGroup.members);
+            }
+        }
+
+        Set<BibEntry> changed = changedDuringSelection;
+        changedDuringSelection = null;
+        removedDuringSelection = null;
+        updateEntries(changed);
+    }
+
+    /**
+     * Checks whether the entry belongs to the selected groups. All entries match if no group is selected.
+     */
+    public synchronized boolean isMatched(BibEntry entry) {
+        if (matched == null) {
+            return true;
+        }
+        Integer docId = docIds.get(entry);
+        if (docId == null) {
+            // not part of the library (yet), hence not tracked
+            return combine(entry);
+        }
+        return matched.get(docId);
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        updateEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            if (changedDuringSelection != null) {
+                changedDuringSelection.remove(entry);
+                removedDuringSelection.add(entry);
+            }
+            Integer docId = docIds.remove(entry);
+            if (docId != null) {
+                for (SelectedGroup selectedGroup : selectedGroups) {
+                    selectedGroup.members.clear(docId);
+                }
+                if (matched != null) {
+                    matched.clear(docId);
+                }
+                freeDocIds.push(docId);
+            }
+        }
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        updateEntries(List.of(event.getBibEntry()));
+    }
+
+    public void shutdown() {
+        database.unregisterListener(this);
+    }
+
+    private synchronized void updateEntries(Collection<BibEntry> entries) {
+        if (changedDuringSelection != null) {
+            // removeAll would compare by equals if the set is not larger than the given entries
+            for (BibEntry entry : entries) {
+                changedDuringSelection.add(entry);
+                removedDuringSelection.remove(entry);
+            }
+        }
+        if (matched == null) {
+            // entries get their id as soon as a group is selected
+            return;
+        }
+
+        for (BibEntry entry : entries) {
+            int docId = docIds.computeIfAbsent(entry, key -> assignDocId());
+            boolean isMatched = matcherType == MatcherType.AND;
+            for (SelectedGroup selectedGroup : selectedGroups) {
+                boolean isMember = selectedGroup.matcher.isMatch(entry);
+                selectedGroup.members.set(docId, isMember);
+                isMatched = (matcherType == MatcherType.AND) ? (isMatched && isMember) : (isMatched || isMember);
+            }
+            matched.set(docId, isMatched);
+        }
+    }
+
+    private boolean combine(BibEntry entry) {
+        if (matcherType == MatcherType.AND) {
+            return selectedGroups.stream().allMatch(selectedGroup -> selectedGroup.matcher.isMatch(entry));
+        } else {
+            return selectedGroups.stream().anyMatch(selectedGroup -> selectedGroup.matcher.isMatch(entry));
+        }
+    }
+
+    private int assignDocId() {
+        return freeDocIds.isEmpty() ? nextDocId++ : freeDocIds.pop();
+    }
+
+    private static class SelectedGroup {
+        private final SearchMatcher matcher;
+        private final BitSet members;
+
+        SelectedGroup(SearchMatcher matcher, BitSet members) {
+            this.matcher = matcher;
+            this.members = members;
+        }
+    }
+}
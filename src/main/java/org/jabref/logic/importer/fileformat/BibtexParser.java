@@ -6,7 +6,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PushbackReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -19,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import org.jabref.logic.bibtex.FieldContentFormatter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
@@ -59,12 +64,18 @@ import org.slf4j.LoggerFactory;
  * <p>
  * ParserResult result = BibtexParser.parse(reader);
  * <p>
+ * Large files can be parsed with {@link #parseInParallel(Reader)}, which yields the same result.
+ * <p>
  * Can be used stand-alone.
  */
 public class BibtexParser implements Parser {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibtexParser.class);
 
     private static final Integer LOOKAHEAD = 64;
+    /**
+     * Minimal number of characters handed to one parser when parsing in parallel
+     */
+    private static final int MIN_CHUNK_LENGTH = 512 * 1024;
     private final FieldContentFormatter fieldContentFormatter;
     private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final ImportFormatPreferences importFormatPreferences;
@@ -75,9 +86,22 @@ public class BibtexParser implements Parser {
     private int line = 1;
     private ParserResult parserResult;
     private final MetaDataParser metaDataParser;
+    private final FileUpdateMonitor fileMonitor;
+    private Map<String, String> meta;
+    private boolean containsPreamble;
+
+    /**
+     * Number of characters read from the input so far
+     */
+    private long offset;
+    /**
+     * Position of the input after which the parser stops after completing an entry, used when parsing in parallel
+     */
+    private long chunkEnd = Long.MAX_VALUE;
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.fileMonitor = fileMonitor;
         fieldContentFormatter = new FieldContentFormatter(importFormatPreferences.getFieldContentFormatterPreferences());
         metaDataParser = new MetaDataParser(fileMonitor);
     }
@@ -131,6 +155,7 @@ public class BibtexParser implements Parser {
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
         pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        offset = 0;
 
         // Bibtex related contents.
         initializeParserResult();
@@ -142,10 +167,222 @@ public class BibtexParser implements Parser {
         return parseFileContent();
     }
 
+    /**
+     * Parses the BibTeX data like {@link #parse(Reader)}, but splits the input into chunks of entries first and parses
+     * these in parallel. The chunks are split directly after regular entries. Each chunk is parsed from the position
+     * where the sequential parser would start with it, and is only accepted if the parser ends exactly at the end of
+     * the chunk. Otherwise, the whole input is parsed sequentially, so that the result is always the same.
+     */
+    public ParserResult parseInParallel(Reader in) throws IOException {
+        return parseInParallel(in, MIN_CHUNK_LENGTH);
+    }
+
+    ParserResult parseInParallel(Reader in, int minChunkLength) throws IOException {
+        Objects.requireNonNull(in);
+        StringWriter writer = new StringWriter();
+        in.transferTo(writer);
+        String content = writer.toString();
+
+        List<Integer> chunkEnds = findChunkEnds(content, minChunkLength);
+        if (chunkEnds.isEmpty()) {
+            return parse(new StringReader(content));
+        }
+        chunkEnds.add(content.length());
+
+        int[] chunkStarts = new int[chunkEnds.size()];
+        int[] chunkStartLines = new int[chunkEnds.size()];
+        chunkStartLines[0] = 1;
+        for (int i = 1; i < chunkStarts.length; i++) {
+            chunkStarts[i] = chunkEnds.get(i - 1);
+            chunkStartLines[i] = chunkStartLines[i - 1] + countLineBreaks(content, chunkStarts[i - 1], chunkStarts[i]);
+        }
+
+        List<BibtexParser> chunkParsers = new ArrayList<>(chunkStarts.length);
+        for (int i = 0; i < chunkStarts.length; i++) {
+            chunkParsers.add(new BibtexParser(importFormatPreferences, fileMonitor));
+        }
+
+        boolean chunksValid;
+        try {
+            chunksValid = IntStream.range(0, chunkStarts.length).parallel().allMatch(i -> {
+                try {
+                    return chunkParsers.get(i).parseChunk(content, chunkStarts[i], chunkEnds.get(i), chunkStartLines[i]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            chunksValid = false;
+        }
+
+        if (!chunksValid) {
+            LOGGER.debug("Could not split the input into independent chunks, parsing it sequentially");
+            return parse(new StringReader(content));
+        }
+
+        initializeParserResult();
+        for (BibtexParser chunkParser : chunkParsers) {
+            chunkParser.database.getSharedDatabaseID().ifPresent(database::setSharedDatabaseID);
+
+            // move the entries, so that they are not connected to the database of the chunk anymore
+            List<BibEntry> entries = new ArrayList<>(chunkParser.database.getEntries());
+            chunkParser.database.removeEntries(entries);
+            database.insertEntries(entries);
+
+            for (BibtexString bibtexString : chunkParser.database.getStringValues()) {
+                if (database.hasStringByName(bibtexString.getName())) {
+                    // the order of the warnings would differ from the sequential parser
+                    LOGGER.debug("Duplicate string in different chunks, parsing the input sequentially");
+                    return parse(new StringReader(content));
+                }
+                database.addString(bibtexString);
+            }
+
+            if (chunkParser.containsPreamble) {
+                database.setPreamble(chunkParser.database.getPreamble().orElse(""));
+            }
+            entryTypes.addAll(chunkParser.entryTypes);
+            meta.putAll(chunkParser.meta);
+            chunkParser.parserResult.warnings().forEach(parserResult::addWarning);
+        }
+        // the text after the last entry
+        pureTextFromFile.addAll(chunkParsers.get(chunkParsers.size() - 1).pureTextFromFile);
+
+        return finishParsing();
+    }
+
+    /**
+     * Parses the part of the content between start and end, assuming that the sequential parser just finished an entry
+     * at the start.
+     *
+     * @return true if the sequential parser would also have finished an entry at the end
+     */
+    private boolean parseChunk(String content, int start, int end, int startLine) throws IOException {
+        // the parser sees the content following the chunk, because the sequential parser peeks at it, too
+        StringReader reader = new StringReader(content);
+        reader.skip(start);
+        pushbackReader = new PushbackReader(reader, BibtexParser.LOOKAHEAD);
+        offset = start;
+        line = startLine;
+        chunkEnd = end;
+
+        initializeParserResult();
+        if (start == 0) {
+            parseDatabaseID();
+        }
+        skipWhitespace();
+        parseItems();
+
+        if (end == content.length()) {
+            return true;
+        }
+        // all text read so far has to be part of an item, otherwise it belongs to the next item
+        return (offset == end) && pureTextFromFile.isEmpty();
+    }
+
+    /**
+     * Finds the positions directly after regular entries (i.e., not after strings, preambles, or comments) at which the
+     * content can be split into chunks of at least the given length. This is a fast approximation of the parser, which
+     * only counts braces; whether the parser agrees is checked when parsing the chunks.
+     */
+    static List<Integer> findChunkEnds(String content, int minChunkLength) {
+        List<Integer> chunkEnds = new ArrayList<>();
+        int chunkStart = 0;
+        int position = content.indexOf('@');
+        while (position >= 0) {
+            int entryEnd = findEntryEnd(content, position);
+            if (entryEnd < 0) {
+                position = content.indexOf('@', position + 1);
+                continue;
+            }
+            if (((entryEnd - chunkStart) >= minChunkLength) && (entryEnd < content.length())) {
+                chunkEnds.add(entryEnd);
+                chunkStart = entryEnd;
+            }
+            position = content.indexOf('@', entryEnd);
+        }
+        return chunkEnds;
+    }
+
+    /**
+     * @return the position after the entry starting with the given '@' including the line break after it, -1 if there is no regular entry
+     */
+    private static int findEntryEnd(String content, int at) {
+        int position = skipWhitespace(content, at + 1);
+        int typeStart = position;
+        while ((position < content.length()) && isTextTokenCharacter(content.charAt(position))) {
+            position++;
+        }
+        String type = content.substring(typeStart, position).toLowerCase(Locale.ROOT);
+        if (type.isEmpty() || "preamble".equals(type) || "string".equals(type) || "comment".equals(type)) {
+            return -1;
+        }
+
+        position = skipWhitespace(content, position);
+        if ((position >= content.length()) || (content.charAt(position) != '{')) {
+            return -1;
+        }
+
+        int brackets = 0;
+        for (; position < content.length(); position++) {
+            char character = content.charAt(position);
+            if (character == '\\') {
+                position++;
+            } else if (character == '{') {
+                brackets++;
+            } else if (character == '}') {
+                brackets--;
+                if (brackets == 0) {
+                    break;
+                }
+            }
+        }
+        if (position >= content.length()) {
+            return -1;
+        }
+        position++;
+
+        // like skipOneNewline
+        while ((position < content.length()) && (content.charAt(position) == ' ')) {
+            position++;
+        }
+        if ((position < content.length()) && (content.charAt(position) == '\r')) {
+            position++;
+        }
+        if ((position < content.length()) && (content.charAt(position) == '\n')) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipWhitespace(String content, int start) {
+        int position = start;
+        while ((position < content.length()) && Character.isWhitespace(content.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int countLineBreaks(String content, int start, int end) {
+        int lineBreaks = 0;
+        for (int i = start; i < end; i++) {
+            if (content.charAt(i) == '\n') {
+                lineBreaks++;
+            }
+        }
+        return lineBreaks;
+    }
+
+    private static boolean isTextTokenCharacter(char character) {
+        return Character.isLetterOrDigit(character) || (":-_*+./'".indexOf(character) >= 0);
+    }
+
     private void initializeParserResult() {
         database = new BibDatabase();
         entryTypes = new HashSet<>(); // To store custom entry types parsed.
         parserResult = new ParserResult(database, new MetaData(), entryTypes);
+        meta = new HashMap<>();
+        containsPreamble = false;
     }
 
     private void parseDatabaseID() throws IOException {
@@ -170,8 +407,11 @@ public class BibtexParser implements Parser {
     }
 
     private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
+        parseItems();
+        return finishParsing();
+    }
 
+    private void parseItems() throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -185,6 +425,7 @@ public class BibtexParser implements Parser {
 
             if ("preamble".equals(entryType)) {
                 database.setPreamble(parsePreamble());
+                containsPreamble = true;
                 // Consume new line which signals end of preamble
                 skipOneNewline();
                 // the preamble is saved verbatim anyways, so the text read so far can be dropped
@@ -198,9 +439,16 @@ public class BibtexParser implements Parser {
                 parseAndAddEntry(entryType);
             }
 
+            if (offset >= chunkEnd) {
+                // the remaining content is parsed by another parser
+                return;
+            }
+
             skipWhitespace();
         }
+    }
 
+    private ParserResult finishParsing() {
         // Instantiate meta data:
         try {
             parserResult.setMetaData(metaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
@@ -461,6 +709,7 @@ public class BibtexParser implements Parser {
 
         if (!isEOFCharacter(character)) {
             pureTextFromFile.offerLast((char) character);
+            offset++;
         }
         if (character == '\n') {
             line++;
@@ -473,6 +722,9 @@ public class BibtexParser implements Parser {
             line--;
         }
         pushbackReader.unread(character);
+        if (!isEOFCharacter(character)) {
+            offset--;
+        }
         if (pureTextFromFile.getLast() == character) {
             pureTextFromFile.pollLast();
         }
@@ -4,12 +4,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.jabref.gui.LibraryTab;
+import org.jabref.logic.pdf.search.indexing.PdfTextCache.PdfText;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
@@ -41,6 +43,7 @@ public final class DocumentReader {
 
     private final BibEntry entry;
     private final FilePreferences filePreferences;
+    private final Optional<PdfTextCache> textCache;
 
     /**
      * Creates a new DocumentReader using a BibEntry.
@@ -48,7 +51,18 @@ public final class DocumentReader {
      * @param bibEntry Must not be null and must have at least one LinkedFile.
      */
     public DocumentReader(BibEntry bibEntry, FilePreferences filePreferences) {
+        this(bibEntry, filePreferences, Optional.empty());
+    }
+
+    /**
+     * Creates a new DocumentReader using a BibEntry, which looks up the text of the files in the given cache before
+     * reading them.
+     *
+     * @param bibEntry Must not be null and must have at least one LinkedFile.
+     */
+    public DocumentReader(BibEntry bibEntry, FilePreferences filePreferences, Optional<PdfTextCache> textCache) {
         this.filePreferences = filePreferences;
+        this.textCache = textCache;
         if (bibEntry.getFiles().isEmpty()) {
             throw new IllegalStateException("There are no linked PDF files to this BibEntry!");
         }
@@ -62,15 +76,20 @@ public final class DocumentReader {
      * @return An Optional of a Lucene Document with the (meta)data. Can be empty if there is a problem reading the LinkedFile.
      */
     public Optional<Document> readLinkedPdf(BibDatabaseContext databaseContext, LinkedFile pdf) {
-        Optional<Path> pdfPath = pdf.findIn(databaseContext, filePreferences);
-        if (pdfPath.isPresent()) {
-            try {
-                return Optional.of(readPdfContents(pdf, pdfPath.get()));
-            } catch (IOException e) {
-                LOGGER.error("Could not read pdf file {}!", pdf.getLink(), e);
-            }
+        return pdf.findIn(databaseContext, filePreferences)
+                  .flatMap(pdfPath -> readLinkedPdf(pdf, pdfPath));
+    }
+
+    /**
+     * Reads the already resolved file of a LinkedFile and converts it into a Lucene Document.
+     */
+    Optional<Document> readLinkedPdf(LinkedFile pdf, Path resolvedPdfPath) {
+        try {
+            return Optional.of(readPdfContents(pdf, resolvedPdfPath));
+        } catch (IOException e) {
+            LOGGER.error("Could not read pdf file {}!", pdf.getLink(), e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     /**
@@ -87,12 +106,26 @@ public final class DocumentReader {
     }
 
     private Document readPdfContents(LinkedFile pdf, Path resolvedPdfPath) throws IOException {
+        Document newDocument = new Document();
+        addIdentifiers(newDocument, pdf.getLink());
+        readText(resolvedPdfPath).ifPresent(text -> addContentIfNotEmpty(text, newDocument));
+        addMetaData(newDocument, resolvedPdfPath);
+        return newDocument;
+    }
+
+    /**
+     * Returns the text of the file from the cache or, if it is not cached yet, reads it from the file.
+     */
+    private Optional<PdfText> readText(Path resolvedPdfPath) throws IOException {
+        Optional<PdfText> cachedText = textCache.flatMap(cache -> cache.get(resolvedPdfPath));
+        if (cachedText.isPresent()) {
+            return cachedText;
+        }
+
         try (PDDocument pdfDocument = PDDocument.load(resolvedPdfPath.toFile())) {
-            Document newDocument = new Document();
-            addIdentifiers(newDocument, pdf.getLink());
-            addContentIfNotEmpty(pdfDocument, newDocument);
-            addMetaData(newDocument, resolvedPdfPath);
-            return newDocument;
+            Optional<PdfText> text = extractText(pdfDocument);
+            text.ifPresent(extractedText -> textCache.ifPresent(cache -> cache.put(resolvedPdfPath, extractedText)));
+            return text;
         }
     }
 
@@ -116,15 +149,13 @@ public final class DocumentReader {
         return !(StringUtil.isNullOrEmpty(value));
     }
 
-    private void addContentIfNotEmpty(PDDocument pdfDocument, Document newDocument) {
+    private Optional<PdfText> extractText(PDDocument pdfDocument) {
         try {
             PDFTextStripper pdfTextStripper = new PDFTextStripper();
             pdfTextStripper.setLineSeparator("\n");
 
             String pdfContent = pdfTextStripper.getText(pdfDocument);
-            if (StringUtil.isNotBlank(pdfContent)) {
-                newDocument.add(new TextField(CONTENT, pdfContent, Field.Store.YES));
-            }
+            List<String> annotations = new ArrayList<>();
             for (PDPage page : pdfDocument.getPages()) {
                 for (PDAnnotation annotation : page.getAnnotations(annotation -> {
                     if (annotation.getContents() == null) {
@@ -132,11 +163,22 @@ public final class DocumentReader {
                     }
                     return annotation.getSubtype().equals("Text") || annotation.getSubtype().equals("Highlight");
                 })) {
-                    newDocument.add(new TextField(ANNOTATIONS, annotation.getContents(), Field.Store.YES));
+                    annotations.add(annotation.getContents());
                 }
             }
+            return Optional.of(new PdfText(pdfContent, annotations));
         } catch (IOException e) {
             LOGGER.info("Could not read contents of PDF document \"{}\"", pdfDocument.toString(), e);
+            return Optional.empty();
+        }
+    }
+
+    private void addContentIfNotEmpty(PdfText text, Document newDocument) {
+        if (StringUtil.isNotBlank(text.getContent())) {
+            newDocument.add(new TextField(CONTENT, text.getContent(), Field.Store.YES));
+        }
+        for (String annotation : text.getAnnotations()) {
+            newDocument.add(new TextField(ANNOTATIONS, annotation, Field.Store.YES));
         }
     }
 
@@ -59,7 +59,7 @@ public class IndexingTaskManager extends BackgroundTask<Void> {
             @Override
             protected Void call() throws Exception {
                 this.updateProgress(-1, 1);
-                indexer.createIndex(database, context);
+                indexer.createIndex(database, context, (processedFiles, totalFiles) -> this.updateProgress(processedFiles, totalFiles));
                 return null;
             }
         });
@@ -70,7 +70,7 @@ public class IndexingTaskManager extends BackgroundTask<Void> {
             @Override
             protected Void call() throws Exception {
                 this.updateProgress(-1, 1);
-                indexer.addToIndex(databaseContext);
+                indexer.addToIndex(databaseContext, (processedFiles, totalFiles) -> this.updateProgress(processedFiles, totalFiles));
                 return null;
             }
         });
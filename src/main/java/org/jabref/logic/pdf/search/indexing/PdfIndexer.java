@@ -4,11 +4,22 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-
-import javafx.collections.ObservableList;
+import java.util.function.BiConsumer;
 
 import org.jabref.gui.LibraryTab;
 import org.jabref.model.database.BibDatabase;
@@ -20,13 +31,11 @@ import org.jabref.model.pdf.search.SearchFieldConstants;
 import org.jabref.preferences.FilePreferences;
 
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexNotFoundException;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
@@ -36,23 +45,52 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Indexes the text of PDF files and adds it into the lucene search index.
+ * <p>
+ * Each operation opens one {@link IndexWriter} for all files it processes. Changes are committed when the operation is
+ * finished and, for long-running operations, after a number of changes or some time, so that the index is not synced
+ * to disk after each single file.
+ * <p>
+ * When all files of a library are indexed, the PDF files are read by several threads in parallel, while the documents
+ * are written by the thread running the operation. The number of documents read but not yet written is bounded, and so
+ * is the total size of the PDF files opened at the same time. Files whose text is found in the {@link PdfTextCache} are
+ * not opened at all.
  */
 public class PdfIndexer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LibraryTab.class);
 
+    private static final int MAX_UNCOMMITTED_CHANGES = 500;
+    private static final long MAX_SECONDS_BETWEEN_COMMITS = 60;
+
+    private static final int READER_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_PENDING_DOCUMENTS = 2 * READER_THREADS;
+    /**
+     * The total size (in megabytes) of the PDF files opened at the same time. Larger files are read one at a time.
+     */
+    private static final int PDF_MEMORY_BUDGET = 256;
+    private static final Semaphore PDF_MEMORY = new Semaphore(PDF_MEMORY_BUDGET);
+
     private final Directory directoryToIndex;
     private BibDatabaseContext databaseContext;
 
     private final FilePreferences filePreferences;
+    private final Optional<PdfTextCache> textCache;
 
     public PdfIndexer(Directory indexDirectory, FilePreferences filePreferences) {
+        this(indexDirectory, filePreferences, Optional.empty());
+    }
+
+    /**
+     * @param textCache the cache of the text of the PDF files, used to avoid reading unchanged files again
+     */
+    public PdfIndexer(Directory indexDirectory, FilePreferences filePreferences, Optional<PdfTextCache> textCache) {
         this.directoryToIndex = indexDirectory;
         this.filePreferences = filePreferences;
+        this.textCache = textCache;
     }
 
     public static PdfIndexer of(BibDatabaseContext databaseContext, FilePreferences filePreferences) throws IOException {
-        return new PdfIndexer(new NIOFSDirectory(databaseContext.getFulltextIndexPath()), filePreferences);
+        return new PdfIndexer(new NIOFSDirectory(databaseContext.getFulltextIndexPath()), filePreferences, PdfTextCache.getDefault());
     }
 
     /**
@@ -62,23 +100,42 @@ public class PdfIndexer {
      * @param database a bibtex database to link the pdf files to
      */
     public void createIndex(BibDatabase database, BibDatabaseContext context) {
-        this.databaseContext = context;
-        final ObservableList<BibEntry> entries = database.getEntries();
+        createIndex(database, context, (processedFiles, totalFiles) -> {
+        });
+    }
 
-        // Create new index by creating IndexWriter but not writing anything.
-        try {
-            IndexWriter indexWriter = new IndexWriter(directoryToIndex, new IndexWriterConfig(new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
-            indexWriter.close();
+    /**
+     * Adds all PDF files linked to an entry in the database to new Lucene search index. Any previous state of the
+     * Lucene search index will be deleted!
+     *
+     * @param database         a bibtex database to link the pdf files to
+     * @param progressListener notified about the number of processed files and the total number of files
+     */
+    public synchronized void createIndex(BibDatabase database, BibDatabaseContext context, BiConsumer<Integer, Integer> progressListener) {
+        this.databaseContext = context;
+        try (IndexSession session = new IndexSession(IndexWriterConfig.OpenMode.CREATE)) {
+            writeToIndex(session, database.getEntries(), progressListener);
         } catch (IOException e) {
             LOGGER.warn("Could not create new Index!", e);
         }
-        // Re-use existing facilities for writing the actual entries
-        entries.stream().filter(entry -> !entry.getFiles().isEmpty()).forEach(this::writeToIndex);
     }
 
     public void addToIndex(BibDatabaseContext databaseContext) {
-        for (BibEntry entry : databaseContext.getEntries()) {
-            addToIndex(entry, databaseContext);
+        addToIndex(databaseContext, (processedFiles, totalFiles) -> {
+        });
+    }
+
+    /**
+     * Adds all PDF files linked to an entry in the database to an existing (or new) Lucene search index
+     *
+     * @param progressListener notified about the number of processed files and the total number of files
+     */
+    public synchronized void addToIndex(BibDatabaseContext databaseContext, BiConsumer<Integer, Integer> progressListener) {
+        this.databaseContext = databaseContext;
+        try (IndexSession session = new IndexSession(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)) {
+            writeToIndex(session, databaseContext.getEntries(), progressListener);
+        } catch (IOException e) {
+            LOGGER.warn("Could not initialize the IndexWriter!", e);
         }
     }
 
@@ -98,9 +155,19 @@ public class PdfIndexer {
      * @param entry a bibtex entry to link the pdf files to
      * @param databaseContext the associated BibDatabaseContext
      */
-    public void addToIndex(BibEntry entry, List<LinkedFile> linkedFiles, BibDatabaseContext databaseContext) {
-        for (LinkedFile linkedFile : linkedFiles) {
-            addToIndex(entry, linkedFile, databaseContext);
+    public synchronized void addToIndex(BibEntry entry, List<LinkedFile> linkedFiles, BibDatabaseContext databaseContext) {
+        if (databaseContext != null) {
+            this.databaseContext = databaseContext;
+        }
+        if (entry.getFiles().isEmpty()) {
+            return;
+        }
+        try (IndexSession session = new IndexSession(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)) {
+            for (LinkedFile linkedFile : linkedFiles) {
+                session.writeToIndex(entry, linkedFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not initialize the IndexWriter!", e);
         }
     }
 
@@ -111,12 +178,7 @@ public class PdfIndexer {
      * @param linkedFile the link to the pdf files
      */
     public void addToIndex(BibEntry entry, LinkedFile linkedFile, BibDatabaseContext databaseContext) {
-        if (databaseContext != null) {
-            this.databaseContext = databaseContext;
-        }
-        if (!entry.getFiles().isEmpty()) {
-            writeToIndex(entry, linkedFile);
-        }
+        addToIndex(entry, List.of(linkedFile), databaseContext);
     }
 
     /**
@@ -125,18 +187,7 @@ public class PdfIndexer {
      * @param linkedFile the link to the file to be removed
      */
     public void removeFromIndex(BibEntry entry, LinkedFile linkedFile) {
-        try (IndexWriter indexWriter = new IndexWriter(
-                directoryToIndex,
-                new IndexWriterConfig(
-                        new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND))
-        ) {
-            if (!entry.getFiles().isEmpty()) {
-                indexWriter.deleteDocuments(new Term(SearchFieldConstants.PATH, linkedFile.getLink()));
-            }
-            indexWriter.commit();
-        } catch (IOException e) {
-            LOGGER.warn("Could not initialize the IndexWriter!", e);
-        }
+        removeFromIndex(entry, List.of(linkedFile));
     }
 
     /**
@@ -151,16 +202,22 @@ public class PdfIndexer {
      * Removes a list of files linked to a bib-entry from the index
      * @param entry the entry documents are linked to
      */
-    public void removeFromIndex(BibEntry entry, List<LinkedFile> linkedFiles) {
-        for (LinkedFile linkedFile : linkedFiles) {
-            removeFromIndex(entry, linkedFile);
+    public synchronized void removeFromIndex(BibEntry entry, List<LinkedFile> linkedFiles) {
+        try (IndexSession session = new IndexSession(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)) {
+            if (!entry.getFiles().isEmpty()) {
+                for (LinkedFile linkedFile : linkedFiles) {
+                    session.removeFromIndex(linkedFile);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not initialize the IndexWriter!", e);
         }
     }
 
     /**
      * Deletes all entries from the Lucene search index.
      */
-    public void flushIndex() {
+    public synchronized void flushIndex() {
         IndexWriterConfig config = new IndexWriterConfig();
         config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
         try (IndexWriter deleter = new IndexWriter(directoryToIndex, config)) {
@@ -171,62 +228,188 @@ public class PdfIndexer {
     }
 
     /**
-     * Writes all files linked to an entry to the index if the files are not yet in the index or the files on the fs are
-     * newer than the one in the index.
-     * @param entry the entry associated with the file
+     * Writes the files linked to the entries to the index. The files are read in parallel, each file linked multiple
+     * times only once.
      */
-    private void writeToIndex(BibEntry entry) {
-        for (LinkedFile linkedFile : entry.getFiles()) {
-            writeToIndex(entry, linkedFile);
+    private void writeToIndex(IndexSession session, List<BibEntry> entries, BiConsumer<Integer, Integer> progressListener) throws IOException {
+        List<Callable<Optional<Document>>> readers = new ArrayList<>();
+        Set<String> links = new HashSet<>();
+        for (BibEntry entry : entries) {
+            for (LinkedFile linkedFile : entry.getFiles()) {
+                if (links.add(linkedFile.getLink())) {
+                    readers.add(() -> session.readIfOutdated(entry, linkedFile));
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(READER_THREADS);
+        CompletionService<Optional<Document>> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            int submitted = 0;
+            while (submitted < Math.min(readers.size(), MAX_PENDING_DOCUMENTS)) {
+                completionService.submit(readers.get(submitted++));
+            }
+            for (int processed = 1; processed <= readers.size(); processed++) {
+                Future<Optional<Document>> result = completionService.take();
+                if (submitted < readers.size()) {
+                    completionService.submit(readers.get(submitted++));
+                }
+                try {
+                    Optional<Document> document = result.get();
+                    if (document.isPresent()) {
+                        session.write(document.get());
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Could not add the document to the index!", e.getCause());
+                }
+                progressListener.accept(processed, readers.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
         }
     }
 
     /**
-     * Writes the file to the index if the file is not yet in the index or the file on the fs is newer than the one in
-     * the index.
-     * @param entry the entry associated with the file
-     * @param linkedFile the file to write to the index
+     * The writer used by one operation on the index, together with a reader on its (not necessarily committed) state
+     * to look up the files already indexed.
      */
-    private void writeToIndex(BibEntry entry, LinkedFile linkedFile) {
-        Optional<Path> resolvedPath = linkedFile.findIn(databaseContext, filePreferences);
-        if (resolvedPath.isEmpty()) {
-            LOGGER.warn("Could not find {}", linkedFile.getLink());
-            return;
+    private class IndexSession implements AutoCloseable {
+
+        private final IndexWriter indexWriter;
+        private final SearcherManager searcherManager;
+        /**
+         * The files written in this session. They are not visible to the searcher until it is refreshed.
+         */
+        private final Set<String> writtenLinks = ConcurrentHashMap.newKeySet();
+        private volatile boolean refreshRequired;
+        private int uncommittedChanges;
+        private long lastCommit = System.nanoTime();
+
+        IndexSession(IndexWriterConfig.OpenMode openMode) throws IOException {
+            indexWriter = new IndexWriter(directoryToIndex, new IndexWriterConfig(new EnglishStemAnalyzer()).setOpenMode(openMode));
+            try {
+                searcherManager = new SearcherManager(indexWriter, null);
+            } catch (IOException e) {
+                indexWriter.close();
+                throw e;
+            }
         }
-        try {
-            // Check if a document with this path is already in the index
+
+        /**
+         * Writes the file to the index if the file is not yet in the index or the file on the fs is newer than the one
+         * in the index.
+         *
+         * @param entry      the entry associated with the file
+         * @param linkedFile the file to write to the index
+         */
+        void writeToIndex(BibEntry entry, LinkedFile linkedFile) {
             try {
-                IndexReader reader = DirectoryReader.open(directoryToIndex);
-                IndexSearcher searcher = new IndexSearcher(reader);
-                TermQuery query = new TermQuery(new Term(SearchFieldConstants.PATH, linkedFile.getLink()));
-                TopDocs topDocs = searcher.search(query, 1);
-                // If a document was found, check if is less current than the one in the FS
-                if (topDocs.scoreDocs.length > 0) {
-                    Document doc = reader.document(topDocs.scoreDocs[0].doc);
-                    long indexModificationTime = Long.parseLong(doc.getField(SearchFieldConstants.MODIFIED).stringValue());
+                Optional<Document> document = readIfOutdated(entry, linkedFile);
+                if (document.isPresent()) {
+                    write(document.get());
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not add the document to the index!", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
 
-                    BasicFileAttributes attributes = Files.readAttributes(resolvedPath.get(), BasicFileAttributes.class);
+        /**
+         * Reads the file if it is not yet in the index or the file on the fs is newer than the one in the index. May be
+         * called from several threads.
+         *
+         * @return the document to write to the index, empty if the index is up to date or the file could not be read
+         */
+        Optional<Document> readIfOutdated(BibEntry entry, LinkedFile linkedFile) throws IOException, InterruptedException {
+            Optional<Path> resolvedPath = linkedFile.findIn(databaseContext, filePreferences);
+            if (resolvedPath.isEmpty()) {
+                LOGGER.warn("Could not find {}", linkedFile.getLink());
+                return Optional.empty();
+            }
+            if (isUpToDate(linkedFile.getLink(), resolvedPath.get())) {
+                return Optional.empty();
+            }
 
-                    if (indexModificationTime >= attributes.lastModifiedTime().to(TimeUnit.SECONDS)) {
-                        return;
-                    }
+            int megabytes = (int) Math.min(PDF_MEMORY_BUDGET, Math.max(1, Files.size(resolvedPath.get()) >> 20));
+            PDF_MEMORY.acquire(megabytes);
+            try {
+                return new DocumentReader(entry, filePreferences, textCache).readLinkedPdf(linkedFile, resolvedPath.get());
+            } finally {
+                PDF_MEMORY.release(megabytes);
+            }
+        }
+
+        void write(Document document) throws IOException {
+            String link = document.get(SearchFieldConstants.PATH);
+            // replaces the outdated document of the file, if any
+            indexWriter.updateDocument(new Term(SearchFieldConstants.PATH, link), document);
+            writtenLinks.add(link);
+            changed();
+        }
+
+        void removeFromIndex(LinkedFile linkedFile) throws IOException {
+            indexWriter.deleteDocuments(new Term(SearchFieldConstants.PATH, linkedFile.getLink()));
+            writtenLinks.remove(linkedFile.getLink());
+            refreshRequired = true;
+            changed();
+        }
+
+        private boolean isUpToDate(String link, Path resolvedPath) throws IOException {
+            if (writtenLinks.contains(link)) {
+                return true;
+            }
+            if (refreshRequired) {
+                searcherManager.maybeRefreshBlocking();
+                refreshRequired = false;
+            }
+
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(new TermQuery(new Term(SearchFieldConstants.PATH, link)), 1);
+                if (topDocs.scoreDocs.length == 0) {
+                    return false;
                 }
-                reader.close();
-            } catch (IndexNotFoundException e) {
-                // if there is no index yet, don't need to check anything!
+                // If a document was found, check if is less current than the one in the FS
+                Document doc = searcher.doc(topDocs.scoreDocs[0].doc);
+                long indexModificationTime = Long.parseLong(doc.getField(SearchFieldConstants.MODIFIED).stringValue());
+                BasicFileAttributes attributes = Files.readAttributes(resolvedPath, BasicFileAttributes.class);
+                return indexModificationTime >= attributes.lastModifiedTime().to(TimeUnit.SECONDS);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        }
+
+        private void changed() throws IOException {
+            uncommittedChanges++;
+            if ((uncommittedChanges >= MAX_UNCOMMITTED_CHANGES)
+                    || ((System.nanoTime() - lastCommit) >= TimeUnit.SECONDS.toNanos(MAX_SECONDS_BETWEEN_COMMITS))) {
+                commit();
             }
-            // If no document was found, add the new one
-            Optional<Document> document = new DocumentReader(entry, filePreferences).readLinkedPdf(this.databaseContext, linkedFile);
-            if (document.isPresent()) {
-                IndexWriter indexWriter = new IndexWriter(directoryToIndex,
-                        new IndexWriterConfig(
-                                new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
-                indexWriter.addDocument(document.get());
-                indexWriter.commit();
+        }
+
+        private void commit() throws IOException {
+            indexWriter.commit();
+            uncommittedChanges = 0;
+            lastCommit = System.nanoTime();
+            // the files written so far are now visible to the searcher
+            searcherManager.maybeRefreshBlocking();
+            writtenLinks.clear();
+            refreshRequired = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (indexWriter.hasUncommittedChanges()) {
+                    indexWriter.commit();
+                }
+            } finally {
+                searcherManager.close();
                 indexWriter.close();
             }
-        } catch (IOException e) {
-            LOGGER.warn("Could not add the document to the index!", e);
         }
     }
 }
@@ -0,0 +1,170 @@
+package org.jabref.logic.pdf.search.indexing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the text extracted from PDF files, so that files already read once do not have to be read again
+ * when the fulltext index is rebuilt.
+ * <p>
+ * The text is stored by the hash of the file content, hence the cache also applies to copies or moved files. To avoid
+ * hashing unchanged files again, the hash of a file is remembered together with the size and the modification time of
+ * the file.
+ */
+public class PdfTextCache implements AutoCloseable {
+
+    public static final String DEFAULT_FILE_NAME = "pdf-texts.mv";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfTextCache.class);
+
+    private static final String ANNOTATION_SEPARATOR = "\u0000";
+
+    private static Path defaultFile;
+    private static PdfTextCache defaultCache;
+    private static boolean defaultCacheUnavailable;
+
+    private final MVStore store;
+    /**
+     * Path, size and modification time of a file to the hash of its content
+     */
+    private final MVMap<String, String> fileToHash;
+    private final MVMap<String, String> hashToContent;
+    private final MVMap<String, String> hashToAnnotations;
+
+    public PdfTextCache(Path cacheFile) {
+        this.store = new MVStore.Builder().fileName(cacheFile.toAbsolutePath().toString()).compress().open();
+        this.fileToHash = store.openMap("FileToHash");
+        this.hashToContent = store.openMap("HashToContent");
+        this.hashToAnnotations = store.openMap("HashToAnnotations");
+    }
+
+    /**
+     * Sets the file of the cache shared by all libraries. The cache is opened when it is used first.
+     */
+    public static synchronized void setDefaultFile(Path cacheFile) {
+        defaultFile = cacheFile;
+    }
+
+    /**
+     * Returns the cache shared by all libraries, empty if no file has been set or the cache could not be opened (e.g.,
+     * because it is used by another instance of JabRef).
+     */
+    public static synchronized Optional<PdfTextCache> getDefault() {
+        if ((defaultCache == null) && (defaultFile != null) && !defaultCacheUnavailable) {
+            try {
+                Files.createDirectories(defaultFile.getParent());
+                defaultCache = new PdfTextCache(defaultFile);
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.warn("Could not open the cache of PDF texts at {}", defaultFile, e);
+                defaultCacheUnavailable = true;
+            }
+        }
+        return Optional.ofNullable(defaultCache);
+    }
+
+    public static synchronized void closeDefault() {
+        if (defaultCache != null) {
+            defaultCache.close();
+            defaultCache = null;
+        }
+    }
+
+    /**
+     * Returns the text of the file stored before, if any.
+     */
+    public Optional<PdfText> get(Path pdf) {
+        try {
+            String hash = getHash(pdf);
+            String content = hashToContent.get(hash);
+            if (content == null) {
+                return Optional.empty();
+            }
+            String annotations = hashToAnnotations.getOrDefault(hash, "");
+            return Optional.of(new PdfText(content, annotations.isEmpty() ? List.of() : Arrays.asList(annotations.split(ANNOTATION_SEPARATOR))));
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.warn("Could not look up the text of {} in the cache", pdf, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(Path pdf, PdfText text) {
+        try {
+            String hash = getHash(pdf);
+            hashToAnnotations.put(hash, String.join(ANNOTATION_SEPARATOR, text.getAnnotations()));
+            // written last, as it marks the text as present
+            hashToContent.put(hash, text.getContent());
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.warn("Could not store the text of {} in the cache", pdf, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private String getHash(Path pdf) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(pdf, BasicFileAttributes.class);
+        String fileKey = pdf.toAbsolutePath() + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+        String hash = fileToHash.get(fileKey);
+        if (hash == null) {
+            hash = hashContent(pdf) + ":" + attributes.size();
+            fileToHash.put(fileKey, hash);
+        }
+        return hash;
+    }
+
+    private static String hashContent(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * The text and the annotations of a PDF file.
+     */
+    public static class PdfText {
+        private final String content;
+        private final List<String> annotations;
+
+        public PdfText(String content, List<String> annotations) {
+            this.content = Objects.requireNonNull(content);
+            this.annotations = List.copyOf(annotations);
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public List<String> getAnnotations() {
+            return annotations;
+        }
+    }
+}
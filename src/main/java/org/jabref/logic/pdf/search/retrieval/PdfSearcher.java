@@ -1,8 +1,11 @@
 package org.jabref.logic.pdf.search.retrieval;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.jabref.gui.LibraryTab;
@@ -13,13 +16,14 @@ import org.jabref.model.pdf.search.SearchResult;
 import org.jabref.model.strings.StringUtil;
 
 import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.NIOFSDirectory;
 import org.slf4j.Logger;
@@ -27,18 +31,55 @@ import org.slf4j.LoggerFactory;
 
 import static org.jabref.model.pdf.search.SearchFieldConstants.PDF_FIELDS;
 
+/**
+ * Searches the fulltext index of a library.
+ * <p>
+ * There is one searcher per library, which keeps the index open between searches until the library is closed. Before
+ * each search, the reader is refreshed if changes have been committed to the index in the meantime. When the index
+ * path of the library changes, e.g., after saving it under a different name, the searcher of the old index is closed.
+ */
 public final class PdfSearcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LibraryTab.class);
 
+    private static final Map<BibDatabaseContext, PdfSearcher> SEARCHERS = new IdentityHashMap<>();
+
+    private final Path indexPath;
     private final Directory indexDirectory;
+    /**
+     * Created as soon as the index exists
+     */
+    private SearcherManager searcherManager;
+    private boolean closed;
 
-    private PdfSearcher(Directory indexDirectory) {
-        this.indexDirectory = indexDirectory;
+    private PdfSearcher(Path indexPath) throws IOException {
+        this.indexPath = indexPath;
+        this.indexDirectory = new NIOFSDirectory(indexPath);
     }
 
-    public static PdfSearcher of(BibDatabaseContext databaseContext) throws IOException {
-        return new PdfSearcher(new NIOFSDirectory(databaseContext.getFulltextIndexPath()));
+    public static synchronized PdfSearcher of(BibDatabaseContext databaseContext) throws IOException {
+        Path indexPath = databaseContext.getFulltextIndexPath();
+        PdfSearcher searcher = SEARCHERS.get(databaseContext);
+        if ((searcher != null) && !searcher.indexPath.equals(indexPath)) {
+            // the library has been saved to another file
+            searcher.close();
+            searcher = null;
+        }
+        if (searcher == null) {
+            searcher = new PdfSearcher(indexPath);
+            SEARCHERS.put(databaseContext, searcher);
+        }
+        return searcher;
+    }
+
+    /**
+     * Closes the searcher of the library, if any.
+     */
+    public static synchronized void shutdown(BibDatabaseContext databaseContext) {
+        PdfSearcher searcher = SEARCHERS.remove(databaseContext);
+        if (searcher != null) {
+            searcher.close();
+        }
     }
 
     /**
@@ -57,20 +98,60 @@ public final class PdfSearcher {
             throw new IllegalArgumentException("Must be called with at least 1 maxHits, was" + maxHits);
         }
 
+        Query query;
         try {
-            List<SearchResult> resultDocs = new LinkedList<>();
+            query = new MultiFieldQueryParser(PDF_FIELDS, new EnglishStemAnalyzer()).parse(searchString);
+        } catch (ParseException e) {
+            LOGGER.warn("Could not parse query: '" + searchString + "'! \n" + e.getMessage());
+            return new PdfSearchResults();
+        }
 
-            IndexReader reader = DirectoryReader.open(indexDirectory);
-            IndexSearcher searcher = new IndexSearcher(reader);
-            Query query = new MultiFieldQueryParser(PDF_FIELDS, new EnglishStemAnalyzer()).parse(searchString);
+        SearcherManager manager = getSearcherManager();
+        if (manager == null) {
+            // nothing indexed yet or the searcher has been closed
+            return new PdfSearchResults();
+        }
+        IndexSearcher searcher;
+        try {
+            manager.maybeRefreshBlocking();
+            searcher = manager.acquire();
+        } catch (AlreadyClosedException e) {
+            // the library has been closed or saved to another file meanwhile, the search is outdated
+            LOGGER.debug("Fulltext index closed during search", e);
+            return new PdfSearchResults();
+        }
+        try {
+            List<SearchResult> resultDocs = new LinkedList<>();
             TopDocs results = searcher.search(query, maxHits);
             for (ScoreDoc scoreDoc : results.scoreDocs) {
                 resultDocs.add(new SearchResult(searcher, query, scoreDoc));
             }
             return new PdfSearchResults(resultDocs);
-        } catch (ParseException e) {
-            LOGGER.warn("Could not parse query: '" + searchString + "'! \n" + e.getMessage());
-            return new PdfSearchResults();
+        } finally {
+            manager.release(searcher);
+        }
+    }
+
+    private synchronized SearcherManager getSearcherManager() throws IOException {
+        if (closed) {
+            return null;
+        }
+        if ((searcherManager == null) && DirectoryReader.indexExists(indexDirectory)) {
+            searcherManager = new SearcherManager(indexDirectory, null);
+        }
+        return searcherManager;
+    }
+
+    private synchronized void close() {
+        closed = true;
+        try {
+            if (searcherManager != null) {
+                searcherManager.close();
+                searcherManager = null;
+            }
+            indexDirectory.close();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close the fulltext index", e);
         }
     }
 }
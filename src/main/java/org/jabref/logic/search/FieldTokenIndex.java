@@ -0,0 +1,427 @@
+package org.jabref.logic.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * In-memory inverted index of the tokens occurring in the (LaTeX-free, lower-cased) fields of the entries of a library.
+ * A token is a maximal run of letters and digits; every token points to the sorted list of the ids of the entries
+ * containing it.
+ * <p>
+ * The index is used to rule out entries for the "all words somewhere in the entry" search: if a word occurs as
+ * substring of a field, then every run of letters and digits inside the word is a substring of one of the tokens of
+ * that field. Hence, only entries containing for every such run a token with the run as substring can match. The
+ * result is a superset of the matching entries, which still has to be verified with the actual substring search.
+ * <p>
+ * The index is kept up to date by listening to the events of the database. It is started for each opened library by
+ * {@link #start(BibDatabaseContext, Executor)}, which indexes the existing entries in the background, and has to be
+ * shut down when the library is closed. Until the existing entries are indexed, no entry is ruled out.
+ */
+public class FieldTokenIndex {
+
+    /**
+     * Runs shorter than this occur in too many tokens to narrow down the search
+     */
+    private static final int MIN_PART_LENGTH = 2;
+
+    /**
+     * The existing entries are indexed in chunks, so that edits are not blocked for long
+     */
+    private static final int BUILD_CHUNK_SIZE = 500;
+
+    private static final Set<FieldTokenIndex> RUNNING_INSTANCES = new HashSet<>();
+
+    private final BibDatabaseContext bibDatabaseContext;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, IndexedEntry> entriesById = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private int nextDocId;
+    private volatile long modificationCount;
+
+    private volatile Candidates lastCandidates;
+    private Map<String, List<String>> lastMatchingTokens = Map.of();
+
+    private volatile boolean built;
+    private volatile boolean shutDown;
+    /**
+     * Entries removed before they were indexed by {@link #build()}, null once all existing entries are indexed
+     */
+    private Set<BibEntry> removedDuringBuild = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private FieldTokenIndex(BibDatabaseContext bibDatabaseContext) {
+        this.bibDatabaseContext = bibDatabaseContext;
+    }
+
+    /**
+     * Starts indexing the given library. The existing entries are indexed by the given executor.
+     */
+    public static FieldTokenIndex start(BibDatabaseContext bibDatabaseContext, Executor executor) {
+        Objects.requireNonNull(bibDatabaseContext);
+        FieldTokenIndex index = new FieldTokenIndex(bibDatabaseContext);
+        // register first, so that no change is lost while the existing entries are indexed
+        bibDatabaseContext.getDatabase().registerListener(index);
+        synchronized (RUNNING_INSTANCES) {
+            RUNNING_INSTANCES.add(index);
+        }
+        executor.execute(index::build);
+        return index;
+    }
+
+    /**
+     * Returns the index of the given library, if it has been started
+     */
+    public static Optional<FieldTokenIndex> get(BibDatabaseContext bibDatabaseContext) {
+        synchronized (RUNNING_INSTANCES) {
+            return RUNNING_INSTANCES.stream().filter(instance -> instance.bibDatabaseContext == bibDatabaseContext).findAny();
+        }
+    }
+
+    /**
+     * Stops updating the index of the given library and releases it
+     */
+    public static void shutdown(BibDatabaseContext bibDatabaseContext) {
+        synchronized (RUNNING_INSTANCES) {
+            RUNNING_INSTANCES.stream().filter(instance -> instance.bibDatabaseContext == bibDatabaseContext).forEach(instance -> {
+                instance.shutDown = true;
+                bibDatabaseContext.getDatabase().unregisterListener(instance);
+            });
+            RUNNING_INSTANCES.removeIf(instance -> instance.bibDatabaseContext == bibDatabaseContext);
+        }
+    }
+
+    /**
+     * Indexes the entries of the library. Changes made meanwhile are indexed by the listeners.
+     */
+    private void build() {
+        List<BibEntry> entries;
+        List<BibEntry> databaseEntries = bibDatabaseContext.getDatabase().getEntries();
+        synchronized (databaseEntries) {
+            entries = new ArrayList<>(databaseEntries);
+        }
+        for (int start = 0; (start < entries.size()) && !shutDown; start += BUILD_CHUNK_SIZE) {
+            List<BibEntry> chunk = entries.subList(start, Math.min(start + BUILD_CHUNK_SIZE, entries.size()));
+            synchronized (this) {
+                List<BibEntry> remainingEntries = new ArrayList<>(chunk.size());
+                for (BibEntry entry : chunk) {
+                    if (!removedDuringBuild.contains(entry)) {
+                        remainingEntries.add(entry);
+                    }
+                }
+                addEntries(remainingEntries);
+            }
+        }
+        synchronized (this) {
+            removedDuringBuild = null;
+            built = true;
+        }
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        addEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        removeEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        updateEntry(event.getBibEntry());
+    }
+
+    synchronized void addEntries(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            IndexedEntry indexed = entriesById.get(entry.getId());
+            if (indexed == null) {
+                int docId = freeDocIds.isEmpty() ? nextDocId++ : freeDocIds.poll();
+                indexed = new IndexedEntry(entry, docId);
+                entriesById.put(entry.getId(), indexed);
+                indexTokens(indexed);
+            } else if (indexed.entry == entry) {
+                reindexTokens(indexed);
+            }
+            // an entry with the id of an already indexed entry is not indexed and therefore never ruled out
+        }
+        modificationCount++;
+    }
+
+    synchronized void removeEntries(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            IndexedEntry indexed = entriesById.get(entry.getId());
+            if ((indexed != null) && (indexed.entry == entry)) {
+                unindexTokens(indexed);
+                entriesById.remove(entry.getId());
+                freeDocIds.push(indexed.docId);
+            } else if (removedDuringBuild != null) {
+                removedDuringBuild.add(entry);
+            }
+        }
+        modificationCount++;
+    }
+
+    synchronized void updateEntry(BibEntry entry) {
+        IndexedEntry indexed = entriesById.get(entry.getId());
+        if ((indexed != null) && (indexed.entry == entry)) {
+            reindexTokens(indexed);
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Checks whether the entry can contain all the given words, i.e., whether it has to be verified by a substring
+     * search. Entries which are not part of the index are never ruled out, neither is any entry as long as the existing
+     * entries are being indexed.
+     *
+     * @param words the words to search for, the case does not matter
+     * @return false if the entry certainly does not contain each of the words in one of its fields
+     */
+    public boolean mightContainAllWords(List<String> words, BibEntry entry) {
+        if (!built) {
+            return true;
+        }
+        IndexedEntry indexed = entriesById.get(entry.getId());
+        if ((indexed == null) || (indexed.entry != entry)) {
+            return true;
+        }
+        BitSet candidates = getCandidates(words).docIds;
+        return (candidates == null) || candidates.get(indexed.docId);
+    }
+
+    /**
+     * Queries are evaluated once and reused as long as the index does not change, since the search rule asks for each
+     * entry separately.
+     */
+    private Candidates getCandidates(List<String> words) {
+        Candidates candidates = lastCandidates;
+        if ((candidates != null) && (candidates.modificationCount == modificationCount) && candidates.words.equals(words)) {
+            return candidates;
+        }
+
+        synchronized (this) {
+            candidates = lastCandidates;
+            if ((candidates != null) && (candidates.modificationCount == modificationCount) && candidates.words.equals(words)) {
+                return candidates;
+            }
+            candidates = new Candidates(List.copyOf(words), modificationCount, computeCandidates(words));
+            lastCandidates = candidates;
+            return candidates;
+        }
+    }
+
+    /**
+     * @return the ids of the entries possibly containing all words, null if the words do not restrict the entries
+     */
+    private BitSet computeCandidates(List<String> words) {
+        if ((lastCandidates == null) || (lastCandidates.modificationCount != modificationCount)) {
+            lastMatchingTokens = Map.of();
+        }
+
+        Map<String, List<String>> matchingTokens = new HashMap<>();
+        BitSet result = null;
+        for (String word : words) {
+            Set<String> parts = new HashSet<>();
+            tokenize(word.toLowerCase(Locale.ROOT), part -> {
+                if (part.length() >= MIN_PART_LENGTH) {
+                    parts.add(part);
+                }
+            });
+
+            for (String part : parts) {
+                List<String> tokens = findTokensContaining(part);
+                matchingTokens.put(part, tokens);
+
+                BitSet docIds = new BitSet(nextDocId);
+                for (String token : tokens) {
+                    postings.get(token).addTo(docIds);
+                }
+                if (result == null) {
+                    result = docIds;
+                } else {
+                    result.and(docIds);
+                }
+            }
+        }
+        lastMatchingTokens = matchingTokens;
+        return result;
+    }
+
+    /**
+     * While typing, the words of a query grow character by character. If a part of the previous query is contained in
+     * the new part, only the tokens matching the previous part have to be checked.
+     */
+    private List<String> findTokensContaining(String part) {
+        Collection<String> tokensToCheck = postings.keySet();
+        for (Map.Entry<String, List<String>> previous : lastMatchingTokens.entrySet()) {
+            if (part.contains(previous.getKey()) && (previous.getValue().size() < tokensToCheck.size())) {
+                tokensToCheck = previous.getValue();
+            }
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : tokensToCheck) {
+            if (token.contains(part)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void indexTokens(IndexedEntry indexed) {
+        indexed.tokens = getTokens(indexed.entry);
+        for (String token : indexed.tokens) {
+            postings.computeIfAbsent(token, key -> new PostingList()).add(indexed.docId);
+        }
+    }
+
+    private void unindexTokens(IndexedEntry indexed) {
+        for (String token : indexed.tokens) {
+            PostingList postingList = postings.get(token);
+            postingList.remove(indexed.docId);
+            if (postingList.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+        indexed.tokens = Set.of();
+    }
+
+    private void reindexTokens(IndexedEntry indexed) {
+        Set<String> oldTokens = indexed.tokens;
+        Set<String> newTokens = getTokens(indexed.entry);
+        for (String token : oldTokens) {
+            if (!newTokens.contains(token)) {
+                PostingList postingList = postings.get(token);
+                postingList.remove(indexed.docId);
+                if (postingList.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        for (String token : newTokens) {
+            if (!oldTokens.contains(token)) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(indexed.docId);
+            }
+        }
+        indexed.tokens = newTokens;
+    }
+
+    private static Set<String> getTokens(BibEntry entry) {
+        Set<String> tokens = new HashSet<>();
+        for (Field field : entry.getFields()) {
+            entry.getLatexFreeField(field).ifPresent(content -> tokenize(content.toLowerCase(Locale.ROOT), tokens::add));
+        }
+        return tokens;
+    }
+
+    /**
+     * Splits the text into maximal runs of letters and digits
+     */
+    static void tokenize(String text, Consumer<String> tokenConsumer) {
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokenConsumer.accept(text.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokenConsumer.accept(text.substring(start));
+        }
+    }
+
+    private static class IndexedEntry {
+        private final BibEntry entry;
+        private final int docId;
+        private Set<String> tokens = Set.of();
+
+        IndexedEntry(BibEntry entry, int docId) {
+            this.entry = entry;
+            this.docId = docId;
+        }
+    }
+
+    private static class Candidates {
+        private final List<String> words;
+        private final long modificationCount;
+        private final BitSet docIds;
+
+        Candidates(List<String> words, long modificationCount, BitSet docIds) {
+            this.words = words;
+            this.modificationCount = modificationCount;
+            this.docIds = docIds;
+        }
+    }
+
+    /**
+     * Sorted list of entry ids
+     */
+    private static class PostingList {
+        private int[] docIds = new int[2];
+        private int size;
+
+        void add(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            System.arraycopy(docIds, position, docIds, position + 1, size - position);
+            docIds[position] = docId;
+            size++;
+        }
+
+        void remove(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+            size--;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(BitSet bitSet) {
+            for (int i = 0; i < size; i++) {
+                bitSet.set(docIds[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.jabref.logic.shared;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notification about a change of a shared database, sent by one client to the others.
+ * <p>
+ * If the change affects only some entries, the notification names them by their shared ids, so that the receiving
+ * clients only have to fetch these entries. Otherwise (e.g., when the meta data changed), the notification does not
+ * name any entry and the receiving clients synchronize the whole library.
+ * <p>
+ * A notification is transferred as text: the id of the sending {@link DBMSProcessor}, optionally followed by a colon
+ * and the comma separated shared ids.
+ */
+public class ChangeNotification {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeNotification.class);
+
+    private static final String IDS_SEPARATOR = ":";
+    private static final String ID_DELIMITER = ",";
+
+    private final String processorID;
+    private final Set<Integer> sharedIDs;
+
+    private ChangeNotification(String processorID, Set<Integer> sharedIDs) {
+        this.processorID = Objects.requireNonNull(processorID);
+        this.sharedIDs = sharedIDs;
+    }
+
+    /**
+     * Notification of this client requiring a synchronization of the whole library.
+     */
+    public static ChangeNotification ofLibrary() {
+        return new ChangeNotification(DBMSProcessor.PROCESSOR_ID, Collections.emptySet());
+    }
+
+    /**
+     * Notification of this client about changes of the given entries, which have been inserted, updated or removed.
+     */
+    public static ChangeNotification ofEntries(Collection<Integer> sharedIDs) {
+        return new ChangeNotification(DBMSProcessor.PROCESSOR_ID, new TreeSet<>(sharedIDs));
+    }
+
+    /**
+     * Reads a notification from its text. If the text cannot be read completely, the notification requires a
+     * synchronization of the whole library.
+     */
+    public static ChangeNotification parse(String payload) {
+        int separatorIndex = payload.indexOf(IDS_SEPARATOR);
+        if (separatorIndex < 0) {
+            return new ChangeNotification(payload, Collections.emptySet());
+        }
+
+        String processorID = payload.substring(0, separatorIndex);
+        Set<Integer> sharedIDs = new TreeSet<>();
+        try {
+            for (String sharedID : payload.substring(separatorIndex + 1).split(ID_DELIMITER)) {
+                sharedIDs.add(Integer.parseInt(sharedID));
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Could not read shared ids of notification {}", payload, e);
+            sharedIDs.clear();
+        }
+        return new ChangeNotification(processorID, sharedIDs);
+    }
+
+    /**
+     * Returns the text of the notification. If there are so many entries that the text would be longer than the given
+     * length, the notification is turned into one requiring a synchronization of the whole library.
+     */
+    public String toPayload(int maxLength) {
+        if (sharedIDs.isEmpty()) {
+            return processorID;
+        }
+        String payload = processorID + IDS_SEPARATOR + sharedIDs.stream()
+                                                                .map(String::valueOf)
+                                                                .collect(Collectors.joining(ID_DELIMITER));
+        return (payload.length() <= maxLength) ? payload : processorID;
+    }
+
+    /**
+     * Checks whether the notification has been sent by another client.
+     */
+    public boolean isFromOtherClient() {
+        return !DBMSProcessor.PROCESSOR_ID.equals(processorID);
+    }
+
+    /**
+     * Checks whether the notification requires a synchronization of the whole library.
+     */
+    public boolean isLibraryChange() {
+        return sharedIDs.isEmpty();
+    }
+
+    /**
+     * Returns the shared ids of the changed entries, empty if the whole library has to be synchronized.
+     */
+    public Set<Integer> getSharedIDs() {
+        return Collections.unmodifiableSet(sharedIDs);
+    }
+}
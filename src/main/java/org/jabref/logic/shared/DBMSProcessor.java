@@ -2,6 +2,7 @@ package org.jabref.logic.shared;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -38,6 +39,11 @@ public abstract class DBMSProcessor {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DBMSProcessor.class);
 
+    /**
+     * Oracle allows at most 1000 expressions in an IN list
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
     protected final Connection connection;
 
     protected DatabaseConnectionProperties connectionProperties;
@@ -285,52 +291,67 @@ public abstract class DBMSProcessor {
      * Updates the whole {@link BibEntry} on shared database.
      *
      * @param localBibEntry {@link BibEntry} affected by changes
+     * @throws OfflineLockException if the shared entry has been changed in the meantime
      * @throws SQLException
      */
     public void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
+        List<OfflineLockException> refusedUpdates = updateEntries(Collections.singletonList(localBibEntry));
+        if (!refusedUpdates.isEmpty()) {
+            throw refusedUpdates.get(0);
+        }
+    }
+
+    /**
+     * Updates the given {@link BibEntry}s on shared database in one transaction. The fields of all entries are written
+     * by batched statements, so that the number of round trips does not depend on the number of entries and fields.
+     * <p>
+     * An entry is only updated if its local version is not older than the shared one or both are equal. The other
+     * entries are left unchanged and reported as conflicts.
+     *
+     * @param localBibEntries {@link BibEntry}s affected by changes
+     * @return the conflicts of the entries which have not been updated
+     * @throws SQLException
+     */
+    public List<OfflineLockException> updateEntries(List<BibEntry> localBibEntries) throws SQLException {
+        List<OfflineLockException> refusedUpdates = new ArrayList<>();
+        if (localBibEntries.isEmpty()) {
+            return refusedUpdates;
+        }
+
         connection.setAutoCommit(false); // disable auto commit due to transaction
 
         try {
-            Optional<BibEntry> sharedEntryOptional = getSharedEntry(localBibEntry.getSharedBibEntryData().getSharedID());
-
-            if (!sharedEntryOptional.isPresent()) {
-                return;
+            List<Integer> sharedIDs = localBibEntries.stream()
+                                                     .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                                                     .collect(Collectors.toList());
+            Map<Integer, BibEntry> sharedBibEntries = new HashMap<>();
+            for (BibEntry sharedBibEntry : getSharedEntries(sharedIDs)) {
+                sharedBibEntries.put(sharedBibEntry.getSharedBibEntryData().getSharedID(), sharedBibEntry);
             }
 
-            BibEntry sharedBibEntry = sharedEntryOptional.get();
-
-            // remove shared fields which do not exist locally
-            removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
-
-            // update only if local version is higher or the entries are equal
-            if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
-                                                                                     .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
-
-                insertOrUpdateFields(localBibEntry);
-
-                // updating entry type
-                StringBuilder updateEntryTypeQuery = new StringBuilder()
-                        .append("UPDATE ")
-                        .append(escape("ENTRY"))
-                        .append(" SET ")
-                        .append(escape("TYPE"))
-                        .append(" = ?, ")
-                        .append(escape("VERSION"))
-                        .append(" = ")
-                        .append(escape("VERSION"))
-                        .append(" + 1 WHERE ")
-                        .append(escape("SHARED_ID"))
-                        .append(" = ?");
-
-                try (PreparedStatement preparedUpdateEntryTypeStatement = connection.prepareStatement(updateEntryTypeQuery.toString())) {
-                    preparedUpdateEntryTypeStatement.setString(1, localBibEntry.getType().getName());
-                    preparedUpdateEntryTypeStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                    preparedUpdateEntryTypeStatement.executeUpdate();
+            List<BibEntry> entriesToUpdate = new ArrayList<>();
+            for (BibEntry localBibEntry : localBibEntries) {
+                BibEntry sharedBibEntry = sharedBibEntries.get(localBibEntry.getSharedBibEntryData().getSharedID());
+                if (sharedBibEntry == null) {
+                    continue;
                 }
 
+                // update only if local version is higher or the entries are equal
+                if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
+                                                                                         .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
+                    entriesToUpdate.add(localBibEntry);
+                } else {
+                    refusedUpdates.add(new OfflineLockException(localBibEntry, sharedBibEntry));
+                }
+            }
+
+            if (!entriesToUpdate.isEmpty()) {
+                // remove shared fields which do not exist locally
+                removeSharedFieldsByDifference(entriesToUpdate, sharedBibEntries);
+                insertOrUpdateFields(entriesToUpdate, sharedBibEntries);
+                updateEntryTypes(entriesToUpdate);
+
                 connection.commit(); // apply all changes in current transaction
-            } else {
-                throw new OfflineLockException(localBibEntry, sharedBibEntry);
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
@@ -338,102 +359,130 @@ public abstract class DBMSProcessor {
         } finally {
             connection.setAutoCommit(true); // enable auto commit mode again
         }
+        return refusedUpdates;
     }
 
     /**
      * Helping method. Removes shared fields which do not exist locally
      */
-    private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
-        Set<Field> nullFields = new HashSet<>(sharedBibEntry.getFields());
-        nullFields.removeAll(localBibEntry.getFields());
-        for (Field nullField : nullFields) {
-            StringBuilder deleteFieldQuery = new StringBuilder()
-                    .append("DELETE FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+    private void removeSharedFieldsByDifference(List<BibEntry> localBibEntries, Map<Integer, BibEntry> sharedBibEntries) throws SQLException {
+        StringBuilder deleteFieldQuery = new StringBuilder()
+                .append("DELETE FROM ")
+                .append(escape("FIELD"))
+                .append(" WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
 
-            try (PreparedStatement preparedDeleteFieldStatement = connection
-                    .prepareStatement(deleteFieldQuery.toString())) {
-                preparedDeleteFieldStatement.setString(1, nullField.getName());
-                preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+        try (PreparedStatement preparedDeleteFieldStatement = connection.prepareStatement(deleteFieldQuery.toString())) {
+            int batchSize = 0;
+            for (BibEntry localBibEntry : localBibEntries) {
+                int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+                Set<Field> nullFields = new HashSet<>(sharedBibEntries.get(sharedID).getFields());
+                nullFields.removeAll(localBibEntry.getFields());
+                for (Field nullField : nullFields) {
+                    preparedDeleteFieldStatement.setString(1, nullField.getName());
+                    preparedDeleteFieldStatement.setInt(2, sharedID);
+                    preparedDeleteFieldStatement.addBatch();
+                    batchSize++;
+                }
+            }
+            if (batchSize > 0) {
+                preparedDeleteFieldStatement.executeBatch();
             }
         }
     }
 
     /**
-     * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an
-     * update is performed.
+     * Helping method. Inserts a key-value pair into FIELD table for every field not existing in the shared entry.
+     * Otherwise only an update is performed, if the value has changed.
+     * <p>
+     * The shared entries have just been read for the version check, hence it is known which fields already exist and
+     * no native upsert is needed. This also works for shared databases without a unique key on the FIELD table.
      */
-    private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (Field field : localBibEntry.getFields()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(field);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
-            }
+    private void insertOrUpdateFields(List<BibEntry> localBibEntries, Map<Integer, BibEntry> sharedBibEntries) throws SQLException {
+        StringBuilder updateFieldQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("FIELD"))
+                .append(" SET ")
+                .append(escape("VALUE"))
+                .append(" = ? WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
 
-            StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
-
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery.toString())) {
-                preparedSelectFieldStatement.setString(1, field.getName());
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        StringBuilder updateFieldQuery = new StringBuilder()
-                                .append("UPDATE ")
-                                .append(escape("FIELD"))
-                                .append(" SET ")
-                                .append(escape("VALUE"))
-                                .append(" = ? WHERE ")
-                                .append(escape("NAME"))
-                                .append(" = ? AND ")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(" = ?");
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery.toString())) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, field.getName());
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        StringBuilder insertFieldQuery = new StringBuilder()
-                                .append("INSERT INTO ")
-                                .append(escape("FIELD"))
-                                .append("(")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES(?, ?, ?)");
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery.toString())) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, field.getName());
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
+        StringBuilder insertFieldQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)");
+
+        try (PreparedStatement preparedUpdateFieldStatement = connection.prepareStatement(updateFieldQuery.toString());
+             PreparedStatement preparedInsertFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+            int updateBatchSize = 0;
+            int insertBatchSize = 0;
+            for (BibEntry localBibEntry : localBibEntries) {
+                int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+                BibEntry sharedBibEntry = sharedBibEntries.get(sharedID);
+                for (Field field : localBibEntry.getFields()) {
+                    // null values are accepted by PreparedStatement!
+                    String value = localBibEntry.getField(field).orElse(null);
+                    Optional<String> sharedValue = sharedBibEntry.getField(field);
+                    if (sharedValue.isEmpty()) {
+                        preparedInsertFieldStatement.setInt(1, sharedID);
+                        preparedInsertFieldStatement.setString(2, field.getName());
+                        preparedInsertFieldStatement.setString(3, value);
+                        preparedInsertFieldStatement.addBatch();
+                        insertBatchSize++;
+                    } else if (!sharedValue.get().equals(value)) {
+                        preparedUpdateFieldStatement.setString(1, value);
+                        preparedUpdateFieldStatement.setString(2, field.getName());
+                        preparedUpdateFieldStatement.setInt(3, sharedID);
+                        preparedUpdateFieldStatement.addBatch();
+                        updateBatchSize++;
                     }
                 }
             }
+            if (updateBatchSize > 0) {
+                preparedUpdateFieldStatement.executeBatch();
+            }
+            if (insertBatchSize > 0) {
+                preparedInsertFieldStatement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Helping method. Updates the entry types and increments the versions of the given entries.
+     */
+    private void updateEntryTypes(List<BibEntry> localBibEntries) throws SQLException {
+        StringBuilder updateEntryTypeQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("ENTRY"))
+                .append(" SET ")
+                .append(escape("TYPE"))
+                .append(" = ?, ")
+                .append(escape("VERSION"))
+                .append(" = ")
+                .append(escape("VERSION"))
+                .append(" + 1 WHERE ")
+                .append(escape("SHARED_ID"))
+                .append(" = ?");
+
+        try (PreparedStatement preparedUpdateEntryTypeStatement = connection.prepareStatement(updateEntryTypeQuery.toString())) {
+            for (BibEntry localBibEntry : localBibEntries) {
+                preparedUpdateEntryTypeStatement.setString(1, localBibEntry.getType().getName());
+                preparedUpdateEntryTypeStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
+                preparedUpdateEntryTypeStatement.addBatch();
+            }
+            preparedUpdateEntryTypeStatement.executeBatch();
         }
     }
 
@@ -480,7 +529,8 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Queries the database for shared entries. Optionally, they are filtered by the given list of sharedIds
+     * Queries the database for shared entries. Optionally, they are filtered by the given list of sharedIds. Long lists
+     * of ids are queried in chunks.
      *
      * @param sharedIDs the list of Ids to filter. If list is empty, then no filter is applied
      */
@@ -488,6 +538,12 @@ public abstract class DBMSProcessor {
         Objects.requireNonNull(sharedIDs);
 
         List<BibEntry> sharedEntries = new ArrayList<>();
+        if (sharedIDs.size() > MAX_IDS_PER_QUERY) {
+            for (int i = 0; i < sharedIDs.size(); i += MAX_IDS_PER_QUERY) {
+                sharedEntries.addAll(getSharedEntries(sharedIDs.subList(i, Math.min(i + MAX_IDS_PER_QUERY, sharedIDs.size()))));
+            }
+            return sharedEntries;
+        }
 
         StringBuilder query = new StringBuilder();
         query.append("SELECT ")
@@ -561,7 +617,11 @@ public abstract class DBMSProcessor {
     public Map<Integer, Integer> getSharedIDVersionMapping() {
         Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
         StringBuilder selectEntryQuery = new StringBuilder()
-                .append("SELECT * FROM ")
+                .append("SELECT ")
+                .append(escape("SHARED_ID"))
+                .append(", ")
+                .append(escape("VERSION"))
+                .append(" FROM ")
                 .append(escape("ENTRY"))
                 .append(" ORDER BY ")
                 .append(escape("SHARED_ID"));
@@ -658,6 +718,19 @@ public abstract class DBMSProcessor {
         return this.connectionProperties;
     }
 
+    /**
+     * Opens a connection of its own for a notification listener, so that listening does not block the connection used
+     * to read and write the library. Without properties to open a connection (e.g., in tests), the connection of this
+     * processor is returned.
+     */
+    protected Connection openListenerConnection() throws SQLException {
+        if (connectionProperties instanceof DBMSConnectionProperties) {
+            DBMSConnectionProperties properties = (DBMSConnectionProperties) connectionProperties;
+            return DriverManager.getConnection(properties.getUrl(), properties.asProperties());
+        }
+        return connection;
+    }
+
     /**
      * Listens for notifications from DBMS. Needs to be implemented if LiveUpdate is supported by the DBMS
      *
@@ -675,10 +748,18 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Notifies all clients ({@link DBMSSynchronizer}) which are connected to the same DBMS. Needs to be implemented if
-     * LiveUpdate is supported by the DBMS
+     * Notifies all clients ({@link DBMSSynchronizer}) which are connected to the same DBMS that the whole library has
+     * changed.
      */
     public void notifyClients() {
+        notifyClients(ChangeNotification.ofLibrary());
+    }
+
+    /**
+     * Notifies all clients ({@link DBMSSynchronizer}) which are connected to the same DBMS about the given change. Needs
+     * to be implemented if LiveUpdate is supported by the DBMS
+     */
+    public void notifyClients(@SuppressWarnings("unused") ChangeNotification notification) {
         // nothing to do
     }
 }
@@ -3,6 +3,7 @@ package org.jabref.logic.shared;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -82,6 +83,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             pullWithLastEntry();
             synchronizeLocalDatabase();
             dbmsProcessor.insertEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients(ChangeNotification.ofEntries(getSharedIDs(event.getBibEntries())));
             // Reset last changed entry because it just has already been synchronized -> Why necessary?
             lastEntryChanged = Optional.empty();
         }
@@ -122,6 +124,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             synchronizeLocalMetaData();
             pullWithLastEntry();
             dbmsProcessor.removeEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients(ChangeNotification.ofEntries(getSharedIDs(event.getBibEntries())));
             synchronizeLocalDatabase();
         }
     }
@@ -185,38 +188,29 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
 
         // remove old entries locally
         removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        Map<Integer, List<BibEntry>> localEntriesBySharedID = localEntries.stream()
+                                                                          .collect(Collectors.groupingBy(localEntry -> localEntry.getSharedBibEntryData().getSharedID()));
+        List<Integer> entriesToUpdateInLocalDatabase = new ArrayList<>();
         List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
-        // compare versions and update local entry if needed
+        // compare versions to find the local entries which need an update
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
+            List<BibEntry> matchingLocalEntries = localEntriesBySharedID.get(idVersionEntry.getKey());
+            if (matchingLocalEntries == null) {
+                entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+            } else if (matchingLocalEntries.stream().anyMatch(localEntry -> idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion())) {
+                entriesToUpdateInLocalDatabase.add(idVersionEntry.getKey());
+            }
+        }
+
+        if (!entriesToUpdateInLocalDatabase.isEmpty()) {
+            // fetch all outdated entries at once
+            for (BibEntry sharedEntry : dbmsProcessor.getSharedEntries(entriesToUpdateInLocalDatabase)) {
+                for (BibEntry localEntry : localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID())) {
+                    if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                        updateLocalEntry(localEntry, sharedEntry);
                     }
                 }
             }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
-                entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
-            }
         }
 
         if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
@@ -225,6 +219,25 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         }
     }
 
+    /**
+     * Copies type, version and fields of the shared entry to the local one.
+     */
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData().setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .forEach(
+                          field -> localEntry.clearField(field, EntriesEventSource.SHARED)
+                  );
+    }
+
     /**
      * Removes all local entries which are not present on shared database.
      *
@@ -254,6 +267,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         try {
             BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
             dbmsProcessor.updateEntry(bibEntry);
+            dbmsProcessor.notifyClients(ChangeNotification.ofEntries(List.of(bibEntry.getSharedBibEntryData().getSharedID())));
         } catch (OfflineLockException exception) {
             eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
         } catch (SQLException e) {
@@ -300,17 +314,16 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         if (!checkCurrentConnection()) {
             return;
         }
-        for (BibEntry bibEntry : bibDatabase.getEntries()) {
-            try {
-                // synchronize only if changes were present
-                if (!BibDatabaseWriter.applySaveActions(bibEntry, metaData).isEmpty()) {
-                    dbmsProcessor.updateEntry(bibEntry);
-                }
-            } catch (OfflineLockException exception) {
+        // synchronize only entries with changes, all in one transaction
+        List<BibEntry> changedEntries = bibDatabase.getEntries().stream()
+                                                   .filter(bibEntry -> !BibDatabaseWriter.applySaveActions(bibEntry, metaData).isEmpty())
+                                                   .collect(Collectors.toList());
+        try {
+            for (OfflineLockException exception : dbmsProcessor.updateEntries(changedEntries)) {
                 eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
-            } catch (SQLException e) {
-                LOGGER.error("SQL Error: ", e);
             }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
         }
     }
 
@@ -328,6 +341,70 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         synchronizeLocalMetaData();
     }
 
+    /**
+     * Synchronizes the local database with the changes other clients notified about. If all notifications name the
+     * changed entries, only these entries are synchronized.
+     */
+    public void pullChanges(List<ChangeNotification> notifications) {
+        List<ChangeNotification> changesOfOtherClients = notifications.stream()
+                                                                     .filter(ChangeNotification::isFromOtherClient)
+                                                                     .collect(Collectors.toList());
+        if (changesOfOtherClients.isEmpty()) {
+            return;
+        }
+        if (changesOfOtherClients.stream().anyMatch(ChangeNotification::isLibraryChange)) {
+            pullChanges();
+            return;
+        }
+        if (!checkCurrentConnection()) {
+            return;
+        }
+
+        Set<Integer> changedSharedIDs = new HashSet<>();
+        changesOfOtherClients.forEach(notification -> changedSharedIDs.addAll(notification.getSharedIDs()));
+        pullWithLastEntry();
+        synchronizeLocalEntries(changedSharedIDs);
+    }
+
+    /**
+     * Synchronizes the local entries with the given shared ids. The entries are inserted, updated or removed locally,
+     * depending on whether they are present on the shared database.
+     */
+    private void synchronizeLocalEntries(Set<Integer> sharedIDs) {
+        List<BibEntry> localEntries = bibDatabase.getEntries().stream()
+                                                 .filter(localEntry -> sharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID()))
+                                                 .collect(Collectors.toList());
+        List<BibEntry> sharedEntries = dbmsProcessor.getSharedEntries(new ArrayList<>(sharedIDs));
+
+        // remove old entries locally
+        removeNotSharedEntries(localEntries, getSharedIDs(sharedEntries));
+        Map<Integer, List<BibEntry>> localEntriesBySharedID = localEntries.stream()
+                                                                          .collect(Collectors.groupingBy(localEntry -> localEntry.getSharedBibEntryData().getSharedID()));
+        List<BibEntry> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        for (BibEntry sharedEntry : sharedEntries) {
+            List<BibEntry> matchingLocalEntries = localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (matchingLocalEntries == null) {
+                entriesToInsertIntoLocalDatabase.add(sharedEntry);
+                continue;
+            }
+            for (BibEntry localEntry : matchingLocalEntries) {
+                if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                    updateLocalEntry(localEntry, sharedEntry);
+                }
+            }
+        }
+
+        if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
+            bibDatabase.insertEntries(entriesToInsertIntoLocalDatabase, EntriesEventSource.SHARED);
+        }
+    }
+
+    private static Set<Integer> getSharedIDs(List<BibEntry> bibEntries) {
+        return bibEntries.stream()
+                         .map(bibEntry -> bibEntry.getSharedBibEntryData().getSharedID())
+                         .collect(Collectors.toSet());
+    }
+
     // Synchronizes local BibEntries only if last entry changes still remain
     public void pullLastEntryChanges() {
         if (!lastEntryChanged.isEmpty()) {
@@ -1,12 +1,27 @@
 package org.jabref.logic.shared;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
+import org.jabref.gui.JabRefExecutorService;
+import org.jabref.logic.shared.listener.MySQLNotificationListener;
+
 /**
  * Processes all incoming or outgoing bib data to MySQL Database and manages its structure.
+ * <p>
+ * As MySQL does not support notifications, they are written to the table CHANGE_LOG, which is polled by the clients.
  */
 public class MySQLProcessor extends DBMSProcessor {
 
+    /**
+     * Maximum length of a TEXT column
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 65535;
+
+    private MySQLNotificationListener listener;
+    private Connection listenerConnection;
+
     public MySQLProcessor(DatabaseConnection connection) {
         super(connection);
     }
@@ -35,10 +50,63 @@ public class MySQLProcessor extends DBMSProcessor {
                 "CREATE TABLE IF NOT EXISTS `METADATA` (" +
                         "`KEY` varchar(255) NOT NULL," +
                         "`VALUE` text NOT NULL)");
+
+        setUpChangeLog();
+    }
+
+    /**
+     * Creates the table of notifications, which is missing in shared databases created by older versions of JabRef.
+     */
+    private void setUpChangeLog() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `CHANGE_LOG` (" +
+                        "`ID` INT(11) NOT NULL PRIMARY KEY AUTO_INCREMENT, " +
+                        "`PAYLOAD` TEXT NOT NULL, " +
+                        "`CREATED` TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
     }
 
     @Override
     String escape(String expression) {
         return "`" + expression + "`";
     }
+
+    @Override
+    public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
+        try {
+            setUpChangeLog();
+            // notifications older than a day are not needed by any client anymore
+            connection.createStatement().executeUpdate(
+                    "DELETE FROM `CHANGE_LOG` WHERE `CREATED` < NOW() - INTERVAL 1 DAY");
+            // The listener polls on a connection of its own, so that polling does not compete with reading and writing
+            listenerConnection = openListenerConnection();
+            listener = new MySQLNotificationListener(dbmsSynchronizer, listenerConnection);
+            JabRefExecutorService.INSTANCE.execute(listener);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
+    }
+
+    @Override
+    public void stopNotificationListener() {
+        if (listener != null) {
+            listener.stop();
+        }
+        try {
+            if ((listenerConnection != null) && (listenerConnection != connection)) {
+                listenerConnection.close();
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
+    }
+
+    @Override
+    public void notifyClients(ChangeNotification notification) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO `CHANGE_LOG`(`PAYLOAD`) VALUES(?)")) {
+            preparedStatement.setString(1, notification.toPayload(MAX_PAYLOAD_LENGTH));
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package org.jabref.logic.shared;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -17,7 +18,13 @@ import org.postgresql.PGConnection;
  */
 public class PostgreSQLProcessor extends DBMSProcessor {
 
+    /**
+     * PostgreSQL limits the payload of a notification to less than 8000 bytes
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 7999;
+
     private PostgresSQLNotificationListener listener;
+    private Connection listenerConnection;
 
     public PostgreSQLProcessor(DatabaseConnection connection) {
         super(connection);
@@ -93,10 +100,12 @@ public class PostgreSQLProcessor extends DBMSProcessor {
         // Disable cleanup output of ThreadedHousekeeper
         // Logger.getLogger(ThreadedHousekeeper.class.getName()).setLevel(Level.SEVERE);
         try {
-            connection.createStatement().execute("LISTEN jabrefLiveUpdate");
+            // The listener waits for notifications on a connection of its own, as waiting blocks the connection
+            listenerConnection = openListenerConnection();
+            listenerConnection.createStatement().execute("LISTEN jabrefLiveUpdate");
             // Do not use `new PostgresSQLNotificationListener(...)` as the object has to exist continuously!
             // Otherwise the listener is going to be deleted by GC.
-            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            PGConnection pgConnection = listenerConnection.unwrap(PGConnection.class);
             listener = new PostgresSQLNotificationListener(dbmsSynchronizer, pgConnection);
             JabRefExecutorService.INSTANCE.execute(listener);
         } catch (SQLException e) {
@@ -108,6 +117,9 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     public void stopNotificationListener() {
         try {
             listener.stop();
+            if (listenerConnection != connection) {
+                listenerConnection.close();
+            }
             connection.close();
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
@@ -115,9 +127,10 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void notifyClients() {
+    public void notifyClients(ChangeNotification notification) {
         try {
-            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + PROCESSOR_ID + "';");
+            // the payload consists of digits, separators and the processor id only
+            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + notification.toPayload(MAX_PAYLOAD_LENGTH) + "';");
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
@@ -0,0 +1,76 @@
+package org.jabref.logic.shared.listener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.logic.shared.ChangeNotification;
+import org.jabref.logic.shared.DBMSSynchronizer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A listener for the notifications written to the CHANGE_LOG table of a MySQL database. Only the notifications written
+ * after the listener has been started are read.
+ */
+public class MySQLNotificationListener implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MySQLNotificationListener.class);
+
+    private static final int POLLING_INTERVAL_MILLIS = 500;
+
+    private final DBMSSynchronizer dbmsSynchronizer;
+    private final Connection connection;
+    private volatile boolean stop;
+
+    public MySQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, Connection connection) {
+        this.dbmsSynchronizer = dbmsSynchronizer;
+        this.connection = connection;
+    }
+
+    @Override
+    public void run() {
+        stop = false;
+        try {
+            int lastID = getLastID();
+            while (!stop) {
+                List<ChangeNotification> changes = new ArrayList<>();
+                try (PreparedStatement preparedStatement = connection.prepareStatement(
+                        "SELECT `ID`, `PAYLOAD` FROM `CHANGE_LOG` WHERE `ID` > ? ORDER BY `ID`")) {
+                    preparedStatement.setInt(1, lastID);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            lastID = resultSet.getInt("ID");
+                            changes.add(ChangeNotification.parse(resultSet.getString("PAYLOAD")));
+                        }
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    dbmsSynchronizer.pullChanges(changes);
+                }
+
+                // Wait a while before checking again for new notifications
+                Thread.sleep(POLLING_INTERVAL_MILLIS);
+            }
+        } catch (SQLException | InterruptedException exception) {
+            if (!stop) {
+                LOGGER.error("Error while listening for updates to MySQL", exception);
+            }
+        }
+    }
+
+    private int getLastID() throws SQLException {
+        try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT MAX(`ID`) FROM `CHANGE_LOG`")) {
+            // MAX of an empty table is NULL, which is read as 0
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    public void stop() {
+        stop = true;
+    }
+}
@@ -1,8 +1,10 @@
 package org.jabref.logic.shared.listener;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
-import org.jabref.logic.shared.DBMSProcessor;
+import org.jabref.logic.shared.ChangeNotification;
 import org.jabref.logic.shared.DBMSSynchronizer;
 
 import org.postgresql.PGConnection;
@@ -17,6 +19,8 @@ public class PostgresSQLNotificationListener implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSQLNotificationListener.class);
 
+    private static final int NOTIFICATION_TIMEOUT_MILLIS = 5000;
+
     private final DBMSSynchronizer dbmsSynchronizer;
     private final PGConnection pgConnection;
     private volatile boolean stop;
@@ -32,21 +36,21 @@ public class PostgresSQLNotificationListener implements Runnable {
         try {
             // noinspection InfiniteLoopStatement
             while (!stop) {
-                PGNotification notifications[] = pgConnection.getNotifications();
+                // Blocks until notifications arrive, the timeout only serves to notice that the listener is stopped
+                PGNotification notifications[] = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MILLIS);
 
-                if (notifications != null) {
+                if ((notifications != null) && (notifications.length > 0)) {
+                    List<ChangeNotification> changes = new ArrayList<>(notifications.length);
                     for (PGNotification notification : notifications) {
-                        if (!notification.getName().equals(DBMSProcessor.PROCESSOR_ID)) {
-                            dbmsSynchronizer.pullChanges();
-                        }
+                        changes.add(ChangeNotification.parse(notification.getParameter()));
                     }
+                    dbmsSynchronizer.pullChanges(changes);
                 }
-
-                // Wait a while before checking again for new notifications
-                Thread.sleep(500);
             }
-        } catch (SQLException | InterruptedException exception) {
-            LOGGER.error("Error while listening for updates to PostgresSQL", exception);
+        } catch (SQLException exception) {
+            if (!stop) {
+                LOGGER.error("Error while listening for updates to PostgresSQL", exception);
+            }
         }
     }
 
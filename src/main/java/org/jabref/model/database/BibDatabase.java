@@ -7,7 +7,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -31,6 +33,7 @@ import org.jabref.model.entry.event.EntryChangedEvent;
 import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.strings.StringUtil;
 
@@ -53,6 +56,12 @@ public class BibDatabase {
     private final ObservableList<BibEntry> entries = FXCollections.synchronizedObservableList(FXCollections.observableArrayList(BibEntry::getObservables));
     private Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
 
+    /**
+     * Index from citation key to the entries having that key, in the order they appear in the database.
+     * Kept in sync on insertion, removal and citation key changes. Guarded by <code>this</code>.
+     */
+    private final Map<String, List<BibEntry>> entriesByCitationKey = new HashMap<>();
+
     private final EventBus eventBus = new EventBus();
 
     private String preamble;
@@ -140,12 +149,11 @@ public class BibDatabase {
      * Returns the entry with the given citation key.
      */
     public synchronized Optional<BibEntry> getEntryByCitationKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCitationKey().orElse(null))) {
-                return Optional.of(entry);
-            }
+        List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+        if (entriesWithKey == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.of(entriesWithKey.get(0));
     }
 
     /**
@@ -155,16 +163,7 @@ public class BibDatabase {
      * @return list of entries that contains the given key
      */
     public synchronized List<BibEntry> getEntriesByCitationKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            entry.getCitationKey().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
-        }
-        return result;
+        return new ArrayList<>(entriesByCitationKey.getOrDefault(key, Collections.emptyList()));
     }
 
     /**
@@ -205,6 +204,9 @@ public class BibDatabase {
             eventBus.post(new EntriesAddedEvent(newEntries, newEntries.get(0), eventSource));
         }
         entries.addAll(newEntries);
+        for (BibEntry entry : newEntries) {
+            entry.getCitationKey().ifPresent(key -> addToCitationKeyIndex(key, entry));
+        }
     }
 
     public synchronized void removeEntry(BibEntry bibEntry) {
@@ -235,16 +237,64 @@ public class BibDatabase {
     public synchronized void removeEntries(List<BibEntry> toBeDeleted, EntriesEventSource eventSource) {
         Objects.requireNonNull(toBeDeleted);
 
-        List<String> ids = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
         for (BibEntry entry : toBeDeleted) {
             ids.add(entry.getId());
         }
-        boolean anyRemoved = entries.removeIf(entry -> ids.contains(entry.getId()));
-        if (anyRemoved) {
+        List<BibEntry> removedEntries = new ArrayList<>();
+        entries.removeIf(entry -> {
+            if (ids.contains(entry.getId())) {
+                removedEntries.add(entry);
+                return true;
+            }
+            return false;
+        });
+        for (BibEntry entry : removedEntries) {
+            // removed entries must not update the citation key index anymore
+            entry.unregisterListener(this);
+            entry.getCitationKey().ifPresent(key -> removeFromCitationKeyIndex(key, entry));
+        }
+        if (!removedEntries.isEmpty()) {
             eventBus.post(new EntriesRemovedEvent(toBeDeleted, eventSource));
         }
     }
 
+    private void addToCitationKeyIndex(String key, BibEntry entry) {
+        List<BibEntry> entriesWithKey = entriesByCitationKey.computeIfAbsent(key, k -> new ArrayList<>(1));
+        if (entriesWithKey.stream().noneMatch(candidate -> candidate == entry)) {
+            entriesWithKey.add(entry);
+        }
+    }
+
+    private void removeFromCitationKeyIndex(String key, BibEntry entry) {
+        List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+        if (entriesWithKey == null) {
+            return;
+        }
+        // BibEntry#equals compares the content, but we need to remove this very instance
+        entriesWithKey.removeIf(candidate -> candidate == entry);
+        if (entriesWithKey.isEmpty()) {
+            entriesByCitationKey.remove(key);
+        }
+    }
+
+    /**
+     * Restores the database order of the entries having the given key. Needed if an entry got the key of an existing
+     * entry. Duplicate keys are rare, so a linear scan is fine.
+     */
+    private void restoreDatabaseOrder(String key) {
+        Set<BibEntry> entriesWithKey = Collections.newSetFromMap(new IdentityHashMap<>());
+        entriesWithKey.addAll(entriesByCitationKey.get(key));
+        List<BibEntry> ordered = entries.stream()
+                                        .filter(entriesWithKey::contains)
+                                        .collect(Collectors.toCollection(ArrayList::new));
+        if (ordered.isEmpty()) {
+            entriesByCitationKey.remove(key);
+        } else {
+            entriesByCitationKey.put(key, ordered);
+        }
+    }
+
     /**
      * Returns the database's preamble.
      * If the preamble text consists only of whitespace, then also an empty optional is returned.
@@ -573,9 +623,26 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        if (InternalField.KEY_FIELD.equals(event.getField())) {
+            updateCitationKeyIndex(event);
+        }
         eventBus.post(event);
     }
 
+    private synchronized void updateCitationKeyIndex(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (!StringUtil.isNullOrEmpty(event.getOldValue())) {
+            removeFromCitationKeyIndex(event.getOldValue(), entry);
+        }
+        String newKey = event.getNewValue();
+        if (!StringUtil.isNullOrEmpty(newKey)) {
+            addToCitationKeyIndex(newKey, entry);
+            if (entriesByCitationKey.get(newKey).size() > 1) {
+                restoreDatabaseOrder(newKey);
+            }
+        }
+    }
+
     public Optional<BibEntry> getReferencedEntry(BibEntry entry) {
         return entry.getField(StandardField.CROSSREF).flatMap(this::getEntryByCitationKey);
     }
@@ -609,11 +676,9 @@ public class BibDatabase {
     /**
      * Returns the number of occurrences of the given citation key in this database.
      */
-    public long getNumberOfCitationKeyOccurrences(String key) {
-        return entries.stream()
-                      .flatMap(entry -> entry.getCitationKey().stream())
-                      .filter(key::equals)
-                      .count();
+    public synchronized long getNumberOfCitationKeyOccurrences(String key) {
+        List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+        return entriesWithKey == null ? 0 : entriesWithKey.size();
     }
 
     /**
@@ -2,7 +2,6 @@ package org.jabref.model.entry;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -10,6 +9,11 @@ import java.util.stream.Collectors;
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.logic.importer.AuthorListParser;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
 /**
  * This is an immutable class representing information of either <CODE>author</CODE> or <CODE>editor</CODE> field in bibtex record.
  * <p>
@@ -115,7 +119,16 @@ import org.jabref.logic.importer.AuthorListParser;
 @AllowedToUseLogic("because it needs access to AuthorList parser")
 public class AuthorList {
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    private static final int AUTHOR_CACHE_SIZE = 10_000;
+    /**
+     * The parsed author lists by the strings they were parsed from. The cache is shared by all threads, the least
+     * recently used lists are evicted once it is full.
+     */
+    private static final LoadingCache<String, AuthorList> AUTHOR_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(AUTHOR_CACHE_SIZE)
+            .recordStats()
+            .build(CacheLoader.from(authors -> new AuthorListParser().parse(authors)));
+
     private final List<Author> authors;
     private AuthorList latexFreeAuthors;
 
@@ -170,13 +183,14 @@ public class AuthorList {
     public static AuthorList parse(final String authors) {
         Objects.requireNonNull(authors);
 
-        AuthorList authorList = AUTHOR_CACHE.get(authors);
-        if (authorList == null) {
-            AuthorListParser parser = new AuthorListParser();
-            authorList = parser.parse(authors);
-            AUTHOR_CACHE.put(authors, authorList);
-        }
-        return authorList;
+        return AUTHOR_CACHE.getUnchecked(authors);
+    }
+
+    /**
+     * Returns the number of hits and misses of the cache used by {@link #parse(String)}.
+     */
+    public static CacheStats getCacheStats() {
+        return AUTHOR_CACHE.stats();
     }
 
     /**
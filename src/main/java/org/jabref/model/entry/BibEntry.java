@@ -100,6 +100,12 @@ public class BibEntry implements Cloneable {
      */
     private boolean changed;
 
+    /**
+     * Counts the modifications of this entry, so that a serialization is only stored if the entry was not modified while
+     * it was serialized (see {@link #setParsedSerialization(String, long)})
+     */
+    private long modificationCount;
+
     /**
      * Constructs a new BibEntry. The internal ID is set to IdGenerator.next()
      */
@@ -326,7 +332,7 @@ public class BibEntry implements Cloneable {
 
         eventBus.post(new FieldChangedEvent(this, InternalField.INTERNAL_ID_FIELD, id, oldId));
         this.id = id;
-        changed = true;
+        markChanged();
     }
 
     /**
@@ -388,8 +394,8 @@ public class BibEntry implements Cloneable {
             return Optional.empty();
         }
 
-        changed = true;
         this.type.setValue(newType);
+        markChanged();
 
         FieldChange change = new FieldChange(this, InternalField.TYPE_HEADER, oldType.getName(), newType.getName());
         eventBus.post(new FieldChangedEvent(change, eventSource));
@@ -557,10 +563,9 @@ public class BibEntry implements Cloneable {
             return Optional.empty();
         }
 
-        changed = true;
-
         invalidateFieldCache(field);
         fields.put(field, value.intern());
+        markChanged();
 
         FieldChange change = new FieldChange(this, field, oldValue, value);
         if (isNewField) {
@@ -603,10 +608,9 @@ public class BibEntry implements Cloneable {
             return Optional.empty();
         }
 
-        changed = true;
-
         invalidateFieldCache(field);
         fields.remove(field);
+        markChanged();
 
         FieldChange change = new FieldChange(this, field, oldValue.get(), null);
         eventBus.post(new FieldAddedOrRemovedEvent(change, eventSource));
@@ -693,22 +697,52 @@ public class BibEntry implements Cloneable {
         return parsedSerialization;
     }
 
-    public void setParsedSerialization(String parsedSerialization) {
+    public synchronized void setParsedSerialization(String parsedSerialization) {
         changed = false;
         this.parsedSerialization = parsedSerialization;
     }
 
+    /**
+     * Stores the given serialization, provided that the entry was not modified since {@link #getModificationCount()}
+     * returned the given count. Otherwise, the serialization is outdated and the entry stays marked as changed.
+     *
+     * @return <code>true</code> if the serialization was stored
+     */
+    public synchronized boolean setParsedSerialization(String parsedSerialization, long modificationCount) {
+        if (this.modificationCount != modificationCount) {
+            return false;
+        }
+        setParsedSerialization(parsedSerialization);
+        return true;
+    }
+
+    public synchronized long getModificationCount() {
+        return modificationCount;
+    }
+
     public void setCommentsBeforeEntry(String parsedComments) {
         // delete trailing whitespaces (between entry and text)
         this.commentsBeforeEntry = REMOVE_TRAILING_WHITESPACE.matcher(parsedComments).replaceFirst("");
     }
 
-    public boolean hasChanged() {
+    public synchronized boolean hasChanged() {
         return changed;
     }
 
-    public void setChanged(boolean changed) {
+    public synchronized void setChanged(boolean changed) {
         this.changed = changed;
+        if (changed) {
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Marks the entry as changed. Has to be called after the modification, so that a serialization written concurrently
+     * is either stored before the modification is counted, and thus marked as changed again, or not stored at all.
+     */
+    private synchronized void markChanged() {
+        changed = true;
+        modificationCount++;
     }
 
     public Optional<FieldChange> putKeywords(List<String> keywords, Character delimiter) {
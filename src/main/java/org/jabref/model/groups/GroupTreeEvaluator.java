@@ -0,0 +1,275 @@
+package org.jabref.model.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.KeywordList;
+import org.jabref.model.entry.field.Field;
+
+/**
+ * Evaluates all groups of a subtree of the group tree for an entry in one pass. The hierarchical context of the groups
+ * is taken into account in the same way as by {@link GroupTreeNode#getSearchMatcher()}.
+ * <p>
+ * The tree is compiled into arrays once. While an entry is evaluated, whether it belongs to a group on its own, to a
+ * group including its subgroups and to a group refining its parent is determined at most once per group. Hence,
+ * parents and subgroups shared by several hierarchical groups are not evaluated again. Keyword groups which split the
+ * same field at the same separator (e.g., all explicit groups) share the split keywords.
+ * <p>
+ * The results are bitsets whose bits follow the order of {@link #getGroups()}.
+ */
+public class GroupTreeEvaluator {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte NO_MATCH = 1;
+    private static final byte MATCH = 2;
+
+    /**
+     * All nodes of the tree in pre-order, hence the nodes of a subtree are stored consecutively
+     */
+    private final List<GroupTreeNode> nodes = new ArrayList<>();
+    private final AbstractGroup[] groups;
+    private final int[] parents;
+    private final int[][] children;
+    /**
+     * The index of the shared keywords of each group, -1 if the group does not share them
+     */
+    private final int[] keywordSplits;
+    private final KeywordSplit[] splits;
+
+    private final int first;
+    private final int end;
+
+    /**
+     * Compiles the tree containing the given node. The node and its descendants are evaluated, its ancestors only as far
+     * as they are refined.
+     */
+    public GroupTreeEvaluator(GroupTreeNode node) {
+        Objects.requireNonNull(node);
+        int size = countNodes(node.getRoot());
+        groups = new AbstractGroup[size];
+        parents = new int[size];
+        children = new int[size][];
+        keywordSplits = new int[size];
+        add(node.getRoot(), -1);
+
+        Map<KeywordSplit, Integer> splitIndices = new HashMap<>();
+        int start = -1;
+        for (int i = 0; i < size; i++) {
+            keywordSplits[i] = -1;
+            if ((groups[i] instanceof WordKeywordGroup) && ((WordKeywordGroup) groups[i]).isSplitAtSeparator()) {
+                WordKeywordGroup group = (WordKeywordGroup) groups[i];
+                KeywordSplit split = new KeywordSplit(group.getSearchField(), group.getKeywordSeparator());
+                keywordSplits[i] = splitIndices.computeIfAbsent(split, key -> splitIndices.size());
+            }
+            if (nodes.get(i) == node) {
+                start = i;
+            }
+        }
+        splits = new KeywordSplit[splitIndices.size()];
+        splitIndices.forEach((split, index) -> splits[index] = split);
+
+        first = start;
+        end = start + countNodes(node);
+    }
+
+    private int add(GroupTreeNode node, int parent) {
+        int index = nodes.size();
+        nodes.add(node);
+        groups[index] = node.getGroup();
+        parents[index] = parent;
+
+        List<GroupTreeNode> nodeChildren = node.getChildren();
+        children[index] = new int[nodeChildren.size()];
+        for (int i = 0; i < nodeChildren.size(); i++) {
+            children[index][i] = add(nodeChildren.get(i), index);
+        }
+        return index;
+    }
+
+    private static int countNodes(GroupTreeNode node) {
+        int count = 1;
+        for (GroupTreeNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the evaluated groups, i.e., the node given when compiling and its descendants in pre-order.
+     */
+    public List<GroupTreeNode> getGroups() {
+        return Collections.unmodifiableList(nodes.subList(first, end));
+    }
+
+    /**
+     * Determines the groups the entry belongs to, taking the hierarchical context into account.
+     */
+    public BitSet evaluate(BibEntry entry) {
+        Evaluation evaluation = new Evaluation(entry);
+        BitSet matches = new BitSet(end - first);
+        for (int i = first; i < end; i++) {
+            if (evaluation.matches(i)) {
+                matches.set(i - first);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Determines the groups at least one of the entries belongs to, taking the hierarchical context into account.
+     */
+    public BitSet evaluate(List<BibEntry> entries) {
+        BitSet matches = new BitSet(end - first);
+        for (BibEntry entry : entries) {
+            matches.or(evaluate(entry));
+            if (matches.cardinality() == (end - first)) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Determines the groups containing the entries on their own, i.e., ignoring the hierarchical context.
+     *
+     * @param requireAll whether a group has to contain all entries or at least one of them
+     */
+    public BitSet evaluateContaining(List<BibEntry> entries, boolean requireAll) {
+        BitSet containing = new BitSet(end - first);
+        if (requireAll) {
+            containing.set(0, end - first);
+        }
+        for (BibEntry entry : entries) {
+            Evaluation evaluation = new Evaluation(entry);
+            for (int i = first; i < end; i++) {
+                // groups already decided by another entry are not evaluated again
+                if (containing.get(i - first) == requireAll) {
+                    containing.set(i - first, evaluation.matchesOwnGroup(i));
+                }
+            }
+        }
+        return containing;
+    }
+
+    /**
+     * Returns the groups of the set bits.
+     */
+    public List<GroupTreeNode> toGroups(BitSet matches) {
+        List<GroupTreeNode> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(nodes.get(first + i));
+        }
+        return result;
+    }
+
+    /**
+     * The memoized results for one entry
+     */
+    private class Evaluation {
+        private final BibEntry entry;
+        private final byte[] ownMatches = new byte[groups.length];
+        private final byte[] includingMatches = new byte[groups.length];
+        private final byte[] refiningMatches = new byte[groups.length];
+        private final KeywordList[] keywords = new KeywordList[splits.length];
+
+        Evaluation(BibEntry entry) {
+            this.entry = entry;
+        }
+
+        boolean matches(int node) {
+            return switch (groups[node].getHierarchicalContext()) {
+                case INDEPENDENT -> matchesOwnGroup(node);
+                case INCLUDING -> matchesIncluding(node);
+                case REFINING -> matchesRefining(node);
+            };
+        }
+
+        boolean matchesOwnGroup(int node) {
+            if (ownMatches[node] == UNKNOWN) {
+                ownMatches[node] = toState(evaluateOwnGroup(node));
+            }
+            return ownMatches[node] == MATCH;
+        }
+
+        /**
+         * The group or, if it includes its subgroups, one of them recursively
+         */
+        private boolean matchesIncluding(int node) {
+            if (includingMatches[node] == UNKNOWN) {
+                boolean matches = matchesOwnGroup(node);
+                if (!matches && (groups[node].getHierarchicalContext() == GroupHierarchyType.INCLUDING)) {
+                    for (int child : children[node]) {
+                        if (matchesIncluding(child)) {
+                            matches = true;
+                            break;
+                        }
+                    }
+                }
+                includingMatches[node] = toState(matches);
+            }
+            return includingMatches[node] == MATCH;
+        }
+
+        /**
+         * The group and, if it refines its parent, the parent recursively
+         */
+        private boolean matchesRefining(int node) {
+            if (refiningMatches[node] == UNKNOWN) {
+                boolean matches = matchesOwnGroup(node);
+                if (matches && (groups[node].getHierarchicalContext() == GroupHierarchyType.REFINING) && (parents[node] >= 0)) {
+                    matches = matchesRefining(parents[node]);
+                }
+                refiningMatches[node] = toState(matches);
+            }
+            return refiningMatches[node] == MATCH;
+        }
+
+        private boolean evaluateOwnGroup(int node) {
+            int split = keywordSplits[node];
+            if (split < 0) {
+                return groups[node].isMatch(entry);
+            }
+            if (keywords[split] == null) {
+                keywords[split] = entry.getFieldAsKeywords(splits[split].field, splits[split].separator);
+            }
+            return ((WordKeywordGroup) groups[node]).containsKeywords(keywords[split]);
+        }
+
+        private byte toState(boolean matches) {
+            return matches ? MATCH : NO_MATCH;
+        }
+    }
+
+    private static class KeywordSplit {
+        private final Field field;
+        private final Character separator;
+
+        KeywordSplit(Field field, Character separator) {
+            this.field = field;
+            this.separator = separator;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            KeywordSplit that = (KeywordSplit) o;
+            return Objects.equals(field, that.field) && Objects.equals(separator, that.separator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(field, separator);
+        }
+    }
+}
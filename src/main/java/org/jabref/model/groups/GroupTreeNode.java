@@ -135,26 +135,13 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         return Objects.hash(group);
     }
 
+    /**
+     * Determines all groups in the subtree starting at this node which contain all or at least one of the given entries
+     * on their own, i.e., without taking the hierarchical information into account.
+     */
     public List<GroupTreeNode> getContainingGroups(List<BibEntry> entries, boolean requireAll) {
-        List<GroupTreeNode> groups = new ArrayList<>();
-
-        // Add myself if I contain the entries
-        if (requireAll) {
-            if (this.group.containsAll(entries)) {
-                groups.add(this);
-            }
-        } else {
-            if (this.group.containsAny(entries)) {
-                groups.add(this);
-            }
-        }
-
-        // Traverse children
-        for (GroupTreeNode child : getChildren()) {
-            groups.addAll(child.getContainingGroups(entries, requireAll));
-        }
-
-        return groups;
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(this);
+        return evaluator.toGroups(evaluator.evaluateContaining(entries, requireAll));
     }
 
     /**
@@ -168,23 +155,9 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
      * Determines all groups in the subtree starting at this node which contain at least one of the given entries.
      */
     public List<GroupTreeNode> getMatchingGroups(List<BibEntry> entries) {
-        List<GroupTreeNode> groups = new ArrayList<>();
-
-        // Add myself if I contain the entries
-        SearchMatcher matcher = getSearchMatcher();
-        for (BibEntry entry : entries) {
-            if (matcher.isMatch(entry)) {
-                groups.add(this);
-                break;
-            }
-        }
-
-        // Traverse children
-        for (GroupTreeNode child : getChildren()) {
-            groups.addAll(child.getMatchingGroups(entries));
-        }
-
-        return groups;
+        // All groups are evaluated in one pass, so that hierarchical groups do not evaluate their parents and children again
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(this);
+        return evaluator.toGroups(evaluator.evaluate(entries));
     }
 
     public List<BibEntry> getEntriesInGroup(List<BibEntry> entries) {
@@ -120,6 +120,26 @@ public class WordKeywordGroup extends KeywordGroup implements GroupEntryChanger
         return searchStrategy.contains(entry);
     }
 
+    /**
+     * Checks whether the group matches the keywords of the search field split at the keyword separator. In this case,
+     * the split keywords can be shared with other groups by {@link #containsKeywords(KeywordList)}.
+     */
+    boolean isSplitAtSeparator() {
+        return searchStrategy instanceof KeywordListSearchStrategy;
+    }
+
+    Character getKeywordSeparator() {
+        return keywordSeparator;
+    }
+
+    /**
+     * Checks whether the given keywords of the search field contain the keywords of this group. Only applicable if the
+     * group {@link #isSplitAtSeparator() is split at the separator}.
+     */
+    boolean containsKeywords(KeywordList fieldValue) {
+        return ((KeywordListSearchStrategy) searchStrategy).contains(fieldValue);
+    }
+
     @Override
     public AbstractGroup deepCopy() {
         return new WordKeywordGroup(getName(), getHierarchicalContext(), searchField, searchExpression,
@@ -187,7 +207,10 @@ public class WordKeywordGroup extends KeywordGroup implements GroupEntryChanger
 
         @Override
         public boolean contains(BibEntry entry) {
-            KeywordList fieldValue = entry.getFieldAsKeywords(searchField, keywordSeparator);
+            return contains(entry.getFieldAsKeywords(searchField, keywordSeparator));
+        }
+
+        boolean contains(KeywordList fieldValue) {
             return ListUtil.allMatch(searchWords, fieldValue::contains);
         }
     }
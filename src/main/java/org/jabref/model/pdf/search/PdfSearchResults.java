@@ -2,14 +2,28 @@ package org.jabref.model.pdf.search;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
 
 public final class PdfSearchResults {
 
     private final List<SearchResult> searchResults;
+    /**
+     * The search results by the link of the file they were found in, in the order of {@link #searchResults}
+     */
+    private final Map<String, List<SearchResult>> searchResultsByPath = new HashMap<>();
 
     public PdfSearchResults(List<SearchResult> search) {
         this.searchResults = Collections.unmodifiableList(search);
+        for (SearchResult searchResult : search) {
+            searchResultsByPath.computeIfAbsent(searchResult.getPath(), path -> new ArrayList<>()).add(searchResult);
+        }
     }
 
     public PdfSearchResults() {
@@ -26,6 +40,39 @@ public final class PdfSearchResults {
         return this.searchResults;
     }
 
+    /**
+     * Returns the search results found in the files linked to the entry, in the order of all search results.
+     */
+    public List<SearchResult> getSearchResultsFor(BibEntry entry) {
+        List<LinkedFile> files = entry.getFiles();
+        if (searchResultsByPath.isEmpty() || files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (files.size() == 1) {
+            return searchResultsByPath.getOrDefault(files.get(0).getLink(), Collections.emptyList());
+        }
+
+        Set<String> links = files.stream().map(LinkedFile::getLink).collect(Collectors.toSet());
+        return searchResults.stream()
+                            .filter(searchResult -> links.contains(searchResult.getPath()))
+                            .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether there is a search result in one of the files linked to the entry.
+     */
+    public boolean hasSearchResultsFor(BibEntry entry) {
+        if (searchResultsByPath.isEmpty()) {
+            return false;
+        }
+        for (LinkedFile file : entry.getFiles()) {
+            if (searchResultsByPath.containsKey(file.getLink())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public int numSearchResults() {
         return this.searchResults.size();
     }
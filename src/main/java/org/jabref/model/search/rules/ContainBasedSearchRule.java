@@ -1,22 +1,21 @@
 package org.jabref.model.search.rules;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Vector;
-import java.util.stream.Collectors;
 
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.gui.Globals;
 import org.jabref.gui.LibraryTab;
 import org.jabref.logic.pdf.search.retrieval.PdfSearcher;
+import org.jabref.logic.search.FieldTokenIndex;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.pdf.search.PdfSearchResults;
-import org.jabref.model.pdf.search.SearchResult;
 import org.jabref.model.search.rules.SearchRules.SearchFlags;
 
 import org.slf4j.Logger;
@@ -33,16 +32,24 @@ public class ContainBasedSearchRule implements SearchRule {
     private final EnumSet<SearchFlags> searchFlags;
 
     private String lastQuery;
-    private List<SearchResult> lastSearchResults;
+    private PdfSearchResults lastSearchResults;
 
     private final BibDatabaseContext databaseContext;
+    private final FieldTokenIndex tokenIndex;
 
     public ContainBasedSearchRule(EnumSet<SearchFlags> searchFlags) {
         this.searchFlags = searchFlags;
         this.lastQuery = "";
-        lastSearchResults = new Vector<>();
+        lastSearchResults = new PdfSearchResults();
 
         databaseContext = Globals.stateManager.getActiveDatabase().orElse(null);
+        // The index only knows lower-cased tokens, a case-sensitive search always scans the fields
+        if ((databaseContext == null) || searchFlags.contains(SearchFlags.CASE_SENSITIVE)) {
+            tokenIndex = null;
+        } else {
+            // The index is built in the background when the library is opened, until then all entries are scanned
+            tokenIndex = FieldTokenIndex.get(databaseContext).orElse(null);
+        }
     }
 
     @Override
@@ -58,11 +65,27 @@ public class ContainBasedSearchRule implements SearchRule {
             searchString = searchString.toLowerCase(Locale.ROOT);
         }
 
-        List<String> unmatchedWords = new SentenceAnalyzer(searchString).getWords();
+        List<String> words = new SentenceAnalyzer(searchString).getWords();
+        boolean mightMatch = (tokenIndex == null) || tokenIndex.mightContainAllWords(words, bibEntry);
+        if (mightMatch && containsAllWords(words, bibEntry, searchFlags.contains(SearchRules.SearchFlags.CASE_SENSITIVE))) {
+            return true;
+        }
+
+        return searchFulltext(query).hasSearchResultsFor(bibEntry); // Didn't match all words.
+    }
+
+    /**
+     * Checks whether each of the given words is contained in at least one field of the entry.
+     *
+     * @param words         the words to search for, already in lower case if the search is not case-sensitive
+     * @param caseSensitive whether the field contents are compared case-sensitive
+     */
+    static boolean containsAllWords(List<String> words, BibEntry bibEntry, boolean caseSensitive) {
+        List<String> unmatchedWords = new ArrayList<>(words);
 
         for (Field fieldKey : bibEntry.getFields()) {
             String formattedFieldContent = bibEntry.getLatexFreeField(fieldKey).get();
-            if (!searchFlags.contains(SearchRules.SearchFlags.CASE_SENSITIVE)) {
+            if (!caseSensitive) {
                 formattedFieldContent = formattedFieldContent.toLowerCase(Locale.ROOT);
             }
 
@@ -78,30 +101,37 @@ public class ContainBasedSearchRule implements SearchRule {
                 return true;
             }
         }
-
-        return getFulltextResults(query, bibEntry).numSearchResults() > 0; // Didn't match all words.
+        return false;
     }
 
     @Override
     public PdfSearchResults getFulltextResults(String query, BibEntry bibEntry) {
+        return new PdfSearchResults(searchFulltext(query).getSearchResultsFor(bibEntry));
+    }
 
+    /**
+     * Returns the results of the query in the fulltext index for all entries. The index is only searched once per query.
+     */
+    private PdfSearchResults searchFulltext(String query) {
         if (!searchFlags.contains(SearchRules.SearchFlags.FULLTEXT) || databaseContext == null) {
-            return new PdfSearchResults(List.of());
+            return new PdfSearchResults();
         }
 
-        if (!query.equals(this.lastQuery)) {
-            this.lastQuery = query;
-            lastSearchResults = List.of();
-            try {
-                PdfSearcher searcher = PdfSearcher.of(databaseContext);
-                PdfSearchResults results = searcher.search(query, 5);
-                lastSearchResults = results.getSortedByScore();
-            } catch (IOException e) {
-                LOGGER.error("Could not retrieve search results!", e);
+        // The rule may be applied to several entries in parallel, the lucene search is only run once per query
+        synchronized (this) {
+            if (!query.equals(this.lastQuery)) {
+                this.lastQuery = query;
+                lastSearchResults = new PdfSearchResults();
+                try {
+                    PdfSearcher searcher = PdfSearcher.of(databaseContext);
+                    PdfSearchResults results = searcher.search(query, 5);
+                    lastSearchResults = new PdfSearchResults(results.getSortedByScore());
+                } catch (IOException e) {
+                    LOGGER.error("Could not retrieve search results!", e);
+                }
             }
+            return lastSearchResults;
         }
-
-        return new PdfSearchResults(lastSearchResults.stream().filter(searchResult -> searchResult.isResultFor(bibEntry)).collect(Collectors.toList()));
     }
 
     public EnumSet<SearchFlags> getSearchFlags() {
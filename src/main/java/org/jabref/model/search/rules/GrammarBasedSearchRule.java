@@ -3,13 +3,17 @@ package org.jabref.model.search.rules;
 import java.io.IOException;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.regex.PatternSyntaxException;
 
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.gui.Globals;
@@ -20,12 +24,12 @@ import org.jabref.model.entry.Keyword;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.pdf.search.PdfSearchResults;
-import org.jabref.model.pdf.search.SearchResult;
 import org.jabref.model.search.rules.SearchRules.SearchFlags;
 import org.jabref.search.SearchBaseVisitor;
 import org.jabref.search.SearchLexer;
 import org.jabref.search.SearchParser;
 
+import com.google.common.base.Suppliers;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -50,8 +54,9 @@ public class GrammarBasedSearchRule implements SearchRule {
     private final EnumSet<SearchFlags> searchFlags;
 
     private ParseTree tree;
+    private Predicate<BibEntry> expression;
     private String query;
-    private List<SearchResult> searchResults;
+    private PdfSearchResults searchResults = new PdfSearchResults();
 
     private final BibDatabaseContext databaseContext;
 
@@ -97,33 +102,43 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.addErrorListener(ThrowingErrorListener.INSTANCE);
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
         tree = parser.start();
+        SearchExpressionCompiler compiler = new SearchExpressionCompiler(searchFlags, this::searchFulltext);
+        expression = compiler.visit(tree);
         this.query = query;
+        searchResults = searchFulltext(query);
+        if (compiler.hasInvalidPattern()) {
+            // an invalid regular expression cannot be evaluated, hence only the fulltext results are used (as if applying the expression failed)
+            expression = entry -> searchResults.hasSearchResultsFor(entry);
+        }
+    }
 
+    private PdfSearchResults searchFulltext(String query) {
         if (!searchFlags.contains(SearchRules.SearchFlags.FULLTEXT) || databaseContext == null) {
-            return;
+            return new PdfSearchResults();
         }
         try {
             PdfSearcher searcher = PdfSearcher.of(databaseContext);
             PdfSearchResults results = searcher.search(query, 5);
-            searchResults = results.getSortedByScore();
+            return new PdfSearchResults(results.getSortedByScore());
         } catch (IOException e) {
             LOGGER.error("Could not retrieve search results!", e);
+            return new PdfSearchResults();
         }
     }
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
         try {
-            return new BibtexSearchVisitor(searchFlags, bibEntry).visit(tree);
+            return expression.test(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
-            return getFulltextResults(query, bibEntry).numSearchResults() > 0;
+            return searchResults.hasSearchResultsFor(bibEntry);
         }
     }
 
     @Override
     public PdfSearchResults getFulltextResults(String query, BibEntry bibEntry) {
-        return new PdfSearchResults(searchResults.stream().filter(searchResult -> searchResult.isResultFor(bibEntry)).collect(Collectors.toList()));
+        return new PdfSearchResults(searchResults.getSearchResultsFor(bibEntry));
     }
 
     @Override
@@ -161,35 +176,46 @@ public class GrammarBasedSearchRule implements SearchRule {
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
 
+        // special cases of the field pattern, resolved once instead of for every entry
+        private final boolean isEntryTypeComparison;
+        private final boolean isAnyKeywordComparison;
+        private final boolean isAnyFieldComparison;
+
+        // caches whether a field name is matched by the field pattern
+        private final Map<Field, Boolean> matchingFields = new ConcurrentHashMap<>();
+
         public Comparator(String field, String value, ComparisonOperator operator, EnumSet<SearchFlags> searchFlags) {
             this.operator = operator;
 
             int option = searchFlags.contains(SearchRules.SearchFlags.CASE_SENSITIVE) ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(searchFlags.contains(SearchRules.SearchFlags.REGULAR_EXPRESSION) ? field : "\\Q" + field + "\\E", option);
             this.valuePattern = Pattern.compile(searchFlags.contains(SearchRules.SearchFlags.REGULAR_EXPRESSION) ? value : "\\Q" + value + "\\E", option);
+
+            this.isEntryTypeComparison = fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches();
+            this.isAnyKeywordComparison = fieldPattern.matcher("anykeyword").matches();
+            this.isAnyFieldComparison = fieldPattern.matcher("anyfield").matches();
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches()) {
+            if (isEntryTypeComparison) {
                 return matchFieldValue(entry.getType().getName());
             }
 
             // special case for searching a single keyword
-            if (fieldPattern.matcher("anykeyword").matches()) {
+            if (isAnyKeywordComparison) {
                 return entry.getKeywords(',').stream().map(Keyword::toString).anyMatch(this::matchFieldValue);
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<Field> fieldsKeys = entry.getFields();
-
-            // special case for searching allfields=cat and title=dog
-            if (!fieldPattern.matcher("anyfield").matches()) {
-                // Filter out the requested fields
-                fieldsKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toSet());
-            }
+            boolean anyFieldSearched = false;
+            for (Field field : entry.getFields()) {
+                // special case for searching allfields=cat and title=dog
+                if (!isAnyFieldComparison && !matchesFieldKey(field)) {
+                    continue;
+                }
+                anyFieldSearched = true;
 
-            for (Field field : fieldsKeys) {
                 Optional<String> fieldValue = entry.getLatexFreeField(field);
                 if (fieldValue.isPresent()) {
                     if (matchFieldValue(fieldValue.get())) {
@@ -199,11 +225,11 @@ public class GrammarBasedSearchRule implements SearchRule {
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return fieldsKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !anyFieldSearched && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<Field> matchFieldKey() {
-            return field -> fieldPattern.matcher(field.getName()).matches();
+        private boolean matchesFieldKey(Field field) {
+            return matchingFields.computeIfAbsent(field, key -> fieldPattern.matcher(key.getName()).matches());
         }
 
         public boolean matchFieldValue(String content) {
@@ -221,30 +247,79 @@ public class GrammarBasedSearchRule implements SearchRule {
     }
 
     /**
-     * Search results in boolean. It may be later on converted to an int.
+     * A search term without a field, e.g., <code>miller</code> in <code>miller and year=2010</code>. It is evaluated like
+     * a simple search, but the words and the regular expression are prepared only once.
      */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
+    static class UnfieldedSearchTerm implements Predicate<BibEntry> {
+
+        private final boolean caseSensitive;
+        private final boolean regularExpression;
+        private final List<String> words;
+        private final Pattern pattern;
+        private final Supplier<PdfSearchResults> fulltextResults;
+
+        UnfieldedSearchTerm(String term, EnumSet<SearchFlags> searchFlags, Function<String, PdfSearchResults> fulltextSearch) {
+            this.caseSensitive = searchFlags.contains(SearchRules.SearchFlags.CASE_SENSITIVE);
+            this.regularExpression = searchFlags.contains(SearchRules.SearchFlags.REGULAR_EXPRESSION);
+            this.words = new SentenceAnalyzer(caseSensitive ? term : term.toLowerCase(Locale.ROOT)).getWords();
+            this.pattern = regularExpression ? compilePattern(term, caseSensitive) : null;
+            // the fulltext index is only queried if an entry does not match by its fields
+            this.fulltextResults = Suppliers.memoize(() -> fulltextSearch.apply(term));
+        }
 
-        private final EnumSet<SearchFlags> searchFlags;
+        private static Pattern compilePattern(String term, boolean caseSensitive) {
+            try {
+                return Pattern.compile(term, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                return null;
+            }
+        }
 
-        private final BibEntry entry;
+        @Override
+        public boolean test(BibEntry entry) {
+            if (regularExpression) {
+                if (pattern == null) {
+                    return false;
+                }
+                if (RegexBasedSearchRule.matchesAnyField(pattern, entry)) {
+                    return true;
+                }
+            } else if (ContainBasedSearchRule.containsAllWords(words, entry, caseSensitive)) {
+                return true;
+            }
+            return fulltextResults.get().hasSearchResultsFor(entry);
+        }
+    }
 
-        public BibtexSearchVisitor(EnumSet<SearchFlags> searchFlags, BibEntry bibEntry) {
+    /**
+     * Compiles the parse tree of a search expression into a predicate. The resulting predicate is immutable (all
+     * patterns are compiled upfront), so it can be applied to all entries of a library, also from multiple threads.
+     */
+    static class SearchExpressionCompiler extends SearchBaseVisitor<Predicate<BibEntry>> {
+
+        private final EnumSet<SearchFlags> searchFlags;
+        private final Function<String, PdfSearchResults> fulltextSearch;
+        private boolean invalidPattern;
+
+        public SearchExpressionCompiler(EnumSet<SearchFlags> searchFlags, Function<String, PdfSearchResults> fulltextSearch) {
             this.searchFlags = searchFlags;
-            this.entry = bibEntry;
+            this.fulltextSearch = fulltextSearch;
         }
 
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, searchFlags).compare(entry);
+        /**
+         * Returns whether a comparison contains an invalid regular expression, which never matches in the compiled predicate
+         */
+        public boolean hasInvalidPattern() {
+            return invalidPattern;
         }
 
         @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
+        public Predicate<BibEntry> visitStart(SearchParser.StartContext ctx) {
             return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext context) {
+        public Predicate<BibEntry> visitComparison(SearchParser.ComparisonContext context) {
             // remove possible enclosing " symbols
             String right = context.right.getText();
             if (right.startsWith("\"") && right.endsWith("\"")) {
@@ -253,28 +328,34 @@ public class GrammarBasedSearchRule implements SearchRule {
 
             Optional<SearchParser.NameContext> fieldDescriptor = Optional.ofNullable(context.left);
             if (fieldDescriptor.isPresent()) {
-                return comparison(fieldDescriptor.get().getText(), ComparisonOperator.build(context.operator.getText()), right);
+                try {
+                    return new Comparator(fieldDescriptor.get().getText(), right, ComparisonOperator.build(context.operator.getText()), searchFlags)::compare;
+                } catch (PatternSyntaxException e) {
+                    LOGGER.debug("Invalid regular expression in search query", e);
+                    invalidPattern = true;
+                    return entry -> false;
+                }
             } else {
-                return SearchRules.getSearchRule(searchFlags).applyRule(right, entry);
+                return new UnfieldedSearchTerm(right, searchFlags, fulltextSearch);
             }
         }
 
         @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        public Predicate<BibEntry> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return visit(ctx.expression()).negate();
         }
 
         @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        public Predicate<BibEntry> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
             return visit(ctx.expression()); // ignore parenthesis
         }
 
         @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        public Predicate<BibEntry> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
             if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+                return visit(ctx.left).and(visit(ctx.right));
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                return visit(ctx.left).or(visit(ctx.right));
             }
         }
     }
@@ -2,13 +2,11 @@ package org.jabref.model.search.rules;
 
 import java.io.IOException;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
-import java.util.stream.Collectors;
 
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.gui.Globals;
@@ -17,7 +15,6 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.pdf.search.PdfSearchResults;
-import org.jabref.model.pdf.search.SearchResult;
 import org.jabref.model.search.rules.SearchRules.SearchFlags;
 
 import org.slf4j.Logger;
@@ -34,7 +31,7 @@ public class RegexBasedSearchRule implements SearchRule {
     private final EnumSet<SearchFlags> searchFlags;
 
     private String lastQuery;
-    private List<SearchResult> lastSearchResults;
+    private PdfSearchResults lastSearchResults;
 
     private final BibDatabaseContext databaseContext;
 
@@ -73,6 +70,16 @@ public class RegexBasedSearchRule implements SearchRule {
             return false;
         }
 
+        if (matchesAnyField(pattern, bibEntry)) {
+            return true;
+        }
+        return searchFulltext(query).hasSearchResultsFor(bibEntry);
+    }
+
+    /**
+     * Checks whether the pattern can be found in the LaTeX-free content of at least one field of the entry.
+     */
+    static boolean matchesAnyField(Pattern pattern, BibEntry bibEntry) {
         for (Field field : bibEntry.getFields()) {
             Optional<String> fieldOptional = bibEntry.getField(field);
             if (fieldOptional.isPresent()) {
@@ -83,27 +90,36 @@ public class RegexBasedSearchRule implements SearchRule {
                 }
             }
         }
-        return getFulltextResults(query, bibEntry).numSearchResults() > 0;
+        return false;
     }
 
     @Override
     public PdfSearchResults getFulltextResults(String query, BibEntry bibEntry) {
+        return new PdfSearchResults(searchFulltext(query).getSearchResultsFor(bibEntry));
+    }
 
+    /**
+     * Returns the results of the query in the fulltext index for all entries. The index is only searched once per query.
+     */
+    private PdfSearchResults searchFulltext(String query) {
         if (!searchFlags.contains(SearchRules.SearchFlags.FULLTEXT) || databaseContext == null) {
-            return new PdfSearchResults(List.of());
+            return new PdfSearchResults();
         }
 
-        if (!query.equals(this.lastQuery)) {
-            this.lastQuery = query;
-            lastSearchResults = List.of();
-            try {
-                PdfSearcher searcher = PdfSearcher.of(databaseContext);
-                PdfSearchResults results = searcher.search(query, 5);
-                lastSearchResults = results.getSortedByScore();
-            } catch (IOException e) {
-                LOGGER.error("Could not retrieve search results!", e);
+        // The rule may be applied to several entries in parallel, the lucene search is only run once per query
+        synchronized (this) {
+            if (!query.equals(this.lastQuery)) {
+                this.lastQuery = query;
+                lastSearchResults = new PdfSearchResults();
+                try {
+                    PdfSearcher searcher = PdfSearcher.of(databaseContext);
+                    PdfSearchResults results = searcher.search(query, 5);
+                    lastSearchResults = new PdfSearchResults(results.getSortedByScore());
+                } catch (IOException e) {
+                    LOGGER.error("Could not retrieve search results!", e);
+                }
             }
+            return lastSearchResults;
         }
-        return new PdfSearchResults(lastSearchResults.stream().filter(searchResult -> searchResult.isResultFor(bibEntry)).collect(Collectors.toList()));
     }
 }
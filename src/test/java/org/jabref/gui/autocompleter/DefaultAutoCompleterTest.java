@@ -147,4 +147,48 @@ class DefaultAutoCompleterTest {
         Collection<String> result = autoCompleter.provideSuggestions(getRequest(("lue")));
         assertEquals(Collections.singletonList("value"), result);
     }
+
+    @Test
+    void completeReturnsMoreFrequentWordsFirst() {
+        database.insertEntry(new BibEntry().withField(StandardField.TITLE, "value"));
+        database.insertEntry(new BibEntry().withField(StandardField.TITLE, "valid"));
+        database.insertEntry(new BibEntry().withField(StandardField.TITLE, "valid"));
+
+        Collection<String> result = autoCompleter.provideSuggestions(getRequest(("val")));
+        assertEquals(Arrays.asList("valid", "value"), result);
+    }
+
+    @Test
+    void completeReturnsWordStartsBeforeOtherMatches() {
+        database.insertEntry(new BibEntry().withField(StandardField.TITLE, "evaluation valid"));
+
+        Collection<String> result = autoCompleter.provideSuggestions(getRequest(("val")));
+        assertEquals(Arrays.asList("valid", "evaluation"), result);
+    }
+
+    @Test
+    void completeReflectsChangedAndRemovedEntries() {
+        BibEntry entry = new BibEntry().withField(StandardField.TITLE, "value");
+        BibEntry otherEntry = new BibEntry().withField(StandardField.TITLE, "valid");
+        database.insertEntry(entry);
+        database.insertEntry(otherEntry);
+        autoCompleter.provideSuggestions(getRequest(("val")));
+
+        entry.setField(StandardField.TITLE, "variable");
+        database.removeEntry(otherEntry);
+
+        Collection<String> result = autoCompleter.provideSuggestions(getRequest(("va")));
+        assertEquals(Collections.singletonList("variable"), result);
+    }
+
+    @Test
+    void shutdownStopsUpdatingSuggestions() {
+        database.insertEntry(new BibEntry().withField(StandardField.TITLE, "testValue"));
+        assertEquals(Arrays.asList("testValue"), autoCompleter.provideSuggestions(getRequest(("test"))));
+
+        autoCompleter.shutdown();
+        database.insertEntry(new BibEntry().withField(StandardField.TITLE, "testOther"));
+
+        assertEquals(Arrays.asList("testValue"), autoCompleter.provideSuggestions(getRequest(("test"))));
+    }
 }
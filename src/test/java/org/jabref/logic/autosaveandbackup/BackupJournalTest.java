@@ -0,0 +1,82 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupJournalTest {
+
+    private static final String PROLOGUE = "% Encoding: UTF-8\n";
+    private static final String FIRST_ENTRY = "\n@Article{first,}\n";
+    private static final String SECOND_ENTRY = "\n@Book{second,}\n";
+    private static final String META_DATA = "\n@Comment{jabref-meta: databaseType:bibtex;}\n";
+
+    private Path backupPath;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        backupPath = tempDir.resolve("test.bib.sav");
+        Files.writeString(backupPath, PROLOGUE + FIRST_ENTRY + SECOND_ENTRY + META_DATA, StandardCharsets.UTF_8);
+        int firstStart = PROLOGUE.length();
+        int secondStart = firstStart + FIRST_ENTRY.length();
+        BackupJournal.start(backupPath, StandardCharsets.UTF_8, List.of(firstStart, secondStart), secondStart + SECOND_ENTRY.length());
+    }
+
+    @Test
+    void journalWithoutChangesIsNotReplayed() throws Exception {
+        assertEquals(Optional.empty(), BackupJournal.replay(backupPath));
+    }
+
+    @Test
+    void replayAppliesChangesToSnapshot() throws Exception {
+        BackupJournal.append(backupPath, BackupJournal.entryRecord(0, "\n@Article{first, year = {2021}}\n"));
+        BackupJournal.append(backupPath, BackupJournal.removalRecord(1)
+                + BackupJournal.entryRecord(2, "\n@Misc{third,}\n"));
+
+        assertEquals(PROLOGUE + "\n@Article{first, year = {2021}}\n" + "\n@Misc{third,}\n" + META_DATA,
+                new String(BackupJournal.replay(backupPath).orElseThrow().getContent(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void libraryWithAddedEntrySortedBeforeOtherEntriesHasSameContent() throws Exception {
+        BackupJournal.append(backupPath, BackupJournal.entryRecord(2, "\n@Misc{third,}\n"));
+
+        String saved = PROLOGUE + FIRST_ENTRY + "\n@Misc{third,}\n" + SECOND_ENTRY + META_DATA;
+        assertTrue(BackupJournal.replay(backupPath).orElseThrow().hasSameContent(saved.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void libraryWithChangedEntryDoesNotHaveSameContent() throws Exception {
+        BackupJournal.append(backupPath, BackupJournal.entryRecord(2, "\n@Misc{third,}\n"));
+
+        String saved = PROLOGUE + FIRST_ENTRY + "\n@Misc{third, year = {2021}}\n" + SECOND_ENTRY + META_DATA;
+        assertFalse(BackupJournal.replay(backupPath).orElseThrow().hasSameContent(saved.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void incompleteRecordIsIgnored() throws Exception {
+        BackupJournal.append(backupPath, BackupJournal.removalRecord(0));
+        BackupJournal.append(backupPath, BackupJournal.entryRecord(1, "\n@Book{second, year = {2021}}\n").substring(0, 20));
+
+        assertEquals(PROLOGUE + SECOND_ENTRY + META_DATA,
+                new String(BackupJournal.replay(backupPath).orElseThrow().getContent(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void journalOfOtherSnapshotIsIgnored() throws Exception {
+        BackupJournal.append(backupPath, BackupJournal.removalRecord(0));
+        Files.writeString(backupPath, PROLOGUE + SECOND_ENTRY, StandardCharsets.UTF_8);
+
+        assertFalse(BackupJournal.replay(backupPath).isPresent());
+    }
+}
@@ -1,12 +1,31 @@
 package org.jabref.logic.autosaveandbackup;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
+import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.metadata.SaveOrderConfig;
+import org.jabref.preferences.PreferencesService;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class BackupManagerTest {
 
@@ -34,4 +53,34 @@ public class BackupManagerTest {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("changes.bib").toURI());
         assertTrue(BackupManager.backupFileDiffers(originalFile));
     }
+
+    @Test
+    public void restoredBackupContainsChangedString(@TempDir Path tempDir) throws Exception {
+        Path bibPath = tempDir.resolve("test.bib");
+        Files.writeString(bibPath, "");
+        BibDatabase database = new BibDatabase();
+        BibtexString string = new BibtexString("journal", "Journal of Thoughts");
+        database.addString(string);
+        database.insertEntry(new BibEntry(StandardEntryType.Article).withCitationKey("key"));
+        BibDatabaseContext context = new BibDatabaseContext(database, new MetaData(), bibPath);
+
+        SavePreferences savePreferences = mock(SavePreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(savePreferences.withEncoding(any())).thenReturn(savePreferences);
+        when(savePreferences.withMakeBackup(anyBoolean())).thenReturn(savePreferences);
+        when(savePreferences.getEncoding()).thenReturn(StandardCharsets.UTF_8);
+        when(savePreferences.getSaveOrder()).thenReturn(new SaveOrderConfig());
+        PreferencesService preferences = mock(PreferencesService.class);
+        when(preferences.getSavePreferences()).thenReturn(savePreferences);
+
+        BackupManager backupManager = new BackupManager(context, new BibEntryTypesManager(), preferences);
+        Path backupPath = BackupManager.getBackupPath(bibPath);
+        backupManager.performBackup(backupPath);
+
+        // changes of strings are not posted as events
+        string.setContent("Journal of Second Thoughts");
+        backupManager.performBackup(backupPath);
+        BackupManager.restoreBackup(bibPath);
+
+        assertTrue(Files.readString(bibPath, StandardCharsets.UTF_8).contains("Journal of Second Thoughts"));
+    }
 }
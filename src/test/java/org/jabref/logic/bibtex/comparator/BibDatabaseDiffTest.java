@@ -88,4 +88,38 @@ class BibDatabaseDiffTest {
         assertEquals(entryThree, diff.getEntryDifferences().get(2).getNewEntry(), "there is another value as newEntry [2]");
         assertNull(diff.getEntryDifferences().get(2).getOriginalEntry(), "originalEntry is not null [2]");
     }
+
+    @Test
+    void compareOfReorderedEntriesReportsNoDifferences() throws Exception {
+        BibEntry entryOne = new BibEntry(BibEntry.DEFAULT_TYPE).withField(StandardField.TITLE, "test");
+        BibEntry entryTwo = new BibEntry(BibEntry.DEFAULT_TYPE).withField(StandardField.TITLE, "another test");
+        BibDatabaseContext databaseOne = new BibDatabaseContext(new BibDatabase(Arrays.asList(entryOne, entryTwo)));
+        BibDatabaseContext databaseTwo = new BibDatabaseContext(new BibDatabase(Arrays.asList(
+                new BibEntry(BibEntry.DEFAULT_TYPE).withField(StandardField.TITLE, "another test"),
+                new BibEntry(BibEntry.DEFAULT_TYPE).withField(StandardField.TITLE, "test"))));
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(databaseOne, databaseTwo);
+
+        assertEquals(Collections.emptyList(), diff.getEntryDifferences());
+    }
+
+    @Test
+    void compareOfEntriesWithSameCitationKeyReportsChange() throws Exception {
+        BibEntry entryOne = new BibEntry(BibEntry.DEFAULT_TYPE)
+                .withCitationKey("key")
+                .withField(StandardField.TITLE, "test")
+                .withField(StandardField.AUTHOR, "Doe");
+        BibEntry entryTwo = new BibEntry(BibEntry.DEFAULT_TYPE)
+                .withCitationKey("key")
+                .withField(StandardField.TITLE, "another test")
+                .withField(StandardField.AUTHOR, "Smith");
+        BibDatabaseContext databaseOne = new BibDatabaseContext(new BibDatabase(Collections.singletonList(entryOne)));
+        BibDatabaseContext databaseTwo = new BibDatabaseContext(new BibDatabase(Collections.singletonList(entryTwo)));
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(databaseOne, databaseTwo);
+
+        assertEquals(1, diff.getEntryDifferences().size());
+        assertEquals(entryOne, diff.getEntryDifferences().get(0).getOriginalEntry());
+        assertEquals(entryTwo, diff.getEntryDifferences().get(0).getNewEntry());
+    }
 }
@@ -0,0 +1,83 @@
+package org.jabref.logic.bst;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BstProgramTest {
+
+    private static BibEntry article(String citationKey) {
+        return new BibEntry(StandardEntryType.Article).withCitationKey(citationKey)
+                                                      .withField(StandardField.AUTHOR, "Oliver Kopp and Tobias Diez")
+                                                      .withField(StandardField.TITLE, "Thoughts on Development")
+                                                      .withField(StandardField.JOURNAL, "Journal of Thoughts")
+                                                      .withField(StandardField.YEAR, "2021");
+    }
+
+    @Test
+    void abbrvRendersLikeVm() throws Exception {
+        Path abbrv = Path.of(BstProgramTest.class.getResource("abbrv.bst").toURI());
+        List<BibEntry> entries = List.of(article("b"), article("a"), new BibEntry(StandardEntryType.Book).withCitationKey("c").withField(StandardField.TITLE, "Book"));
+
+        assertEquals(new VM(abbrv.toFile()).run(entries), BstProgram.compile(abbrv).run(entries));
+    }
+
+    @Test
+    void programCanBeRunAgain() throws Exception {
+        BstProgram program = BstProgram.compile(Path.of(BstProgramTest.class.getResource("abbrv.bst").toURI()));
+
+        assertEquals(program.run(List.of(article("a"))), program.run(List.of(article("a"))));
+    }
+
+    @Test
+    void sortAndCallType() throws Exception {
+        BstProgram program = BstProgram.compile("ENTRY { title } { } { label } "
+                + "FUNCTION {presort} { cite$ 'sort.key$ := } "
+                + "FUNCTION {article} { cite$ write$ \": \" write$ title write$ newline$ } "
+                + "FUNCTION {book} { \"Book \" title * write$ newline$ } "
+                + "READ ITERATE {presort} SORT ITERATE {call.type$}");
+
+        List<BibEntry> entries = List.of(article("b"), new BibEntry(StandardEntryType.Book).withCitationKey("c").withField(StandardField.TITLE, "Test"), article("a"));
+
+        assertEquals("a: Thoughts on Development\nb: Thoughts on Development\nBook Test\n", program.run(entries));
+    }
+
+    @Test
+    void whileAndVariables() throws Exception {
+        BstProgram program = BstProgram.compile("STRINGS { t } INTEGERS { n } "
+                + "FUNCTION {not} { { #0 } { #1 } if$ } "
+                + "FUNCTION {count} { \"HELLO-WORLD\" 't := #0 'n := "
+                + "  { t empty$ not } { n #1 + 'n := t #2 global.max$ substring$ 't := } while$ "
+                + "  n int.to.str$ write$ } "
+                + "EXECUTE {count}");
+
+        assertEquals("11", program.run(Collections.emptyList()));
+    }
+
+    @Test
+    void entryVariablesAreKeptPerEntry() throws Exception {
+        BstProgram program = BstProgram.compile("ENTRY { } { number } { } INTEGERS { counter } "
+                + "FUNCTION {assign} { counter #1 + 'counter := counter 'number := } "
+                + "FUNCTION {output} { number int.to.str$ write$ } "
+                + "ITERATE {assign} REVERSE {output}");
+
+        assertEquals("321", program.run(List.of(article("a"), article("b"), article("c"))));
+    }
+
+    @Test
+    void unknownIdentifierFailsWhenExecuted() throws Exception {
+        BstProgram program = BstProgram.compile("FUNCTION {output} { cite$ write$ } FUNCTION {unused} { unknown } ITERATE {output}");
+
+        assertEquals("a", program.run(List.of(article("a"))));
+        assertThrows(VMException.class, () -> BstProgram.compile("FUNCTION {a} { unknown } EXECUTE {a}").run(Collections.emptyList()));
+    }
+}
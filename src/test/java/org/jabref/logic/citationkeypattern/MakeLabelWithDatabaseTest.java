@@ -1,5 +1,7 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.jabref.model.database.BibDatabase;
@@ -500,4 +502,62 @@ class MakeLabelWithDatabaseTest {
         new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKey(entry);
         assertEquals(Optional.of("Aapoj"), entry.getCitationKey());
     }
+
+    private BibEntry insertEntryOfDoe() {
+        BibEntry entryOfDoe = new BibEntry();
+        entryOfDoe.setField(StandardField.AUTHOR, "John Doe");
+        entryOfDoe.setField(StandardField.YEAR, "2016");
+        database.insertEntry(entryOfDoe);
+        return entryOfDoe;
+    }
+
+    @Test
+    void generateKeysAppendsLettersInOrderOfEntries() {
+        BibEntry entry2 = insertEntryOfDoe();
+        BibEntry entry3 = insertEntryOfDoe();
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(List.of(entry, entry2, entry3));
+
+        assertEquals(Optional.of("Doe2016"), entry.getCitationKey());
+        assertEquals(Optional.of("Doe2016a"), entry2.getCitationKey());
+        assertEquals(Optional.of("Doe2016b"), entry3.getCitationKey());
+    }
+
+    @Test
+    void generateKeysAgainKeepsKeys() {
+        BibEntry entry2 = insertEntryOfDoe();
+        BibEntry entry3 = insertEntryOfDoe();
+        CitationKeyGenerator keyGenerator = new CitationKeyGenerator(bibtexKeyPattern, database, preferences);
+        keyGenerator.generateAndSetKeys(List.of(entry, entry2, entry3));
+
+        assertEquals(List.of(), keyGenerator.generateAndSetKeys(List.of(entry3, entry, entry2)));
+    }
+
+    @Test
+    void generateKeysReusesLetterOfChangedKey() {
+        BibEntry entry2 = insertEntryOfDoe();
+        BibEntry entry3 = insertEntryOfDoe();
+        CitationKeyGenerator keyGenerator = new CitationKeyGenerator(bibtexKeyPattern, database, preferences);
+        keyGenerator.generateAndSetKeys(List.of(entry, entry2, entry3));
+        entry2.setField(StandardField.AUTHOR, "Jane Roe");
+        BibEntry entry4 = insertEntryOfDoe();
+        BibEntry entry5 = insertEntryOfDoe();
+
+        keyGenerator.generateAndSetKeys(List.of(entry4, entry2, entry5));
+
+        assertEquals(Optional.of("Doe2016c"), entry4.getCitationKey());
+        assertEquals(Optional.of("Roe2016"), entry2.getCitationKey());
+        assertEquals(Optional.of("Doe2016a"), entry5.getCitationKey());
+    }
+
+    @Test
+    void generateKeysReportsProgressPerEntry() {
+        BibEntry entry2 = insertEntryOfDoe();
+        BibEntry entry3 = insertEntryOfDoe();
+        List<Integer> entriesDone = new ArrayList<>();
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(List.of(entry, entry2, entry3), entriesDone::add);
+
+        assertEquals(List.of(1, 2, 3), entriesDone);
+    }
 }
@@ -0,0 +1,153 @@
+package org.jabref.logic.database;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Random;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateCandidateFinderTest {
+
+    private DuplicateCandidateFinder finder;
+    private BibEntry article;
+    private BibEntry unrelatedArticle;
+
+    @BeforeEach
+    void setUp() {
+        finder = new DuplicateCandidateFinder();
+        article = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Single Author")
+                .withField(StandardField.TITLE, "A serious paper about something")
+                .withField(StandardField.YEAR, "2017");
+        unrelatedArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Completely Different")
+                .withField(StandardField.TITLE, "Holy Moly Uffdada und Trallalla")
+                .withField(StandardField.YEAR, "1992");
+    }
+
+    @Test
+    void unrelatedEntriesAreNoCandidates() {
+        DuplicateCandidates candidates = finder.findCandidates(List.of(article, unrelatedArticle));
+
+        assertEquals(0, candidates.size());
+        assertEquals(1, candidates.getTotalPairCount());
+    }
+
+    @Test
+    void sameDoiWithDifferentCaseIsCandidate() {
+        BibEntry first = new BibEntry().withField(StandardField.DOI, "10.1000/ABC");
+        BibEntry second = new BibEntry().withField(StandardField.DOI, "https://doi.org/10.1000/abc");
+
+        DuplicateCandidates candidates = finder.findCandidates(List.of(first, unrelatedArticle, second));
+
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains(0, 2));
+        assertEquals(first, candidates.getFirst(0));
+        assertEquals(second, candidates.getSecond(0));
+    }
+
+    @Test
+    void sameFirstAuthorAndYearIsCandidate() {
+        BibEntry other = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "S. Author and Another Person")
+                .withField(StandardField.TITLE, "Something completely different")
+                .withField(StandardField.YEAR, "2017");
+
+        DuplicateCandidates candidates = finder.findCandidates(List.of(article, other));
+
+        assertTrue(candidates.contains(0, 1));
+    }
+
+    @Test
+    void similarTitleIsCandidate() {
+        BibEntry other = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Author, Single")
+                .withField(StandardField.TITLE, "A {S}erious paper about somethin")
+                .withField(StandardField.YEAR, "2018");
+
+        DuplicateCandidates candidates = finder.findCandidates(List.of(article, other));
+
+        assertTrue(candidates.contains(0, 1));
+    }
+
+    @Test
+    void entriesWithoutBlockingKeysAreComparedWithEachOther() {
+        BibEntry first = new BibEntry().withField(StandardField.NOTE, "first");
+        BibEntry second = new BibEntry().withField(StandardField.NOTE, "second");
+
+        DuplicateCandidates candidates = finder.findCandidates(List.of(first, article, second));
+
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains(2, 0));
+        assertFalse(candidates.contains(0, 1));
+    }
+
+    @Test
+    void oversizedBlockIsSkipped() {
+        DuplicateCandidateFinder smallBlocksFinder = new DuplicateCandidateFinder(8, 2, 2);
+        BibEntry first = new BibEntry().withField(StandardField.NOTE, "first");
+        BibEntry second = new BibEntry().withField(StandardField.NOTE, "second");
+        BibEntry third = new BibEntry().withField(StandardField.NOTE, "third");
+
+        assertEquals(0, smallBlocksFinder.findCandidates(List.of(first, second, third)).size());
+    }
+
+    @Test
+    void entriesOfOversizedBlockArePairedByTitle() {
+        DuplicateCandidateFinder smallBlocksFinder = new DuplicateCandidateFinder(8, 2, 2);
+        BibEntry other = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "S. Author")
+                .withField(StandardField.TITLE, "Something completely different")
+                .withField(StandardField.YEAR, "2017");
+
+        DuplicateCandidates candidates = smallBlocksFinder.findCandidates(List.of(article, other, (BibEntry) article.clone()));
+
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains(0, 2));
+    }
+
+    @Test
+    void candidatesAreOrderedLikeNestedLoop() {
+        BibEntry copy = (BibEntry) article.clone();
+        BibEntry secondCopy = (BibEntry) article.clone();
+
+        DuplicateCandidates candidates = finder.findCandidates(List.of(article, copy, unrelatedArticle, secondCopy));
+
+        assertEquals(3, candidates.size());
+        assertEquals(article, candidates.getFirst(0));
+        assertEquals(copy, candidates.getSecond(0));
+        assertEquals(secondCopy, candidates.getSecond(2));
+    }
+
+    @Test
+    void estimateRecallFindsAllDuplicates() {
+        BibEntry copy = (BibEntry) article.clone();
+        DuplicateCandidates candidates = finder.findCandidates(List.of(article, unrelatedArticle, copy));
+
+        OptionalDouble recall = finder.estimateRecall(candidates, new DuplicateCheck(new BibEntryTypesManager()),
+                BibDatabaseMode.BIBTEX, 3, new Random(42));
+
+        assertEquals(OptionalDouble.of(1.0), recall);
+    }
+
+    @Test
+    void estimateRecallIsEmptyWithoutDuplicates() {
+        DuplicateCandidates candidates = finder.findCandidates(List.of(article, unrelatedArticle));
+
+        OptionalDouble recall = finder.estimateRecall(candidates, new DuplicateCheck(new BibEntryTypesManager()),
+                BibDatabaseMode.BIBTEX, 2, new Random(42));
+
+        assertEquals(OptionalDouble.empty(), recall);
+    }
+}
@@ -0,0 +1,107 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateDetectionEngineTest {
+
+    private ForkJoinPool pool;
+    private DuplicateDetectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        engine = new DuplicateDetectionEngine(new DuplicateCheck(new BibEntryTypesManager()), new DuplicateCandidateFinder(), pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static List<BibEntry> createEntries() {
+        List<BibEntry> entries = new ArrayList<>();
+        entries.add(new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Single Author")
+                .withField(StandardField.TITLE, "A serious paper about something")
+                .withField(StandardField.YEAR, "2017"));
+        entries.add(new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Completely Different")
+                .withField(StandardField.TITLE, "Holy Moly Uffdada und Trallalla")
+                .withField(StandardField.YEAR, "1992"));
+        entries.add(new BibEntry(StandardEntryType.InBook)
+                .withField(StandardField.TITLE, "Alice in Wonderland")
+                .withField(StandardField.AUTHOR, "Charles Lutwidge Dodgson")
+                .withField(StandardField.CHAPTER, "Chapter One – Down the Rabbit Hole")
+                .withField(StandardField.PUBLISHER, "Macmillan")
+                .withField(StandardField.YEAR, "1865"));
+        entries.add(new BibEntry(StandardEntryType.InCollection)
+                .withField(StandardField.TITLE, "Innovation and Intellectual Property Rights")
+                .withField(StandardField.AUTHOR, "Ove Grandstrand")
+                .withField(StandardField.BOOKTITLE, "The Oxford Handbook of Innovation")
+                .withField(StandardField.PUBLISHER, "Oxford University Press")
+                .withField(StandardField.YEAR, "2004"));
+        return entries;
+    }
+
+    @Test
+    void findDuplicatesReturnsPairsInEntryOrder() {
+        List<BibEntry> entries = createEntries();
+        BibEntry copyOfFirst = (BibEntry) entries.get(0).clone();
+        BibEntry copyOfThird = (BibEntry) entries.get(2).clone();
+        entries.add(copyOfThird);
+        entries.add(copyOfFirst);
+
+        List<List<BibEntry>> duplicates = engine.findDuplicates(entries, BibDatabaseMode.BIBTEX);
+
+        assertEquals(List.of(List.of(entries.get(0), copyOfFirst), List.of(entries.get(2), copyOfThird)), duplicates);
+    }
+
+    @Test
+    void streamDuplicatesReportsEveryPair() {
+        List<BibEntry> entries = createEntries();
+        entries.add((BibEntry) entries.get(1).clone());
+        entries.add((BibEntry) entries.get(3).clone());
+        List<List<BibEntry>> found = Collections.synchronizedList(new ArrayList<>());
+
+        int count = engine.streamDuplicates(entries, BibDatabaseMode.BIBTEX, found::add, (checked, total) -> {
+        });
+
+        assertEquals(2, count);
+        assertEquals(2, found.size());
+    }
+
+    @Test
+    void cancelBeforeSearchStartsIsNotLost() {
+        List<BibEntry> entries = createEntries();
+        entries.add((BibEntry) entries.get(1).clone());
+
+        engine.cancel();
+        int count = engine.streamDuplicates(entries, BibDatabaseMode.BIBTEX, pair -> {
+        }, (checked, total) -> {
+        });
+
+        assertEquals(0, count);
+        assertTrue(engine.isCancelled());
+    }
+
+    @Test
+    void emptyLibraryHasNoDuplicates() {
+        assertEquals(List.of(), engine.findDuplicates(List.of(), BibDatabaseMode.BIBTEX));
+    }
+}
@@ -52,7 +52,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -449,6 +451,53 @@ class BibtexDatabaseWriterTest {
                 stringWriter.toString());
     }
 
+    @Test
+    void writtenEntryIsNotSerializedAgainIfUnchanged() throws Exception {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Mr. author");
+        database.insertEntry(entry);
+        String expected = OS.NEWLINE
+                + "@Article{," + OS.NEWLINE + "  author = {Mr. author}," + OS.NEWLINE + "}"
+                + OS.NEWLINE;
+
+        databaseWriter = new BibtexDatabaseWriter(stringWriter, preferences, entryTypesManager, true);
+        databaseWriter.savePartOfDatabase(bibtexContext, Collections.singletonList(entry));
+
+        assertEquals(expected, stringWriter.toString());
+        assertFalse(entry.hasChanged());
+        assertEquals(expected, entry.getParsedSerialization());
+    }
+
+    @Test
+    void changedEntryIsSerializedAgain() throws Exception {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Mr. author");
+        database.insertEntry(entry);
+        databaseWriter = new BibtexDatabaseWriter(stringWriter, preferences, entryTypesManager, true);
+        databaseWriter.savePartOfDatabase(bibtexContext, Collections.singletonList(entry));
+
+        entry.setField(StandardField.YEAR, "2021");
+        stringWriter = new StringWriter();
+        databaseWriter = new BibtexDatabaseWriter(stringWriter, preferences, entryTypesManager, true);
+        databaseWriter.savePartOfDatabase(bibtexContext, Collections.singletonList(entry));
+
+        assertEquals(
+                OS.NEWLINE
+                        + "@Article{," + OS.NEWLINE + "  author = {Mr. author}," + OS.NEWLINE + "  year   = {2021}," + OS.NEWLINE + "}"
+                        + OS.NEWLINE,
+                stringWriter.toString());
+    }
+
+    @Test
+    void writerNotStoringSerializationsKeepsEntryChanged() throws Exception {
+        BibEntry entry = new BibEntry(StandardEntryType.Article);
+        entry.setField(StandardField.AUTHOR, "Mr. author");
+        database.insertEntry(entry);
+
+        databaseWriter.savePartOfDatabase(bibtexContext, Collections.singletonList(entry));
+
+        assertTrue(entry.hasChanged());
+        assertEquals("", entry.getParsedSerialization());
+    }
+
     @Test
     void writeSavedSerializationOfStringIfUnchanged() throws Exception {
         BibtexString string = new BibtexString("name", "content");
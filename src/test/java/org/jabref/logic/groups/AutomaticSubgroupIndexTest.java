@@ -0,0 +1,89 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.AutomaticKeywordGroup;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AutomaticSubgroupIndexTest {
+
+    private BibEntry firstEntry;
+    private BibEntry secondEntry;
+    private AutomaticKeywordGroup group;
+    private AutomaticSubgroupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        firstEntry = new BibEntry().withField(StandardField.KEYWORDS, "A, B");
+        secondEntry = new BibEntry().withField(StandardField.KEYWORDS, "B, C > D");
+        group = new AutomaticKeywordGroup("Keywords", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, ',', '>');
+        index = new AutomaticSubgroupIndex(group, List.of(firstEntry, secondEntry), Runnable::run);
+    }
+
+    private Set<String> getSubgroupNames() {
+        return index.getSubgroups().stream().map(GroupTreeNode::getName).collect(Collectors.toSet());
+    }
+
+    private GroupTreeNode getSubgroup(String name) {
+        return index.getSubgroups().stream().filter(subgroup -> subgroup.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void subgroupPerDistinctKeyword() {
+        assertEquals(Set.of("A", "B", "C"), getSubgroupNames());
+    }
+
+    @Test
+    void hierarchicalKeywordIsNested() {
+        assertEquals(List.of("D"), getSubgroup("C").getChildren().stream().map(GroupTreeNode::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void subgroupIsRemovedWithLastEntry() {
+        index.removeEntries(List.of(firstEntry));
+
+        assertEquals(Set.of("B", "C"), getSubgroupNames());
+    }
+
+    @Test
+    void changedEntryUpdatesOnlyItsSubgroups() {
+        GroupTreeNode subgroupB = getSubgroup("B");
+
+        firstEntry.setField(StandardField.KEYWORDS, "B, E");
+        index.updateEntry(group, firstEntry);
+
+        assertEquals(Set.of("B", "C", "E"), getSubgroupNames());
+        assertSame(subgroupB, getSubgroup("B"));
+    }
+
+    @Test
+    void removedHierarchicalKeywordRemovesNestedSubgroup() {
+        secondEntry.setField(StandardField.KEYWORDS, "B, C");
+        index.updateEntry(group, secondEntry);
+
+        assertEquals(List.of(), getSubgroup("C").getChildren());
+    }
+
+    @Test
+    void subgroupsAreModifiedByNodeUpdater() {
+        List<Runnable> pendingUpdates = new ArrayList<>();
+        index = new AutomaticSubgroupIndex(group, List.of(firstEntry), pendingUpdates::add);
+
+        assertEquals(Set.of(), getSubgroupNames());
+
+        pendingUpdates.forEach(Runnable::run);
+        assertEquals(Set.of("A", "B"), getSubgroupNames());
+    }
+}
@@ -0,0 +1,114 @@
+package org.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.WordKeywordGroup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GroupMatchIndexTest {
+
+    private BibDatabase database;
+    private GroupMatchIndex index;
+    private GroupTreeNode javaGroup;
+    private BibEntry javaEntry;
+    private BibEntry searchEntry;
+    private List<Integer> reportedHits;
+    private IntConsumer hitsListener;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        javaEntry = new BibEntry().withField(StandardField.KEYWORDS, "java");
+        searchEntry = new BibEntry().withField(StandardField.KEYWORDS, "search");
+        database.insertEntries(javaEntry, searchEntry, new BibEntry().withField(StandardField.KEYWORDS, "java, search"));
+
+        javaGroup = GroupTreeNode.fromGroup(new WordKeywordGroup("java", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "java", false, ',', false));
+        index = new GroupMatchIndex(database);
+        reportedHits = new ArrayList<>();
+        hitsListener = reportedHits::add;
+        index.track(javaGroup, hitsListener);
+    }
+
+    @Test
+    void hitsOfTrackedGroup() {
+        assertEquals(2, index.getHits(javaGroup));
+    }
+
+    @Test
+    void noHitsOfUntrackedGroup() {
+        GroupTreeNode searchGroup = GroupTreeNode.fromGroup(new WordKeywordGroup("search", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "search", false, ',', false));
+
+        assertEquals(0, index.getHits(searchGroup));
+    }
+
+    @Test
+    void changedFieldUpdatesHits() {
+        searchEntry.setField(StandardField.KEYWORDS, "search, java");
+        javaEntry.setField(StandardField.KEYWORDS, "python");
+
+        assertEquals(2, index.getHits(javaGroup));
+        assertEquals(List.of(3, 2), reportedHits);
+    }
+
+    @Test
+    void changeOfOtherFieldDoesNotReportHits() {
+        javaEntry.setField(StandardField.TITLE, "Java");
+
+        assertEquals(List.of(), reportedHits);
+    }
+
+    @Test
+    void addedAndRemovedEntriesUpdateHits() {
+        database.insertEntry(new BibEntry().withField(StandardField.KEYWORDS, "java"));
+        database.removeEntry(javaEntry);
+
+        assertEquals(2, index.getHits(javaGroup));
+        assertEquals(List.of(3, 2), reportedHits);
+    }
+
+    @Test
+    void trackingAgainKeepsHits() {
+        javaEntry.setField(StandardField.KEYWORDS, "python");
+        index.track(javaGroup, hitsListener);
+
+        assertEquals(1, index.getHits(javaGroup));
+    }
+
+    @Test
+    void entryChangedDuringEvaluationIsEvaluatedAgain() {
+        GroupTreeNode editingGroup = GroupTreeNode.fromGroup(new WordKeywordGroup("java", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "java", false, ',', false) {
+            @Override
+            public boolean contains(BibEntry entry) {
+                if (entry == searchEntry) {
+                    // simulates an edit while the group is evaluated, after the edited entry has been evaluated
+                    javaEntry.setField(StandardField.KEYWORDS, "python");
+                }
+                return super.contains(entry);
+            }
+        });
+
+        index.track(editingGroup, hitsListener);
+
+        assertEquals(1, index.getHits(editingGroup));
+    }
+
+    @Test
+    void refreshEvaluatesGroupAgain() {
+        javaGroup.setGroup(new WordKeywordGroup("python", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "python", false, ',', false));
+        index.refresh(javaGroup);
+
+        assertEquals(0, index.getHits(javaGroup));
+        assertEquals(List.of(0), reportedHits);
+    }
+}
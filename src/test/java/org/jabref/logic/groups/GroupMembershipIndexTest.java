@@ -0,0 +1,133 @@
+package org.jabref.logic.groups;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.WordKeywordGroup;
+import org.jabref.model.search.matchers.MatcherSets.MatcherType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private GroupMembershipIndex index;
+    private GroupTreeNode javaGroup;
+    private GroupTreeNode searchGroup;
+    private BibEntry javaEntry;
+    private BibEntry searchEntry;
+    private BibEntry bothEntry;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        javaEntry = new BibEntry().withField(StandardField.KEYWORDS, "java");
+        searchEntry = new BibEntry().withField(StandardField.KEYWORDS, "search");
+        bothEntry = new BibEntry().withField(StandardField.KEYWORDS, "java, search");
+        database.insertEntries(javaEntry, searchEntry, bothEntry);
+
+        javaGroup = GroupTreeNode.fromGroup(new WordKeywordGroup("java", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "java", false, ',', false));
+        searchGroup = GroupTreeNode.fromGroup(new WordKeywordGroup("search", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "search", false, ',', false));
+        index = new GroupMembershipIndex(database);
+    }
+
+    @Test
+    void allEntriesMatchWithoutSelectedGroup() {
+        Predicate<BibEntry> matcher = index.select(List.of(), MatcherType.OR);
+
+        assertTrue(matcher.test(javaEntry));
+        assertTrue(matcher.test(searchEntry));
+    }
+
+    @Test
+    void unionOfGroups() {
+        Predicate<BibEntry> matcher = index.select(List.of(javaGroup, searchGroup), MatcherType.OR);
+
+        assertTrue(matcher.test(javaEntry));
+        assertTrue(matcher.test(searchEntry));
+        assertTrue(matcher.test(bothEntry));
+    }
+
+    @Test
+    void intersectionOfGroups() {
+        Predicate<BibEntry> matcher = index.select(List.of(javaGroup, searchGroup), MatcherType.AND);
+
+        assertFalse(matcher.test(javaEntry));
+        assertFalse(matcher.test(searchEntry));
+        assertTrue(matcher.test(bothEntry));
+    }
+
+    @Test
+    void changedEntryIsEvaluatedAgain() {
+        Predicate<BibEntry> matcher = index.select(List.of(javaGroup), MatcherType.OR);
+        assertFalse(matcher.test(searchEntry));
+
+        searchEntry.setField(StandardField.KEYWORDS, "search, java");
+
+        assertTrue(matcher.test(searchEntry));
+
+        javaEntry.clearField(StandardField.KEYWORDS);
+
+        assertFalse(matcher.test(javaEntry));
+    }
+
+    @Test
+    void addedEntryIsEvaluated() {
+        Predicate<BibEntry> matcher = index.select(List.of(javaGroup), MatcherType.OR);
+        BibEntry newEntry = new BibEntry().withField(StandardField.KEYWORDS, "java");
+
+        database.insertEntry(newEntry);
+
+        assertTrue(matcher.test(newEntry));
+    }
+
+    @Test
+    void removedEntryIsNotTrackedAnymore() {
+        Predicate<BibEntry> matcher = index.select(List.of(javaGroup), MatcherType.OR);
+        database.removeEntry(javaEntry);
+        BibEntry newEntry = new BibEntry().withField(StandardField.KEYWORDS, "other");
+
+        database.insertEntry(newEntry);
+
+        assertFalse(matcher.test(newEntry));
+        assertTrue(matcher.test(bothEntry));
+    }
+
+    @Test
+    void entryChangedDuringSelectionIsEvaluatedAgain() {
+        GroupTreeNode editingGroup = GroupTreeNode.fromGroup(new WordKeywordGroup("java", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "java", false, ',', false) {
+            @Override
+            public boolean contains(BibEntry entry) {
+                if (entry == searchEntry) {
+                    // simulates an edit while the groups are evaluated, after the edited entry has been evaluated
+                    javaEntry.setField(StandardField.KEYWORDS, "python");
+                }
+                return super.contains(entry);
+            }
+        });
+
+        Predicate<BibEntry> matcher = index.select(List.of(editingGroup), MatcherType.OR);
+
+        assertFalse(matcher.test(javaEntry));
+        assertTrue(matcher.test(bothEntry));
+    }
+
+    @Test
+    void selectionNoLongerCurrentIsDiscarded() {
+        index.select(List.of(javaGroup), MatcherType.OR);
+
+        Predicate<BibEntry> matcher = index.select(List.of(searchGroup), MatcherType.OR, () -> false);
+
+        assertTrue(matcher.test(javaEntry));
+        assertFalse(matcher.test(searchEntry));
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.AbstractCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.DatabaseCitationKeyPattern;
@@ -1810,4 +1811,58 @@ class BibtexParserTest {
 
         assertEquals(Optional.of("#apr#"), result.get().getField(StandardField.MONTH));
     }
+
+    @Test
+    void parseInParallelYieldsSameResultAsSequentialParser() throws IOException {
+        String content = "% Encoding: UTF-8" + OS.NEWLINE + OS.NEWLINE
+                + "@Preamble{preamble}" + OS.NEWLINE
+                + "@String{aaa = \"aaa\"}" + OS.NEWLINE + OS.NEWLINE
+                + "@Article{first," + OS.NEWLINE
+                + "  author = {Foo Bar}," + OS.NEWLINE
+                + "  title  = {A {Title} with \\} escaped brace}," + OS.NEWLINE
+                + "  note   = {contact@example.org}," + OS.NEWLINE
+                + "}" + OS.NEWLINE + OS.NEWLINE
+                + "comment before the entry" + OS.NEWLINE
+                + "@Misc{second, journal = aaa # {xyz}}" + OS.NEWLINE
+                + "@String{bbb = \"bbb\"}" + OS.NEWLINE
+                + "@Book{third, year = 2021 }   " + OS.NEWLINE
+                + "@Comment{jabref-meta: databaseType:bibtex;}" + OS.NEWLINE + OS.NEWLINE
+                + "@InProceedings{fourth, title = {Last}}" + OS.NEWLINE
+                + "epilog";
+
+        assertSameResultWhenParsedInParallel(content);
+    }
+
+    @Test
+    void parseInParallelYieldsSameResultForMalformedEntries() throws IOException {
+        String content = "@Article{first, title = \"Quoted } brace\"}" + OS.NEWLINE
+                + "@Article{second, author = {Foo}}" + OS.NEWLINE
+                + "@Article{third author = {Bar}}" + OS.NEWLINE
+                + "@Article{fourth, title = {Unclosed}" + OS.NEWLINE
+                + "@Article{fifth, title = {Fifth}}" + OS.NEWLINE;
+
+        assertSameResultWhenParsedInParallel(content);
+    }
+
+    @Test
+    void findChunkEndsSplitsAfterRegularEntries() {
+        String content = "@String{a = {b}}\n@Article{x, title = {y}}\n\n@Misc{z}";
+
+        assertEquals(List.of(42), BibtexParser.findChunkEnds(content, 1));
+    }
+
+    private void assertSameResultWhenParsedInParallel(String content) throws IOException {
+        ParserResult expected = new BibtexParser(importFormatPreferences, fileMonitor).parse(new StringReader(content));
+        ParserResult actual = new BibtexParser(importFormatPreferences, fileMonitor).parseInParallel(new StringReader(content), 1);
+
+        assertEquals(expected.getDatabase().getEntries(), actual.getDatabase().getEntries());
+        assertEquals(expected.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()),
+                actual.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()));
+        assertEquals(expected.getDatabase().getStringValues().stream().map(BibtexString::getParsedSerialization).sorted().collect(Collectors.toList()),
+                actual.getDatabase().getStringValues().stream().map(BibtexString::getParsedSerialization).sorted().collect(Collectors.toList()));
+        assertEquals(expected.getDatabase().getPreamble(), actual.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getEpilog(), actual.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData(), actual.getMetaData());
+        assertEquals(expected.warnings(), actual.warnings());
+    }
 }
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.jabref.logic.pdf.search.indexing.PdfTextCache.PdfText;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
@@ -14,8 +15,11 @@ import org.jabref.preferences.FilePreferences;
 import org.apache.lucene.document.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import static org.jabref.model.pdf.search.SearchFieldConstants.ANNOTATIONS;
+import static org.jabref.model.pdf.search.SearchFieldConstants.CONTENT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -47,4 +51,20 @@ public class DocumentReaderTest {
         // then
         assertEquals(Collections.emptyList(), emptyDocumentList);
     }
+
+    @Test
+    public void cachedTextIsUsed(@TempDir Path tempDir) {
+        Path pdf = Path.of("src/test/resources/pdfs/example.pdf");
+        BibEntry entry = new BibEntry();
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example", "example.pdf", "pdf")));
+
+        try (PdfTextCache cache = new PdfTextCache(tempDir.resolve(PdfTextCache.DEFAULT_FILE_NAME))) {
+            cache.put(pdf, new PdfText("cached content", List.of("cached note")));
+
+            Document document = new DocumentReader(entry, filePreferences, Optional.of(cache)).readLinkedPdf(databaseContext, entry.getFiles().get(0)).orElseThrow();
+
+            assertEquals("cached content", document.get(CONTENT));
+            assertEquals("cached note", document.get(ANNOTATIONS));
+        }
+    }
 }
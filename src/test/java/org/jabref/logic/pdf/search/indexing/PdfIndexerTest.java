@@ -2,7 +2,9 @@ package org.jabref.logic.pdf.search.indexing;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.jabref.logic.util.StandardFileType;
@@ -143,5 +145,62 @@ public class PdfIndexerTest {
             assertEquals(2, reader.numDocs());
         }
     }
-}
 
+    @Test
+    public void addingIndexedFileAgainDoesNotDuplicateIt() throws IOException {
+        // given
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        database.insertEntry(entry);
+        indexer.createIndex(database, context);
+        when(context.getEntries()).thenReturn(database.getEntries());
+
+        // when
+        indexer.addToIndex(context);
+
+        // then
+        try (IndexReader reader = DirectoryReader.open(new NIOFSDirectory(context.getFulltextIndexPath()))) {
+            assertEquals(1, reader.numDocs());
+        }
+    }
+
+    @Test
+    public void removeFromIndex() throws IOException {
+        // given
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        database.insertEntry(entry);
+        indexer.createIndex(database, context);
+
+        // when
+        indexer.removeFromIndex(entry);
+
+        // then
+        try (IndexReader reader = DirectoryReader.open(new NIOFSDirectory(context.getFulltextIndexPath()))) {
+            assertEquals(0, reader.numDocs());
+        }
+    }
+
+    @Test
+    public void createIndexReportsProgressPerFile() throws IOException {
+        // given
+        BibEntry exampleThesis = new BibEntry(StandardEntryType.PhdThesis);
+        exampleThesis.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        BibEntry metadata = new BibEntry(StandardEntryType.Article);
+        metadata.setFiles(Collections.singletonList(new LinkedFile("Metadata file", "metaData.pdf", StandardFileType.PDF.getName())));
+        database.insertEntries(exampleThesis, metadata);
+        List<Integer> processedFiles = new ArrayList<>();
+
+        // when
+        indexer.createIndex(database, context, (processed, total) -> {
+            assertEquals(2, total);
+            processedFiles.add(processed);
+        });
+
+        // then
+        assertEquals(List.of(1, 2), processedFiles);
+        try (IndexReader reader = DirectoryReader.open(new NIOFSDirectory(context.getFulltextIndexPath()))) {
+            assertEquals(2, reader.numDocs());
+        }
+    }
+}
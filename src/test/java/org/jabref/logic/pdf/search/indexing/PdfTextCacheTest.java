@@ -0,0 +1,78 @@
+package org.jabref.logic.pdf.search.indexing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.logic.pdf.search.indexing.PdfTextCache.PdfText;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PdfTextCacheTest {
+
+    private Path tempDir;
+    private Path cacheFile;
+    private Path pdf;
+    private PdfTextCache cache;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        this.tempDir = tempDir;
+        cacheFile = tempDir.resolve(PdfTextCache.DEFAULT_FILE_NAME);
+        pdf = Files.copy(Path.of("src/test/resources/pdfs/example.pdf"), tempDir.resolve("example.pdf"));
+        cache = new PdfTextCache(cacheFile);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void storedTextIsFound() {
+        cache.put(pdf, new PdfText("content", List.of("first note", "second note")));
+
+        PdfText text = cache.get(pdf).orElseThrow();
+
+        assertEquals("content", text.getContent());
+        assertEquals(List.of("first note", "second note"), text.getAnnotations());
+    }
+
+    @Test
+    void storedTextIsFoundAfterReopening() {
+        cache.put(pdf, new PdfText("content", List.of()));
+        cache.close();
+
+        cache = new PdfTextCache(cacheFile);
+
+        assertEquals("content", cache.get(pdf).map(PdfText::getContent).orElseThrow());
+    }
+
+    @Test
+    void storedTextIsFoundForCopyOfFile() throws Exception {
+        cache.put(pdf, new PdfText("content", List.of()));
+        Path copy = Files.copy(pdf, tempDir.resolve("copy.pdf"));
+
+        assertEquals("content", cache.get(copy).map(PdfText::getContent).orElseThrow());
+    }
+
+    @Test
+    void changedFileIsNotFound() throws Exception {
+        cache.put(pdf, new PdfText("content", List.of()));
+        Files.write(pdf, new byte[] {1, 2, 3});
+
+        assertFalse(cache.get(pdf).isPresent());
+    }
+
+    @Test
+    void unknownFileIsNotFound() {
+        assertEquals(Optional.empty(), cache.get(pdf));
+    }
+}
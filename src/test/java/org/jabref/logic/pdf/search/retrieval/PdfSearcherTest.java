@@ -3,6 +3,7 @@ package org.jabref.logic.pdf.search.retrieval;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Optional;
 
 import org.jabref.logic.pdf.search.indexing.PdfIndexer;
 import org.jabref.logic.util.StandardFileType;
@@ -15,12 +16,15 @@ import org.jabref.model.pdf.search.PdfSearchResults;
 import org.jabref.preferences.FilePreferences;
 
 import org.apache.lucene.queryparser.classic.ParseException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -28,15 +32,21 @@ import static org.mockito.Mockito.when;
 public class PdfSearcherTest {
 
     private PdfSearcher search;
+    private PdfIndexer indexer;
+    private BibDatabase database;
+    private BibDatabaseContext context;
+    private Path indexDir;
 
     @BeforeEach
     public void setUp(@TempDir Path indexDir) throws IOException {
+        this.indexDir = indexDir;
         FilePreferences filePreferences = mock(FilePreferences.class);
         // given
-        BibDatabase database = new BibDatabase();
-        BibDatabaseContext context = mock(BibDatabaseContext.class);
+        database = new BibDatabase();
+        context = mock(BibDatabaseContext.class);
         when(context.getFileDirectories(Mockito.any())).thenReturn(Collections.singletonList(Path.of("src/test/resources/pdfs")));
         when(context.getFulltextIndexPath()).thenReturn(indexDir);
+        when(context.getDatabasePath()).thenReturn(Optional.of(indexDir.resolve("test.bib")));
         when(context.getDatabase()).thenReturn(database);
         BibEntry examplePdf = new BibEntry(StandardEntryType.Article);
         examplePdf.setFiles(Collections.singletonList(new LinkedFile("Example Entry", "example.pdf", StandardFileType.PDF.getName())));
@@ -52,12 +62,17 @@ public class PdfSearcherTest {
         exampleThesis.setCitationKey("ExampleThesis");
         database.insertEntry(exampleThesis);
 
-        PdfIndexer indexer = PdfIndexer.of(context, filePreferences);
+        indexer = PdfIndexer.of(context, filePreferences);
         search = PdfSearcher.of(context);
 
         indexer.createIndex(database, context);
     }
 
+    @AfterEach
+    public void tearDown() {
+        PdfSearcher.shutdown(context);
+    }
+
     @Test
     public void searchForTest() throws IOException, ParseException {
         PdfSearchResults result = search.search("test", 10);
@@ -103,4 +118,51 @@ public class PdfSearcherTest {
     public void searchForZeroResults() throws IOException {
         assertThrows(IllegalArgumentException.class, () -> search.search("test", 0));
     }
+
+    @Test
+    public void searcherIsSharedPerLibrary() throws IOException {
+        assertSame(search, PdfSearcher.of(context));
+    }
+
+    @Test
+    public void closingOtherLibraryWithSameIndexKeepsSearcherOpen() throws IOException {
+        BibDatabaseContext otherContext = mock(BibDatabaseContext.class);
+        when(otherContext.getFulltextIndexPath()).thenReturn(indexDir);
+        PdfSearcher otherSearcher = PdfSearcher.of(otherContext);
+
+        PdfSearcher.shutdown(otherContext);
+
+        assertNotSame(search, otherSearcher);
+        assertEquals(2, search.search("test", 10).numSearchResults());
+    }
+
+    @Test
+    public void changedIndexPathReplacesSearcher(@TempDir Path otherIndexDir) throws IOException {
+        when(context.getFulltextIndexPath()).thenReturn(otherIndexDir);
+
+        PdfSearcher newSearcher = PdfSearcher.of(context);
+
+        assertNotSame(search, newSearcher);
+        assertEquals(0, search.search("test", 10).numSearchResults());
+        assertEquals(0, newSearcher.search("test", 10).numSearchResults());
+    }
+
+    @Test
+    public void searchResultsAreFoundForEntries() throws IOException {
+        PdfSearchResults result = search.search("test", 10);
+
+        int resultsForEntries = database.getEntries().stream()
+                                        .mapToInt(entry -> result.getSearchResultsFor(entry).size())
+                                        .sum();
+        assertEquals(result.numSearchResults(), resultsForEntries);
+    }
+
+    @Test
+    public void searchSeesChangesOfIndexAfterPreviousSearch() throws IOException {
+        assertEquals(2, search.search("test", 10).numSearchResults());
+
+        database.getEntries().forEach(entry -> indexer.removeFromIndex(entry));
+
+        assertEquals(0, search.search("test", 10).numSearchResults());
+    }
 }
@@ -0,0 +1,138 @@
+package org.jabref.logic.search;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldTokenIndexTest {
+
+    private BibDatabase database;
+    private BibDatabaseContext context;
+    private BibEntry vikings;
+    private BibEntry alice;
+    private FieldTokenIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        vikings = new BibEntry(StandardEntryType.Article)
+                .withCitationKey("Smith2001")
+                .withField(StandardField.AUTHOR, "John Smith")
+                .withField(StandardField.TITLE, "The Great {V}ikinger Saga")
+                .withField(StandardField.DOI, "10.1000/xyz-123");
+        alice = new BibEntry(StandardEntryType.InBook)
+                .withField(StandardField.AUTHOR, "Charles Lutwidge Dodgson")
+                .withField(StandardField.TITLE, "Alice in Wonderland");
+        database.insertEntries(vikings, alice);
+        context = new BibDatabaseContext(database);
+        index = FieldTokenIndex.start(context, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FieldTokenIndex.shutdown(context);
+    }
+
+    @Test
+    void substringOfTokenMightMatch() {
+        assertTrue(index.mightContainAllWords(List.of("ikinge"), vikings));
+        assertFalse(index.mightContainAllWords(List.of("ikinge"), alice));
+    }
+
+    @Test
+    void allWordsHaveToOccur() {
+        assertTrue(index.mightContainAllWords(List.of("smith", "saga"), vikings));
+        assertFalse(index.mightContainAllWords(List.of("smith", "wonderland"), vikings));
+        assertFalse(index.mightContainAllWords(List.of("smith", "wonderland"), alice));
+    }
+
+    @Test
+    void searchIsCaseInsensitive() {
+        assertTrue(index.mightContainAllWords(List.of("GREAT"), vikings));
+    }
+
+    @Test
+    void wordWithPunctuationIsSplitIntoParts() {
+        assertTrue(index.mightContainAllWords(List.of("1000/xyz-12"), vikings));
+        assertTrue(index.mightContainAllWords(List.of("great vikinger"), vikings));
+        assertFalse(index.mightContainAllWords(List.of("great wonderland"), vikings));
+    }
+
+    @Test
+    void citationKeyIsIndexed() {
+        assertTrue(index.mightContainAllWords(List.of("smith2001"), vikings));
+        assertFalse(index.mightContainAllWords(List.of("smith2001"), alice));
+    }
+
+    @Test
+    void wordsWithoutLongRunsDoNotRestrict() {
+        assertTrue(index.mightContainAllWords(List.of("a"), vikings));
+        assertTrue(index.mightContainAllWords(List.of("-"), alice));
+        assertTrue(index.mightContainAllWords(List.of(), alice));
+    }
+
+    @Test
+    void fieldChangeUpdatesIndex() {
+        assertFalse(index.mightContainAllWords(List.of("rabbit"), alice));
+
+        alice.setField(StandardField.TITLE, "Down the Rabbit Hole");
+
+        assertTrue(index.mightContainAllWords(List.of("rabbit"), alice));
+        assertFalse(index.mightContainAllWords(List.of("wonderland"), alice));
+    }
+
+    @Test
+    void addedEntryIsIndexed() {
+        BibEntry entry = new BibEntry().withField(StandardField.TITLE, "Uffdada");
+        assertFalse(index.mightContainAllWords(List.of("uffdada"), vikings));
+
+        database.insertEntry(entry);
+
+        assertTrue(index.mightContainAllWords(List.of("uffdada"), entry));
+        assertFalse(index.mightContainAllWords(List.of("uffdada"), alice));
+    }
+
+    @Test
+    void removedEntryIsNotRuledOut() {
+        database.removeEntry(alice);
+
+        assertTrue(index.mightContainAllWords(List.of("vikinger"), alice));
+        assertFalse(index.mightContainAllWords(List.of("wonderland"), vikings));
+    }
+
+    @Test
+    void startedIndexIsFoundForLibrary() {
+        assertSame(index, FieldTokenIndex.get(context).orElseThrow());
+    }
+
+    @Test
+    void shutdownReleasesIndex() {
+        FieldTokenIndex.shutdown(context);
+
+        assertEquals(Optional.empty(), FieldTokenIndex.get(context));
+    }
+
+    @Test
+    void noEntryIsRuledOutUntilEntriesAreIndexed() {
+        BibDatabaseContext otherContext = new BibDatabaseContext(database);
+        FieldTokenIndex unbuiltIndex = FieldTokenIndex.start(otherContext, runnable -> {
+        });
+
+        assertTrue(unbuiltIndex.mightContainAllWords(List.of("wonderland"), vikings));
+        FieldTokenIndex.shutdown(otherContext);
+    }
+}
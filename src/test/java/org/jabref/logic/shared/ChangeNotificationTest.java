@@ -0,0 +1,52 @@
+package org.jabref.logic.shared;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeNotificationTest {
+
+    @Test
+    void entriesAreKeptInPayload() {
+        ChangeNotification notification = ChangeNotification.parse(ChangeNotification.ofEntries(List.of(3, 1, 2)).toPayload(100));
+
+        assertFalse(notification.isLibraryChange());
+        assertEquals(Set.of(1, 2, 3), notification.getSharedIDs());
+    }
+
+    @Test
+    void libraryChangeIsKeptInPayload() {
+        ChangeNotification notification = ChangeNotification.parse(ChangeNotification.ofLibrary().toPayload(100));
+
+        assertTrue(notification.isLibraryChange());
+    }
+
+    @Test
+    void tooLongPayloadTurnsIntoLibraryChange() {
+        String payload = ChangeNotification.ofEntries(List.of(1, 2, 3)).toPayload(DBMSProcessor.PROCESSOR_ID.length() + 3);
+
+        assertEquals(DBMSProcessor.PROCESSOR_ID, payload);
+        assertTrue(ChangeNotification.parse(payload).isLibraryChange());
+    }
+
+    @Test
+    void ownNotificationIsRecognized() {
+        assertFalse(ChangeNotification.parse(ChangeNotification.ofLibrary().toPayload(100)).isFromOtherClient());
+        assertTrue(ChangeNotification.parse("other-client:1").isFromOtherClient());
+    }
+
+    @Test
+    void unreadableIdsTurnIntoLibraryChange() {
+        assertTrue(ChangeNotification.parse("other-client:1,x").isLibraryChange());
+    }
+
+    @Test
+    void notificationWithoutIdsOfOlderClientIsLibraryChange() {
+        assertTrue(ChangeNotification.parse("3f1c0f27-7d4c-4b1e-9c1b-1b2a3c4d5e6f").isLibraryChange());
+    }
+}
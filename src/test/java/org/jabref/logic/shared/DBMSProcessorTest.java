@@ -196,6 +196,29 @@ class DBMSProcessorTest {
         assertEquals(Optional.of(expectedBibEntry), actualBibEntryOptional);
     }
 
+    @Test
+    void testUpdateEntries() throws Exception {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = new BibEntry(StandardEntryType.Article);
+        BibEntry olderEntry = getBibEntryExample();
+        dbmsProcessor.insertEntries(List.of(firstEntry, secondEntry, olderEntry));
+
+        firstEntry.setField(StandardField.YEAR, "1995");
+        firstEntry.clearField(StandardField.BOOKTITLE);
+        secondEntry.setField(StandardField.AUTHOR, "Michael J and Hutchings");
+        // simulate older version
+        olderEntry.getSharedBibEntryData().setVersion(0);
+        olderEntry.setField(StandardField.YEAR, "1993");
+        List<OfflineLockException> refusedUpdates = dbmsProcessor.updateEntries(List.of(firstEntry, secondEntry, olderEntry));
+
+        assertEquals(1, refusedUpdates.size());
+        assertEquals(olderEntry, refusedUpdates.get(0).getLocalBibEntry());
+        assertEquals(Optional.of(firstEntry), dbmsProcessor.getSharedEntry(firstEntry.getSharedBibEntryData().getSharedID()));
+        assertEquals(Optional.of(secondEntry), dbmsProcessor.getSharedEntry(secondEntry.getSharedBibEntryData().getSharedID()));
+        assertEquals(Optional.of("1994"), dbmsProcessor.getSharedEntry(olderEntry.getSharedBibEntryData().getSharedID())
+                                                       .flatMap(entry -> entry.getField(StandardField.YEAR)));
+    }
+
     @Test
     void testRemoveAllEntries() throws SQLException {
         BibEntry firstEntry = getBibEntryExample();
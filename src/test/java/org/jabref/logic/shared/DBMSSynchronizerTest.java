@@ -201,6 +201,20 @@ public class DBMSSynchronizerTest {
         assertEquals(List.of(modifiedBibEntry), dbmsProcessor.getSharedEntries());
     }
 
+    @Test
+    public void testSynchronizeLocalDatabaseWithSeveralEntryUpdates() throws Exception {
+        bibDatabase.insertEntries(List.of(createExampleBibEntry(1), createExampleBibEntry(2), createExampleBibEntry(3)));
+
+        BibEntry firstModifiedEntry = createExampleBibEntry(1)
+                .withField(StandardField.YEAR, "2021");
+        BibEntry thirdModifiedEntry = createExampleBibEntry(3);
+        thirdModifiedEntry.clearField(StandardField.TITLE);
+        dbmsProcessor.updateEntries(List.of(firstModifiedEntry, thirdModifiedEntry));
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        assertEquals(List.of(firstModifiedEntry, createExampleBibEntry(2), thirdModifiedEntry), bibDatabase.getEntries());
+    }
+
     @Test
     public void updateEntryDoesNotModifyLocalDatabase() throws Exception {
         BibEntry bibEntry = createExampleBibEntry(1);
@@ -231,4 +245,48 @@ public class DBMSSynchronizerTest {
 
         assertEquals("wirthlin, michael j1", bibEntry.getField(StandardField.AUTHOR).get());
     }
+
+    @Test
+    public void pullChangesInsertsOnlyNotifiedEntries() throws Exception {
+        BibEntry notifiedEntry = createExampleBibEntry(1);
+        dbmsProcessor.insertEntry(notifiedEntry);
+        dbmsProcessor.insertEntry(createExampleBibEntry(2));
+
+        dbmsSynchronizer.pullChanges(List.of(ChangeNotification.parse("otherClient:1")));
+
+        assertEquals(List.of(notifiedEntry), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void pullChangesUpdatesNotifiedEntry() throws Exception {
+        bibDatabase.insertEntries(List.of(createExampleBibEntry(1), createExampleBibEntry(2)));
+
+        BibEntry modifiedBibEntry = createExampleBibEntry(1)
+                .withField(StandardField.YEAR, "2021");
+        dbmsProcessor.updateEntry(modifiedBibEntry);
+        dbmsSynchronizer.pullChanges(List.of(ChangeNotification.parse("otherClient:1")));
+
+        assertEquals(List.of(modifiedBibEntry, createExampleBibEntry(2)), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void pullChangesRemovesNotifiedEntry() throws Exception {
+        BibEntry removedEntry = createExampleBibEntry(1);
+        BibEntry remainingEntry = createExampleBibEntry(2);
+        bibDatabase.insertEntries(List.of(removedEntry, remainingEntry));
+
+        dbmsProcessor.removeEntries(List.of(removedEntry));
+        dbmsSynchronizer.pullChanges(List.of(ChangeNotification.parse("otherClient:1")));
+
+        assertEquals(List.of(remainingEntry), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void pullChangesIgnoresOwnNotifications() throws Exception {
+        dbmsProcessor.insertEntry(createExampleBibEntry(1));
+
+        dbmsSynchronizer.pullChanges(List.of(ChangeNotification.ofEntries(List.of(1))));
+
+        assertTrue(bibDatabase.getEntries().isEmpty());
+    }
 }
@@ -345,6 +345,61 @@ class BibDatabaseTest {
         assertEquals(1, database.getNumberOfCitationKeyOccurrences("AAA"));
     }
 
+    @Test
+    void getEntryByCitationKeyFindsEntryAfterKeyChange() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+
+        entry.setCitationKey("BBB");
+
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByCitationKey("BBB"));
+    }
+
+    @Test
+    void getEntryByCitationKeyFindsEntryAfterKeyIsSet() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+
+        entry.setCitationKey("AAA");
+
+        assertEquals(Optional.of(entry), database.getEntryByCitationKey("AAA"));
+    }
+
+    @Test
+    void getEntryByCitationKeyIsEmptyAfterKeyIsCleared() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+
+        entry.clearCiteKey();
+
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("AAA"));
+    }
+
+    @Test
+    void getEntryByCitationKeyIsEmptyAfterRemoval() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+
+        entry.setCitationKey("BBB");
+
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("AAA"));
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("BBB"));
+    }
+
+    @Test
+    void getEntriesByCitationKeyKeepsDatabaseOrderAfterKeyChange() {
+        BibEntry first = new BibEntry().withCitationKey("BBB");
+        BibEntry second = new BibEntry(StandardEntryType.Article).withCitationKey("AAA");
+        database.insertEntries(first, second);
+
+        first.setCitationKey("AAA");
+
+        assertEquals(List.of(first, second), database.getEntriesByCitationKey("AAA"));
+        assertEquals(Optional.of(first), database.getEntryByCitationKey("AAA"));
+    }
+
     @Test
     void circularStringResolving() {
         BibtexString string = new BibtexString("AAA", "#BBB#");
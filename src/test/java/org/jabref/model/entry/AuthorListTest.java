@@ -107,6 +107,18 @@ public class AuthorListTest {
         assertNotSame(authorList, AuthorList.parse("Smith"));
     }
 
+    @Test
+    public void parseRecordsCacheHitsAndMisses() {
+        long misses = AuthorList.getCacheStats().missCount();
+        long hits = AuthorList.getCacheStats().hitCount();
+
+        AuthorList.parse("Jane Uncached-Doe");
+        AuthorList.parse("Jane Uncached-Doe");
+
+        assertTrue(AuthorList.getCacheStats().missCount() > misses);
+        assertTrue(AuthorList.getCacheStats().hitCount() > hits);
+    }
+
     @Test
     public void parseCachesOneLatexFreeAuthor() {
         // Test caching in authorCache.
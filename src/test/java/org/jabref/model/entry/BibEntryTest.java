@@ -656,4 +656,24 @@ class BibEntryTest {
         entry = new BibEntry().withField(StandardField.AUTHOR, "value");
         assertFalse(entry.hasChanged());
     }
+
+    @Test
+    void serializationIsNotStoredIfEntryWasModifiedMeanwhile() {
+        entry = new BibEntry().withField(StandardField.AUTHOR, "value");
+        long modificationCount = entry.getModificationCount();
+        entry.setField(StandardField.YEAR, "2021");
+
+        assertFalse(entry.setParsedSerialization("outdated", modificationCount));
+        assertTrue(entry.hasChanged());
+        assertEquals("", entry.getParsedSerialization());
+    }
+
+    @Test
+    void serializationIsStoredIfEntryWasNotModified() {
+        entry.setField(StandardField.AUTHOR, "value");
+        long modificationCount = entry.getModificationCount();
+
+        assertTrue(entry.setParsedSerialization("serialization", modificationCount));
+        assertFalse(entry.hasChanged());
+    }
 }
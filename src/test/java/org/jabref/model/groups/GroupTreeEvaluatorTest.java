@@ -0,0 +1,100 @@
+package org.jabref.model.groups;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GroupTreeEvaluatorTest {
+
+    private GroupTreeNode root;
+    private GroupTreeNode including;
+    private GroupTreeNode includedChild;
+    private GroupTreeNode independent;
+    private GroupTreeNode refining;
+    private GroupTreeNode refiningGrandChild;
+
+    /**
+     * Root
+     *      A Including
+     *          B IncludedChild (independent)
+     *      A Independent
+     *          B Refining
+     *              C RefiningGrandChild (refining)
+     */
+    @BeforeEach
+    void setUp() {
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        including = root.addSubgroup(new ExplicitGroup("Including", GroupHierarchyType.INCLUDING, ','));
+        includedChild = including.addSubgroup(new ExplicitGroup("IncludedChild", GroupHierarchyType.INDEPENDENT, ','));
+        independent = root.addSubgroup(new ExplicitGroup("Independent", GroupHierarchyType.INDEPENDENT, ','));
+        refining = independent.addSubgroup(new ExplicitGroup("Refining", GroupHierarchyType.REFINING, ','));
+        refiningGrandChild = refining.addSubgroup(new ExplicitGroup("RefiningGrandChild", GroupHierarchyType.REFINING, ','));
+    }
+
+    private static BibEntry inGroups(String groups) {
+        return new BibEntry().withField(StandardField.GROUPS, groups);
+    }
+
+    @Test
+    void groupsAreInPreOrder() {
+        assertEquals(List.of(root, including, includedChild, independent, refining, refiningGrandChild), new GroupTreeEvaluator(root).getGroups());
+    }
+
+    @Test
+    void includingGroupMatchesEntryOfSubgroup() {
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(root);
+
+        assertEquals(List.of(root, including, includedChild), evaluator.toGroups(evaluator.evaluate(inGroups("IncludedChild"))));
+    }
+
+    @Test
+    void refiningGroupRequiresParents() {
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(root);
+
+        assertEquals(List.of(root), evaluator.toGroups(evaluator.evaluate(inGroups("RefiningGrandChild, Refining"))));
+        assertEquals(List.of(root, independent, refining, refiningGrandChild), evaluator.toGroups(evaluator.evaluate(inGroups("RefiningGrandChild, Refining, Independent"))));
+    }
+
+    @Test
+    void subtreeTakesAncestorsIntoAccount() {
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(refining);
+
+        assertEquals(List.of(refining, refiningGrandChild), evaluator.getGroups());
+        assertEquals(List.of(), evaluator.toGroups(evaluator.evaluate(inGroups("Refining"))));
+        assertEquals(List.of(refining), evaluator.toGroups(evaluator.evaluate(inGroups("Refining, Independent"))));
+    }
+
+    @Test
+    void evaluationAgreesWithSearchMatcherOfEveryGroup() {
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(root);
+        List<BibEntry> entries = List.of(
+                inGroups(""),
+                inGroups("Including"),
+                inGroups("IncludedChild"),
+                inGroups("Refining"),
+                inGroups("Independent, Refining"),
+                inGroups("Independent, RefiningGrandChild"),
+                inGroups("Independent, Refining, RefiningGrandChild"));
+
+        for (BibEntry entry : entries) {
+            List<GroupTreeNode> expected = evaluator.getGroups().stream().filter(node -> node.getSearchMatcher().isMatch(entry)).collect(Collectors.toList());
+            assertEquals(expected, evaluator.toGroups(evaluator.evaluate(entry)));
+        }
+    }
+
+    @Test
+    void containingIgnoresHierarchy() {
+        GroupTreeEvaluator evaluator = new GroupTreeEvaluator(root);
+        List<BibEntry> entries = List.of(inGroups("Refining, IncludedChild"), inGroups("Refining"));
+
+        assertEquals(List.of(root, refining), evaluator.toGroups(evaluator.evaluateContaining(entries, true)));
+        assertEquals(List.of(root, includedChild, refining), evaluator.toGroups(evaluator.evaluateContaining(entries, false)));
+    }
+}
@@ -1,6 +1,9 @@
 package org.jabref.model.search.rules;
 
 import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.StandardField;
@@ -8,6 +11,7 @@ import org.jabref.model.entry.types.StandardEntryType;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -34,6 +38,57 @@ public class GrammarBasedSearchRuleTest {
         assertFalse(searchRule.applyRule(query, makeBibtexEntry()));
     }
 
+    @Test
+    void invalidRegexInComparisonDoesNotThrow() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.of(SearchRules.SearchFlags.REGULAR_EXPRESSION));
+
+        String query = "title=\"(\"";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertFalse(searchRule.applyRule(query, makeBibtexEntry()));
+        assertTrue(SearchRules.getSearchRuleByQuery(query, EnumSet.of(SearchRules.SearchFlags.REGULAR_EXPRESSION)) instanceof GrammarBasedSearchRule);
+    }
+
+    @Test
+    void applyRuleMatchesFieldAndUnfieldedTerm() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.noneOf(SearchRules.SearchFlags.class));
+
+        String query = "year=2001 and shields";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+    }
+
+    @Test
+    void applyRuleMatchesNegatedEntryType() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.noneOf(SearchRules.SearchFlags.class));
+
+        String query = "not entrytype=article and anyfield=larviculture";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+        assertFalse(searchRule.applyRule(query, new BibEntry(StandardEntryType.Article).withField(StandardField.TITLE, "Larviculture")));
+    }
+
+    @Test
+    void applyRuleMatchesMissingFieldWithDoesNotContain() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.noneOf(SearchRules.SearchFlags.class));
+
+        String query = "journal != nature";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+    }
+
+    @Test
+    void compiledRuleCanBeSharedBetweenThreads() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.noneOf(SearchRules.SearchFlags.class));
+        String query = "title=marine or author=\"Someone Else\"";
+        assertTrue(searchRule.validateSearchStrings(query));
+
+        List<BibEntry> entries = IntStream.range(0, 1000)
+                                          .mapToObj(i -> i % 2 == 0 ? makeBibtexEntry() : new BibEntry().withField(StandardField.TITLE, "Other " + i))
+                                          .collect(Collectors.toList());
+
+        assertEquals(500, entries.parallelStream().filter(entry -> searchRule.applyRule(query, entry)).count());
+    }
+
     public BibEntry makeBibtexEntry() {
         return new BibEntry(StandardEntryType.InCollection)
                 .withCitationKey("shields01")